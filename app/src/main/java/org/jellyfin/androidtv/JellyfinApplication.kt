@@ -15,6 +15,7 @@ import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.acra.ACRA
 import org.jellyfin.androidtv.data.eventhandling.SocketHandler
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepository
 import org.jellyfin.androidtv.data.repository.NotificationsRepository
 import org.jellyfin.androidtv.integration.LeanbackChannelWorker
 import org.jellyfin.androidtv.preference.UserPreferences
@@ -137,6 +138,7 @@ class JellyfinApplication : Application() {
 	suspend fun onSessionStart() = withContext(Dispatchers.IO) {
 		val workManager by inject<WorkManager>()
 		val socketListener by inject<SocketHandler>()
+		val deviceProfileRepository by inject<DeviceProfileRepository>()
 
 		// Update background worker
 		launch {
@@ -155,6 +157,9 @@ class JellyfinApplication : Application() {
 
 		// Update WebSockets
 		launch { socketListener.updateSession() }
+
+		// Probe decoders before the first playback needs them
+		launch { deviceProfileRepository.load() }
 	}
 
 	override fun attachBaseContext(base: Context) {
@@ -11,6 +11,7 @@ import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
 import org.jellyfin.androidtv.data.model.DataRefreshService
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.ui.itemhandling.ItemLauncher
 import org.jellyfin.androidtv.ui.navigation.Destinations
 import org.jellyfin.androidtv.ui.navigation.NavigationRepository
@@ -21,7 +22,6 @@ import org.jellyfin.androidtv.util.PlaybackHelper
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.exception.ApiClientException
 import org.jellyfin.sdk.api.client.extensions.sessionApi
-import org.jellyfin.sdk.api.client.extensions.userLibraryApi
 import org.jellyfin.sdk.api.sockets.subscribe
 import org.jellyfin.sdk.api.sockets.subscribeGeneralCommand
 import org.jellyfin.sdk.api.sockets.subscribeGeneralCommands
@@ -33,6 +33,7 @@ import org.jellyfin.sdk.model.api.MediaType
 import org.jellyfin.sdk.model.api.PlayMessage
 import org.jellyfin.sdk.model.api.PlaystateCommand
 import org.jellyfin.sdk.model.api.PlaystateMessage
+import org.jellyfin.sdk.model.api.UserDataChangedMessage
 import org.jellyfin.sdk.model.extensions.get
 import org.jellyfin.sdk.model.extensions.getValue
 import org.jellyfin.sdk.model.serializer.toUUIDOrNull
@@ -50,6 +51,7 @@ class SocketHandler(
 	private val audioManager: AudioManager,
 	private val itemLauncher: ItemLauncher,
 	private val playbackHelper: PlaybackHelper,
+	private val itemCacheRepository: ItemCacheRepository,
 ) {
 	private val coroutineScope = CoroutineScope(Dispatchers.IO)
 
@@ -101,6 +103,13 @@ class SocketHandler(
 				.onEach { message -> message.data?.let(::onLibraryChanged) }
 				.launchIn(coroutineScope)
 
+			subscribe<UserDataChangedMessage>()
+				.onEach { message ->
+					message.data?.let(itemCacheRepository::onUserDataChanged)
+					dataRefreshService.lastUserDataChange = Instant.now()
+				}
+				.launchIn(coroutineScope)
+
 			// Media playback
 			subscribe<PlayMessage>()
 				.onEach { message -> onPlayMessage(message) }
@@ -174,6 +183,8 @@ class SocketHandler(
 			appendLine("Updated ${info.itemsUpdated.size} items")
 		})
 
+		itemCacheRepository.onLibraryChanged(info)
+
 		if (info.itemsAdded.any() || info.itemsRemoved.any())
 			dataRefreshService.lastLibraryChange = Instant.now()
 	}
@@ -236,7 +247,7 @@ class SocketHandler(
 		when (itemKind) {
 			BaseItemKind.USER_VIEW,
 			BaseItemKind.COLLECTION_FOLDER -> {
-				val item by api.userLibraryApi.getItem(itemId = itemId)
+				val item = itemCacheRepository.getItem(itemId)
 				itemLauncher.launchUserView(item)
 			}
 
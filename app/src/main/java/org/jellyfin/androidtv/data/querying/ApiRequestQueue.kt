@@ -0,0 +1,315 @@
+package org.jellyfin.androidtv.data.querying
+
+import android.os.SystemClock
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.repository.ItemRepository
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.api.client.extensions.itemsApi
+import org.jellyfin.sdk.api.client.extensions.userLibraryApi
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.ItemFields
+import timber.log.Timber
+import java.util.PriorityQueue
+import java.util.UUID
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+
+enum class RequestPriority {
+	/**
+	 * Requests the user is actively waiting for, like opening a detail screen or searching.
+	 */
+	HIGH,
+
+	/**
+	 * Requests for the content of the current screen.
+	 */
+	NORMAL,
+
+	/**
+	 * Requests for content that might be needed soon, like prefetching.
+	 */
+	LOW,
+}
+
+data class ApiRequestMetrics(
+	val queued: Int,
+	val running: Int,
+	val completed: Long,
+	/**
+	 * Requests that were answered by an identical request that was already running.
+	 */
+	val shared: Long,
+	/**
+	 * Item lookups that were combined with other lookups into a single request.
+	 */
+	val batched: Long,
+	val latencyP50: Duration,
+	val latencyP90: Duration,
+	val latencyP99: Duration,
+)
+
+/**
+ * Runs API requests with a limited amount of concurrent requests per server, queued by [RequestPriority]. Identical
+ * requests that are running at the same time share a single response and item lookups made around the same time are
+ * combined into a single request.
+ */
+class ApiRequestQueue(
+	private val api: ApiClient,
+) {
+	private companion object {
+		private const val MAX_CONCURRENT_REQUESTS = 4
+
+		// Time to wait for more item lookups before sending a batch
+		private val BATCH_DELAY = 15.milliseconds
+		private const val MAX_BATCH_SIZE = 50
+
+		private const val LATENCY_SAMPLES = 200
+
+		// Log the metrics after every amount of completed requests
+		private const val METRICS_LOG_INTERVAL = 100
+	}
+
+	private class Ticket(
+		val priority: RequestPriority,
+		val sequence: Long,
+	) : Comparable<Ticket> {
+		val granted = CompletableDeferred<Unit>()
+
+		override fun compareTo(other: Ticket) = compareValuesBy(this, other, { it.priority }, { it.sequence })
+	}
+
+	private class ServerQueue {
+		var running = 0
+		val waiting = PriorityQueue<Ticket>()
+	}
+
+	private class SharedRequest<T>(
+		val deferred: Deferred<T>,
+	) {
+		var waiters = 1
+	}
+
+	private class ItemBatch(
+		val fields: Collection<ItemFields>?,
+		var priority: RequestPriority,
+	) {
+		val items = mutableMapOf<UUID, CompletableDeferred<BaseItemDto>>()
+		var sent = false
+	}
+
+	private val coroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val lock = Any()
+	private val servers = mutableMapOf<String?, ServerQueue>()
+	private val sharedRequests = mutableMapOf<Pair<String?, Any>, SharedRequest<*>>()
+	private val itemBatches = mutableMapOf<Pair<String?, Collection<ItemFields>?>, ItemBatch>()
+	private var sequence = 0L
+
+	private val latencies = LongArray(LATENCY_SAMPLES)
+	private var completed = 0L
+	private var shared = 0L
+	private var batched = 0L
+
+	val metrics: ApiRequestMetrics
+		get() = synchronized(lock) {
+			val samples = latencies.copyOf(minOf(completed, LATENCY_SAMPLES.toLong()).toInt()).sorted()
+			fun percentile(value: Double) = samples.getOrNull((samples.lastIndex * value).toInt())?.milliseconds
+				?: Duration.ZERO
+
+			ApiRequestMetrics(
+				queued = servers.values.sumOf { it.waiting.size },
+				running = servers.values.sumOf { it.running },
+				completed = completed,
+				shared = shared,
+				batched = batched,
+				latencyP50 = percentile(0.5),
+				latencyP90 = percentile(0.9),
+				latencyP99 = percentile(0.99),
+			)
+		}
+
+	/**
+	 * Run [block] once a request slot for the current server is available. When [key] is set, calls with an equal key
+	 * that are made while the request is running wait for the same response. The request is cancelled once all callers
+	 * waiting for it are cancelled.
+	 */
+	suspend fun <T> request(
+		key: Any? = null,
+		priority: RequestPriority = RequestPriority.NORMAL,
+		block: suspend () -> T,
+	): T {
+		if (key == null) return execute(priority, block)
+
+		val sharedKey = api.baseUrl to key
+		val request = synchronized(lock) {
+			@Suppress("UNCHECKED_CAST")
+			val current = sharedRequests[sharedKey] as SharedRequest<T>?
+			if (current != null) {
+				current.waiters++
+				shared++
+				return@synchronized current
+			}
+
+			lateinit var request: SharedRequest<T>
+			request = SharedRequest(coroutineScope.async(start = CoroutineStart.LAZY) {
+				try {
+					execute(priority, block)
+				} finally {
+					synchronized(lock) {
+						if (sharedRequests[sharedKey] === request) sharedRequests.remove(sharedKey)
+					}
+				}
+			})
+			sharedRequests[sharedKey] = request
+			request.deferred.start()
+			request
+		}
+
+		try {
+			return request.deferred.await()
+		} finally {
+			synchronized(lock) {
+				request.waiters--
+				if (request.waiters == 0 && request.deferred.isActive) {
+					request.deferred.cancel()
+					if (sharedRequests[sharedKey] === request) sharedRequests.remove(sharedKey)
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get a single item with [fields], or the fields of a full item when null. Lookups made within a short time of each other are
+	 * retrieved with a single request.
+	 */
+	suspend fun getItem(
+		id: UUID,
+		fields: Collection<ItemFields>? = null,
+		priority: RequestPriority = RequestPriority.NORMAL,
+	): BaseItemDto {
+		val batchKey = api.baseUrl to fields
+		val item = synchronized(lock) {
+			val batch = itemBatches.getOrPut(batchKey) {
+				ItemBatch(fields, priority).also { batch ->
+					coroutineScope.launch {
+						delay(BATCH_DELAY)
+						sendBatch(batchKey, batch)
+					}
+				}
+			}
+			if (priority < batch.priority) batch.priority = priority
+
+			val item = batch.items.getOrPut(id) { CompletableDeferred() }
+			if (batch.items.size >= MAX_BATCH_SIZE) {
+				// Start a new batch for the next lookups
+				itemBatches.remove(batchKey)
+				coroutineScope.launch { sendBatch(batchKey, batch) }
+			}
+			item
+		}
+
+		return item.await()
+	}
+
+	private suspend fun sendBatch(key: Pair<String?, Collection<ItemFields>?>, batch: ItemBatch) {
+		val items = synchronized(lock) {
+			if (batch.sent) return
+			batch.sent = true
+			if (itemBatches[key] === batch) itemBatches.remove(key)
+			if (batch.items.size > 1) batched += batch.items.size
+
+			batch.items.toMap()
+		}
+
+		runCatching {
+			execute(batch.priority) {
+				api.itemsApi.getItems(
+					ids = items.keys,
+					fields = batch.fields ?: ItemRepository.fullFields,
+					enableTotalRecordCount = false,
+				).content.items
+			}
+		}.fold(
+			onSuccess = { result ->
+				val resultById = result.associateBy { it.id }
+				for ((id, item) in items) {
+					val resultItem = resultById[id]
+					if (resultItem != null) {
+						item.complete(resultItem)
+					} else {
+						// Some items, like generated user views, are only returned when requested directly
+						coroutineScope.launch {
+							runCatching {
+								execute(batch.priority) { api.userLibraryApi.getItem(itemId = id).content }
+							}.fold(onSuccess = item::complete, onFailure = item::completeExceptionally)
+						}
+					}
+				}
+			},
+			onFailure = { error ->
+				items.values.forEach { it.completeExceptionally(error) }
+			}
+		)
+	}
+
+	private suspend fun <T> execute(priority: RequestPriority, block: suspend () -> T): T {
+		val server = synchronized(lock) { servers.getOrPut(api.baseUrl) { ServerQueue() } }
+		acquire(server, priority)
+
+		val start = SystemClock.elapsedRealtime()
+		try {
+			return withContext(Dispatchers.IO) { block() }
+		} finally {
+			release(server)
+			onCompleted(SystemClock.elapsedRealtime() - start)
+		}
+	}
+
+	private suspend fun acquire(server: ServerQueue, priority: RequestPriority) {
+		val ticket = synchronized(lock) {
+			if (server.running < MAX_CONCURRENT_REQUESTS) {
+				server.running++
+				return
+			}
+
+			Ticket(priority, sequence++).also(server.waiting::add)
+		}
+
+		try {
+			ticket.granted.await()
+		} catch (err: CancellationException) {
+			synchronized(lock) {
+				// Pass the slot on when it was granted right before the cancellation
+				if (!server.waiting.remove(ticket)) release(server)
+			}
+			throw err
+		}
+	}
+
+	private fun release(server: ServerQueue) {
+		synchronized(lock) {
+			val next = server.waiting.poll()
+			if (next != null) next.granted.complete(Unit)
+			else server.running--
+		}
+	}
+
+	private fun onCompleted(latency: Long) {
+		val logMetrics = synchronized(lock) {
+			latencies[(completed % LATENCY_SAMPLES).toInt()] = latency
+			completed++
+			completed % METRICS_LOG_INTERVAL == 0L
+		}
+
+		if (logMetrics) Timber.i("API request metrics: $metrics")
+	}
+}
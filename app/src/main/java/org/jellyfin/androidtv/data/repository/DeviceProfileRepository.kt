@@ -0,0 +1,114 @@
+package org.jellyfin.androidtv.data.repository
+
+import android.content.Context
+import android.os.Build
+import android.util.LruCache
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import org.jellyfin.androidtv.preference.UserPreferences
+import org.jellyfin.androidtv.util.profile.DeviceProfileOptions
+import org.jellyfin.androidtv.util.profile.MediaCodecCapabilities
+import org.jellyfin.androidtv.util.profile.MediaCodecCapabilitiesTest
+import org.jellyfin.androidtv.util.profile.createDeviceProfile
+import org.jellyfin.androidtv.util.profile.getDeviceProfileOptions
+import org.jellyfin.androidtv.util.writeTextAtomically
+import org.jellyfin.sdk.model.api.DeviceProfile
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+
+/**
+ * Creates the device profile sent to the server. Probing the decoders is slow on some devices, so the capabilities are
+ * only probed once per system build and stored in the applications cache directory. Profiles are reused until one of
+ * the preferences they depend on changes.
+ */
+interface DeviceProfileRepository {
+	/**
+	 * The decoder capabilities of this device, read from disk or probed on first use.
+	 */
+	val capabilities: MediaCodecCapabilities
+
+	/**
+	 * Read or probe the capabilities in the background so the first playback doesn't need to wait for them.
+	 */
+	suspend fun load()
+
+	fun getDeviceProfile(disableDirectPlay: Boolean): DeviceProfile
+}
+
+class DeviceProfileRepositoryImpl(
+	private val context: Context,
+	private val userPreferences: UserPreferences,
+) : DeviceProfileRepository {
+	private companion object {
+		private const val VERSION = 1
+
+		// A profile per combination of preferences, direct play is disabled for some streams
+		private const val MAX_PROFILES = 4
+	}
+
+	@Serializable
+	private data class StoredCapabilities(
+		val version: Int,
+		val fingerprint: String,
+		val capabilities: MediaCodecCapabilities,
+	)
+
+	private val json = Json {
+		ignoreUnknownKeys = true
+	}
+
+	private val storePath get() = File(context.cacheDir, "media_codec_capabilities.json")
+	private val profiles = LruCache<DeviceProfileOptions, DeviceProfile>(MAX_PROFILES)
+
+	override val capabilities by lazy {
+		read() ?: MediaCodecCapabilitiesTest().getCapabilities().also(::write)
+	}
+
+	override suspend fun load() {
+		withContext(Dispatchers.IO) { capabilities }
+	}
+
+	override fun getDeviceProfile(disableDirectPlay: Boolean): DeviceProfile {
+		val options = userPreferences.getDeviceProfileOptions(disableDirectPlay)
+		profiles[options]?.let { return it }
+
+		val profile = createDeviceProfile(options, capabilities)
+		profiles.put(options, profile)
+		return profile
+	}
+
+	private fun read(): MediaCodecCapabilities? {
+		if (!storePath.exists()) return null
+
+		return try {
+			val stored = json.decodeFromString<StoredCapabilities>(storePath.readText())
+			// Firmware updates can change the available decoders
+			if (stored.version != VERSION || stored.fingerprint != Build.FINGERPRINT) null
+			else stored.capabilities
+		} catch (e: SerializationException) {
+			Timber.e(e, "Unable to read media codec capabilities")
+			null
+		} catch (e: IllegalArgumentException) {
+			Timber.e(e, "Unable to read media codec capabilities")
+			null
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to read media codec capabilities")
+			null
+		}
+	}
+
+	private fun write(capabilities: MediaCodecCapabilities) {
+		Timber.i("Probed media codec capabilities: $capabilities")
+
+		try {
+			storePath.writeTextAtomically(json.encodeToString(StoredCapabilities(VERSION, Build.FINGERPRINT, capabilities)))
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to write media codec capabilities")
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package org.jellyfin.androidtv.data.repository
+
+import android.content.Context
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.JsonObject
+import kotlinx.serialization.json.JsonPrimitive
+import kotlinx.serialization.json.decodeFromJsonElement
+import kotlinx.serialization.json.encodeToJsonElement
+import kotlinx.serialization.json.intOrNull
+import kotlinx.serialization.json.jsonObject
+import kotlinx.serialization.json.jsonPrimitive
+import kotlinx.serialization.modules.SerializersModule
+import kotlinx.serialization.modules.contextual
+import org.jellyfin.androidtv.auth.repository.Session
+import org.jellyfin.androidtv.auth.repository.SessionRepository
+import org.jellyfin.androidtv.util.writeTextAtomically
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.serializer.UUIDSerializer
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration.Companion.seconds
+
+@Serializable
+data class HomeRowSnapshot(
+	val items: List<BaseItemDto>,
+	val savedAt: Long,
+) {
+	val savedAtInstant: Instant get() = Instant.ofEpochMilli(savedAt)
+}
+
+/**
+ * Snapshots of the last rendered home rows, used to paint the home screen before the rows are retrieved from the
+ * server. Snapshots are stored per server and user in the applications cache directory.
+ */
+interface HomeRowCacheRepository {
+	/**
+	 * Read the snapshots of the current session from disk. Must be called before [get] returns any data.
+	 */
+	suspend fun load()
+
+	fun get(key: String): HomeRowSnapshot?
+	fun put(key: String, items: List<BaseItemDto>)
+}
+
+class HomeRowCacheRepositoryImpl(
+	private val context: Context,
+	private val sessionRepository: SessionRepository,
+) : HomeRowCacheRepository {
+	private companion object {
+		private const val VERSION = 1
+		private val WRITE_DELAY = 2.seconds
+	}
+
+	private val json = Json {
+		encodeDefaults = false
+		serializersModule = SerializersModule {
+			contextual(UUIDSerializer())
+		}
+		ignoreUnknownKeys = true
+	}
+
+	private val scope = CoroutineScope(Dispatchers.IO)
+	private val rows = ConcurrentHashMap<String, HomeRowSnapshot>()
+	@Volatile private var loadedSession: Session? = null
+	private var writeJob: Job? = null
+
+	private fun getStorePath(session: Session) = File(context.cacheDir, "home_rows")
+		.resolve("${session.serverId}_${session.userId}.json")
+
+	override suspend fun load(): Unit = withContext(Dispatchers.IO) {
+		val session = sessionRepository.currentSession.value
+		if (session == loadedSession) return@withContext
+
+		rows.clear()
+		loadedSession = session
+		if (session == null) return@withContext
+
+		val storePath = getStorePath(session)
+		if (!storePath.exists()) return@withContext
+
+		try {
+			val root = json.parseToJsonElement(storePath.readText()).jsonObject
+			if (root["version"]?.jsonPrimitive?.intOrNull != VERSION) {
+				Timber.w("Ignoring home row cache with unknown version")
+				return@withContext
+			}
+
+			rows.putAll(json.decodeFromJsonElement<Map<String, HomeRowSnapshot>>(root["rows"]!!))
+			Timber.d("Loaded ${rows.size} home row snapshots")
+		} catch (e: SerializationException) {
+			Timber.e(e, "Unable to read home row cache")
+		} catch (e: IllegalArgumentException) {
+			Timber.e(e, "Unable to read home row cache")
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to read home row cache")
+		}
+	}
+
+	override fun get(key: String): HomeRowSnapshot? {
+		if (loadedSession != sessionRepository.currentSession.value) return null
+		return rows[key]
+	}
+
+	override fun put(key: String, items: List<BaseItemDto>) {
+		val session = loadedSession ?: return
+		if (session != sessionRepository.currentSession.value) return
+
+		rows[key] = HomeRowSnapshot(items, System.currentTimeMillis())
+
+		// Rows finish in bursts, write them in one go
+		synchronized(this) {
+			writeJob?.cancel()
+			writeJob = scope.launch {
+				delay(WRITE_DELAY)
+				write(session, rows.toMap())
+			}
+		}
+	}
+
+	private fun write(session: Session, snapshots: Map<String, HomeRowSnapshot>) {
+		val root = JsonObject(mapOf(
+			"version" to JsonPrimitive(VERSION),
+			"rows" to json.encodeToJsonElement(snapshots)
+		))
+
+		try {
+			val storePath = getStorePath(session)
+			storePath.parentFile?.mkdirs()
+			storePath.writeTextAtomically(json.encodeToString(root))
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to write home row cache")
+		}
+	}
+}
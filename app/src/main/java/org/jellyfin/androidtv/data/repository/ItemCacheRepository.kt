@@ -0,0 +1,212 @@
+package org.jellyfin.androidtv.data.repository
+
+import android.os.SystemClock
+import android.util.LruCache
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import org.jellyfin.androidtv.data.querying.ApiRequestQueue
+import org.jellyfin.androidtv.data.querying.RequestPriority
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.ItemFields
+import org.jellyfin.sdk.model.api.LibraryUpdateInfo
+import org.jellyfin.sdk.model.api.UserDataChangeInfo
+import org.jellyfin.sdk.model.api.UserItemDataDto
+import org.jellyfin.sdk.model.serializer.toUUIDOrNull
+import timber.log.Timber
+import java.util.UUID
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.minutes
+
+/**
+ * Keeps recently used items in memory so screens showing the same item don't each retrieve it from the server. Changes
+ * received from the server are applied to the cached items.
+ */
+interface ItemCacheRepository {
+	/**
+	 * Get an item with at least the fields of [profile], or the full item when [profile] is null. The cached item is
+	 * used when it has these fields, concurrent requests for the same item share a single server request.
+	 */
+	suspend fun getItem(id: UUID, profile: ItemFieldProfile? = null): BaseItemDto
+
+	/**
+	 * Get the full item from the server, ignoring the cached item.
+	 */
+	suspend fun refreshItem(id: UUID): BaseItemDto
+
+	/**
+	 * Get the cached item if it has at least the fields of [profile], or the full cached item when [profile] is null.
+	 */
+	fun getCachedItem(id: UUID, profile: ItemFieldProfile? = null): BaseItemDto?
+
+	/**
+	 * Remember items that were retrieved with the fields of [profile], like the items shown in a row.
+	 */
+	fun putItems(items: Collection<BaseItemDto>, profile: ItemFieldProfile)
+
+	/**
+	 * Retrieve the full item in the background when it stays selected for a moment, so opening its details doesn't need
+	 * to wait for the server. Selecting another item cancels the previous prefetch.
+	 */
+	fun prefetchItem(id: UUID)
+
+	fun updateUserData(userData: UserItemDataDto)
+	fun onUserDataChanged(info: UserDataChangeInfo)
+	fun onLibraryChanged(info: LibraryUpdateInfo)
+}
+
+class ItemCacheRepositoryImpl(
+	private val api: ApiClient,
+	private val apiRequestQueue: ApiRequestQueue,
+) : ItemCacheRepository {
+	private companion object {
+		private const val MAX_ITEMS = 500
+
+		// Cached items are retrieved again after this time in case a change was missed while the WebSocket was
+		// disconnected
+		private val MAX_AGE = 10.minutes
+
+		private val PREFETCH_DELAY = 750.milliseconds
+	}
+
+	/**
+	 * @property fields The fields included in [item] or null for the full item.
+	 */
+	private data class Entry(
+		val item: BaseItemDto,
+		val fields: Set<ItemFields>?,
+		val retrievedAt: Long,
+	)
+
+	private val coroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val lock = Any()
+	private val cache = LruCache<UUID, Entry>(MAX_ITEMS)
+	private val requests = mutableMapOf<UUID, Deferred<BaseItemDto>>()
+	private var session: String? = null
+	private var prefetchJob: Job? = null
+
+	override suspend fun getItem(id: UUID, profile: ItemFieldProfile?): BaseItemDto =
+		getCachedItem(id, profile) ?: getRequest(id, RequestPriority.HIGH).await()
+
+	override suspend fun refreshItem(id: UUID): BaseItemDto {
+		invalidate(id)
+		return getRequest(id, RequestPriority.HIGH).await()
+	}
+
+	override fun getCachedItem(id: UUID, profile: ItemFieldProfile?): BaseItemDto? = synchronized(lock) {
+		checkSession()
+		cache[id]?.takeIf { it.covers(profile) }?.item
+	}
+
+	override fun putItems(items: Collection<BaseItemDto>, profile: ItemFieldProfile) {
+		synchronized(lock) {
+			checkSession()
+			val now = SystemClock.elapsedRealtime()
+
+			for (item in items) {
+				val current = cache[item.id]
+				val entry = if (current != null && !current.isExpired() && !current.isCoveredBy(profile)) {
+					// Keep the fields missing from the new item, the user data is more recent though
+					current.copy(item = current.item.copy(userData = item.userData ?: current.item.userData))
+				} else {
+					Entry(item, profile.fields, now)
+				}
+
+				cache.put(item.id, entry)
+			}
+		}
+	}
+
+	override fun prefetchItem(id: UUID) {
+		prefetchJob?.cancel()
+		prefetchJob = coroutineScope.launch {
+			delay(PREFETCH_DELAY)
+			if (getCachedItem(id) != null) return@launch
+
+			runCatching { getRequest(id, RequestPriority.LOW).await() }
+				.onFailure { error -> Timber.w(error, "Failed to prefetch item $id") }
+		}
+	}
+
+	override fun updateUserData(userData: UserItemDataDto) {
+		synchronized(lock) {
+			checkSession()
+			val current = cache[userData.itemId] ?: return
+			cache.put(userData.itemId, current.copy(item = current.item.copy(userData = userData)))
+		}
+	}
+
+	override fun onUserDataChanged(info: UserDataChangeInfo) {
+		info.userDataList.forEach(::updateUserData)
+	}
+
+	override fun onLibraryChanged(info: LibraryUpdateInfo) {
+		// Folders are included as their child count changes
+		val ids = info.itemsUpdated + info.itemsRemoved + info.foldersAddedTo + info.foldersRemovedFrom
+		ids.mapNotNull { it.toUUIDOrNull() }.forEach(::invalidate)
+	}
+
+	private fun invalidate(id: UUID) {
+		synchronized(lock) {
+			cache.remove(id)
+			// Let a running request finish without storing its possibly outdated result
+			requests.remove(id)
+		}
+	}
+
+	private fun getRequest(id: UUID, priority: RequestPriority): Deferred<BaseItemDto> = synchronized(lock) {
+		checkSession()
+		requests[id]?.let { return it }
+
+		lateinit var request: Deferred<BaseItemDto>
+		request = coroutineScope.async(start = CoroutineStart.LAZY) {
+			try {
+				val item = apiRequestQueue.getItem(id, priority = priority)
+
+				synchronized(lock) {
+					if (requests[id] === request) cache.put(id, Entry(item, null, SystemClock.elapsedRealtime()))
+				}
+
+				item
+			} finally {
+				synchronized(lock) {
+					if (requests[id] === request) requests.remove(id)
+				}
+			}
+		}
+		requests[id] = request
+		request.start()
+
+		request
+	}
+
+	/**
+	 * Forget all items when the user or server changes, user data differs per user.
+	 */
+	private fun checkSession() {
+		val currentSession = "${api.baseUrl}|${api.accessToken}"
+		if (currentSession == session) return
+
+		cache.evictAll()
+		requests.clear()
+		session = currentSession
+	}
+
+	private fun Entry.isExpired() = SystemClock.elapsedRealtime() - retrievedAt > MAX_AGE.inWholeMilliseconds
+
+	private fun Entry.isCoveredBy(profile: ItemFieldProfile) = fields != null && profile.fields.containsAll(fields)
+
+	private fun Entry.covers(profile: ItemFieldProfile?) = when {
+		isExpired() -> false
+		fields == null -> true
+		profile == null -> false
+		else -> fields.containsAll(profile.fields)
+	}
+}
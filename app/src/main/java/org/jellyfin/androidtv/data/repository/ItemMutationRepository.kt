@@ -18,6 +18,7 @@ interface ItemMutationRepository {
 class ItemMutationRepositoryImpl(
 	private val api: ApiClient,
 	private val dataRefreshService: DataRefreshService,
+	private val itemCacheRepository: ItemCacheRepository,
 ) : ItemMutationRepository {
 	override suspend fun setFavorite(item: UUID, favorite: Boolean): UserItemDataDto {
 		val response by when {
@@ -26,6 +27,7 @@ class ItemMutationRepositoryImpl(
 		}
 
 		dataRefreshService.lastFavoriteUpdate = Instant.now()
+		itemCacheRepository.updateUserData(response)
 		return response
 	}
 
@@ -35,6 +37,7 @@ class ItemMutationRepositoryImpl(
 			else -> withContext(Dispatchers.IO) { api.playStateApi.markUnplayedItem(itemId = item) }
 		}
 
+		itemCacheRepository.updateUserData(response)
 		return response
 	}
 }
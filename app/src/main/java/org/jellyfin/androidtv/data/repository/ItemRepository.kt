@@ -1,26 +1,113 @@
 package org.jellyfin.androidtv.data.repository
 
+import org.jellyfin.androidtv.constant.QueryType
 import org.jellyfin.sdk.model.api.ItemFields
 
+/**
+ * The fields to request for items, named after the kind of screen using them. List queries should use the smallest
+ * profile that covers what they show. Heavy fields like media sources, chapters and trickplay data are retrieved with
+ * the full item once a detail screen or playback needs them.
+ */
+enum class ItemFieldProfile(val fields: Set<ItemFields>) {
+	/**
+	 * Cards in rows and grids, including the info row and summary shown for the selected card.
+	 */
+	CARD(ItemRepository.cardFields),
+
+	/**
+	 * Lists shown on detail screens.
+	 */
+	DETAIL(ItemRepository.detailFields),
+
+	/**
+	 * Items that are passed to the player.
+	 */
+	PLAYBACK(ItemRepository.playbackFields),
+
+	/**
+	 * Live TV channels, programs and recordings.
+	 */
+	GUIDE(ItemRepository.guideFields),
+}
+
 object ItemRepository {
-	val itemFields = setOf(
-		ItemFields.CAN_DELETE,
-		ItemFields.CHANNEL_INFO,
-		ItemFields.CHAPTERS,
+	val cardFields = setOf(
 		ItemFields.CHILD_COUNT,
 		ItemFields.CUMULATIVE_RUN_TIME_TICKS,
 		ItemFields.DATE_CREATED,
 		ItemFields.DISPLAY_PREFERENCES_ID,
-		ItemFields.GENRES,
 		ItemFields.ITEM_COUNTS,
 		ItemFields.MEDIA_SOURCE_COUNT,
-		ItemFields.MEDIA_SOURCES,
-		ItemFields.MEDIA_STREAMS,
 		ItemFields.OVERVIEW,
-		ItemFields.PATH,
 		ItemFields.PRIMARY_IMAGE_ASPECT_RATIO,
 		ItemFields.SERIES_PRIMARY_IMAGE,
+	)
+
+	val detailFields = cardFields + setOf(
+		ItemFields.CAN_DELETE,
+		ItemFields.CHANNEL_INFO,
+		ItemFields.GENRES,
+		ItemFields.MEDIA_SOURCES,
+		ItemFields.MEDIA_STREAMS,
+		ItemFields.TAGLINES,
+	)
+
+	val playbackFields = cardFields + setOf(
+		ItemFields.CAN_DELETE,
+		ItemFields.CHANNEL_INFO,
+		ItemFields.CHAPTERS,
+		ItemFields.GENRES,
+		ItemFields.MEDIA_SOURCES,
+		ItemFields.MEDIA_STREAMS,
+		ItemFields.PATH,
 		ItemFields.TAGLINES,
 		ItemFields.TRICKPLAY,
 	)
+
+	val guideFields = cardFields + setOf(
+		ItemFields.CHANNEL_INFO,
+	)
+
+	/**
+	 * Fields of a full item as used by detail screens and playback. Batched lookups of full items request these instead
+	 * of every field, which would make them heavier than the single item requests they replace.
+	 */
+	val fullFields = playbackFields + setOf(
+		ItemFields.ETAG,
+		ItemFields.HEIGHT,
+		ItemFields.ORIGINAL_TITLE,
+		ItemFields.PARENT_ID,
+		ItemFields.PEOPLE,
+		ItemFields.PROVIDER_IDS,
+		ItemFields.REMOTE_TRAILERS,
+		ItemFields.SPECIAL_FEATURE_COUNT,
+		ItemFields.STUDIOS,
+		ItemFields.WIDTH,
+	)
 }
+
+/**
+ * The field profile used by item rows of this type.
+ */
+val QueryType.fieldProfile
+	get() = when (this) {
+		QueryType.LiveTvChannel,
+		QueryType.LiveTvProgram,
+		QueryType.LiveTvRecording,
+		QueryType.SeriesTimer -> ItemFieldProfile.GUIDE
+
+		// Rows on the detail screens of items
+		QueryType.Season,
+		QueryType.Upcoming,
+		QueryType.SimilarSeries,
+		QueryType.SimilarMovies,
+		QueryType.Specials,
+		QueryType.AdditionalParts,
+		QueryType.Trailers -> ItemFieldProfile.DETAIL
+
+		// Audio rows are played directly from the row
+		QueryType.StaticAudioQueueItems,
+		QueryType.AudioPlaylists -> ItemFieldProfile.PLAYBACK
+
+		else -> ItemFieldProfile.CARD
+	}
@@ -0,0 +1,330 @@
+package org.jellyfin.androidtv.data.repository
+
+import android.content.Context
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import kotlinx.serialization.SerializationException
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.encodeToString
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.modules.SerializersModule
+import kotlinx.serialization.modules.contextual
+import org.jellyfin.androidtv.auth.repository.Session
+import org.jellyfin.androidtv.auth.repository.SessionRepository
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.api.client.extensions.liveTvApi
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.ItemSortBy
+import org.jellyfin.sdk.model.serializer.UUIDSerializer
+import timber.log.Timber
+import java.io.File
+import java.io.IOException
+import java.time.LocalDateTime
+import java.time.ZoneOffset
+import java.util.TreeMap
+import java.util.UUID
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Programs shown in the live TV guide. Programs are retrieved in tiles of a fixed time span per channel and only tiles
+ * that are not stored yet are requested from the server. Stored tiles that are getting old are refreshed in the
+ * background. Tiles that ended are evicted, the upcoming tiles are stored per server and user in the applications cache
+ * directory so the guide can be shown right away after a restart.
+ */
+interface ProgramGuideRepository {
+	/**
+	 * Read the stored programs of the current session from disk.
+	 */
+	suspend fun load()
+
+	/**
+	 * Retrieve the programs of [channelIds] between [start] and [end] that are not stored yet. Returns false when
+	 * retrieving any of them failed. Outdated programs are kept and refreshed in the background.
+	 */
+	suspend fun retrieve(channelIds: Collection<UUID>, start: LocalDateTime, end: LocalDateTime): Boolean
+
+	/**
+	 * Get the stored programs of [channelId] airing between [start] and [end], sorted by start date.
+	 */
+	fun getPrograms(channelId: UUID, start: LocalDateTime, end: LocalDateTime): List<BaseItemDto>
+
+	/**
+	 * Mark all stored programs as outdated, for example when recordings changed. They are retrieved again when
+	 * requested and remain available until then.
+	 */
+	fun invalidate()
+}
+
+class ProgramGuideRepositoryImpl(
+	private val context: Context,
+	private val api: ApiClient,
+	private val sessionRepository: SessionRepository,
+) : ProgramGuideRepository {
+	private companion object {
+		private const val VERSION = 2
+		private val TILE_DURATION = 3.hours
+
+		// Schedules rarely change, refresh tiles in the background after a while
+		private val TILE_MAX_AGE = 6.hours
+		private val WRITE_DELAY = 2.seconds
+
+		// Only the tiles the guide opens with are written to disk
+		private val STORE_DURATION = 24.hours
+	}
+
+	@Serializable
+	private data class StoredChannel(
+		@Serializable(with = UUIDSerializer::class)
+		val channelId: UUID,
+		val tiles: Map<Long, Long>,
+		val programs: List<BaseItemDto>,
+	)
+
+	@Serializable
+	private data class StoredGuide(
+		val version: Int,
+		val channels: List<StoredChannel>,
+	)
+
+	/**
+	 * The loaded tiles and programs of a channel. Tiles map to the wall clock time in milliseconds they were retrieved
+	 * at. Programs are indexed by their start date, channels don't air multiple programs at once so the program airing
+	 * at a time is the last one starting before it.
+	 */
+	private class ChannelGuide {
+		val tiles = mutableMapOf<Long, Long>()
+		val programs = TreeMap<LocalDateTime, BaseItemDto>()
+	}
+
+	private val json = Json {
+		encodeDefaults = false
+		serializersModule = SerializersModule {
+			contextual(UUIDSerializer())
+		}
+		ignoreUnknownKeys = true
+	}
+
+	private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val channels = mutableMapOf<UUID, ChannelGuide>()
+	private val refreshingTiles = mutableSetOf<Pair<UUID, Long>>()
+	@Volatile private var loadedSession: Session? = null
+	private var writeJob: Job? = null
+
+	private fun getStorePath(session: Session) = File(context.cacheDir, "program_guide")
+		.resolve("${session.serverId}_${session.userId}.json")
+
+	override suspend fun load(): Unit = withContext(Dispatchers.IO) {
+		val session = sessionRepository.currentSession.value
+		if (session == loadedSession) return@withContext
+
+		synchronized(channels) {
+			channels.clear()
+			refreshingTiles.clear()
+			loadedSession = session
+		}
+		if (session == null) return@withContext
+
+		val storePath = getStorePath(session)
+		if (!storePath.exists()) return@withContext
+
+		try {
+			val stored = json.decodeFromString<StoredGuide>(storePath.readText())
+			if (stored.version != VERSION) {
+				Timber.w("Ignoring program guide cache with unknown version")
+				return@withContext
+			}
+
+			synchronized(channels) {
+				for (storedChannel in stored.channels) {
+					val channel = channels.getOrPut(storedChannel.channelId) { ChannelGuide() }
+					channel.tiles.putAll(storedChannel.tiles)
+					for (program in storedChannel.programs) channel.add(program)
+				}
+				evict()
+			}
+			Timber.d("Loaded programs of ${stored.channels.size} channels")
+		} catch (e: SerializationException) {
+			Timber.e(e, "Unable to read program guide cache")
+		} catch (e: IllegalArgumentException) {
+			Timber.e(e, "Unable to read program guide cache")
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to read program guide cache")
+		}
+	}
+
+	override suspend fun retrieve(channelIds: Collection<UUID>, start: LocalDateTime, end: LocalDateTime): Boolean {
+		val session = loadedSession
+		val tiles = getTileIndex(start)..getTileIndex(end.minusNanos(1))
+		val staleBefore = System.currentTimeMillis() - TILE_MAX_AGE.inWholeMilliseconds
+
+		// Channels in a range usually miss the same tiles, request those in one go
+		val (missing, stale) = synchronized(channels) {
+			evict()
+			val missing = channelIds
+				.groupBy { id -> tiles.filterNot { tile -> channels[id]?.tiles?.containsKey(tile) == true } }
+				.filterKeys { it.isNotEmpty() }
+			val stale = channelIds
+				.groupBy { id ->
+					tiles.filter { tile ->
+						val retrievedAt = channels[id]?.tiles?.get(tile) ?: return@filter false
+						retrievedAt < staleBefore && refreshingTiles.add(id to tile)
+					}
+				}
+				.filterKeys { it.isNotEmpty() }
+			missing to stale
+		}
+
+		if (stale.isNotEmpty()) scope.launch {
+			for ((staleTiles, ids) in stale) retrieveTiles(session, ids, staleTiles)
+
+			synchronized(channels) {
+				for ((staleTiles, ids) in stale) for (id in ids) for (tile in staleTiles) refreshingTiles.remove(id to tile)
+			}
+			if (session != null) scheduleWrite(session)
+		}
+
+		if (missing.isEmpty()) return true
+
+		var success = true
+		for ((missingTiles, ids) in missing) {
+			if (!retrieveTiles(session, ids, missingTiles)) success = false
+		}
+
+		if (session != null) scheduleWrite(session)
+		return success
+	}
+
+	private suspend fun retrieveTiles(session: Session?, ids: List<UUID>, tiles: List<Long>): Boolean {
+		val tileStart = getTileStart(tiles.first())
+		val tileEnd = getTileStart(tiles.last() + 1)
+		val retrievedAt = System.currentTimeMillis()
+
+		val programs = runCatching {
+			withContext(Dispatchers.IO) {
+				api.liveTvApi.getLiveTvPrograms(
+					channelIds = ids,
+					enableImages = false,
+					sortBy = setOf(ItemSortBy.START_DATE),
+					maxStartDate = tileEnd.minusSeconds(1),
+					minEndDate = tileStart,
+				).content.items
+			}
+		}.onFailure {
+			Timber.e(it, "Unable to retrieve programs of ${ids.size} channels")
+		}.getOrNull() ?: return false
+
+		synchronized(channels) {
+			// Drop the programs when the session changed while retrieving them
+			if (session != loadedSession) return false
+
+			for (id in ids) {
+				val channel = channels.getOrPut(id) { ChannelGuide() }
+				// Replace the previously retrieved programs, the schedule might have changed since
+				channel.programs.subMap(tileStart, tileEnd).clear()
+				for (tile in tiles) channel.tiles[tile] = retrievedAt
+			}
+			for (program in programs) {
+				val channelId = program.channelId ?: continue
+				channels.getOrPut(channelId) { ChannelGuide() }.add(program)
+			}
+		}
+		Timber.d("Retrieved ${programs.size} programs of ${ids.size} channels for tiles $tiles")
+		return true
+	}
+
+	override fun getPrograms(channelId: UUID, start: LocalDateTime, end: LocalDateTime): List<BaseItemDto> =
+		synchronized(channels) {
+			val programs = channels[channelId]?.programs ?: return emptyList()
+			val from = programs.floorKey(start) ?: start
+			programs.subMap(from, true, end, false).values.filter { program ->
+				program.endDate?.isAfter(start) == true
+			}
+		}
+
+	override fun invalidate() {
+		synchronized(channels) {
+			for (channel in channels.values) channel.tiles.clear()
+		}
+
+		loadedSession?.let(::scheduleWrite)
+	}
+
+	private fun ChannelGuide.add(program: BaseItemDto) {
+		val start = program.startDate ?: return
+		programs[start] = program
+	}
+
+	private fun evict() {
+		val now = LocalDateTime.now()
+		val currentTile = getTileIndex(now)
+
+		val iterator = channels.values.iterator()
+		while (iterator.hasNext()) {
+			val channel = iterator.next()
+			channel.tiles.keys.removeAll { it < currentTile }
+			channel.programs.headMap(now).values.removeAll { program -> program.endDate?.isAfter(now) != true }
+			if (channel.tiles.isEmpty() && channel.programs.isEmpty()) iterator.remove()
+		}
+	}
+
+	private fun scheduleWrite(session: Session) {
+		// Tiles are retrieved in bursts while scrolling, write them in one go
+		synchronized(this) {
+			writeJob?.cancel()
+			writeJob = scope.launch {
+				delay(WRITE_DELAY)
+				write(session)
+			}
+		}
+	}
+
+	private fun write(session: Session) {
+		val storeEnd = LocalDateTime.now().plusSeconds(STORE_DURATION.inWholeSeconds)
+		val lastTile = getTileIndex(storeEnd)
+
+		val stored = synchronized(channels) {
+			if (session != loadedSession) return
+
+			evict()
+			StoredGuide(VERSION, channels.map { (id, channel) ->
+				StoredChannel(
+					channelId = id,
+					tiles = channel.tiles.filterKeys { it <= lastTile },
+					programs = channel.programs.headMap(storeEnd).values.toList(),
+				)
+			})
+		}
+
+		try {
+			val storePath = getStorePath(session)
+			storePath.parentFile?.mkdirs()
+
+			// Write to a temporary file first so a partially written cache is never read
+			val tempPath = File(storePath.parentFile, "${storePath.name}.tmp")
+			tempPath.writeText(json.encodeToString(stored))
+			// Renaming fails on some file systems when the target exists
+			if (!tempPath.renameTo(storePath) && !(storePath.delete() && tempPath.renameTo(storePath))) {
+				Timber.w("Unable to replace program guide cache $storePath")
+				tempPath.delete()
+			}
+		} catch (e: SerializationException) {
+			Timber.e(e, "Unable to write program guide cache")
+		} catch (e: SecurityException) {
+			Timber.e(e, "Unable to write program guide cache")
+		} catch (e: IOException) {
+			Timber.e(e, "Unable to write program guide cache")
+		}
+	}
+
+	private fun getTileIndex(time: LocalDateTime) =
+		Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), TILE_DURATION.inWholeSeconds)
+
+	private fun getTileStart(index: Long) =
+		LocalDateTime.ofEpochSecond(index * TILE_DURATION.inWholeSeconds, 0, ZoneOffset.UTC)
+}
@@ -19,12 +19,21 @@ import org.jellyfin.androidtv.auth.repository.UserRepository
 import org.jellyfin.androidtv.auth.repository.UserRepositoryImpl
 import org.jellyfin.androidtv.data.eventhandling.SocketHandler
 import org.jellyfin.androidtv.data.model.DataRefreshService
+import org.jellyfin.androidtv.data.querying.ApiRequestQueue
 import org.jellyfin.androidtv.data.repository.CustomMessageRepository
 import org.jellyfin.androidtv.data.repository.CustomMessageRepositoryImpl
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepository
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepositoryImpl
+import org.jellyfin.androidtv.data.repository.HomeRowCacheRepository
+import org.jellyfin.androidtv.data.repository.HomeRowCacheRepositoryImpl
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
+import org.jellyfin.androidtv.data.repository.ItemCacheRepositoryImpl
 import org.jellyfin.androidtv.data.repository.ItemMutationRepository
 import org.jellyfin.androidtv.data.repository.ItemMutationRepositoryImpl
 import org.jellyfin.androidtv.data.repository.NotificationsRepository
 import org.jellyfin.androidtv.data.repository.NotificationsRepositoryImpl
+import org.jellyfin.androidtv.data.repository.ProgramGuideRepository
+import org.jellyfin.androidtv.data.repository.ProgramGuideRepositoryImpl
 import org.jellyfin.androidtv.data.repository.UserViewsRepository
 import org.jellyfin.androidtv.data.repository.UserViewsRepositoryImpl
 import org.jellyfin.androidtv.data.service.BackgroundService
@@ -102,7 +111,9 @@ val appModule = module {
 		get<JellyfinSdk>().createApi(httpClientOptions = get<HttpClientOptions>())
 	}
 
-	single { SocketHandler(get(), get(), get(), get(), get(), get(), get(), get(), get()) }
+	single { ApiRequestQueue(get()) }
+
+	single { SocketHandler(get(), get(), get(), get(), get(), get(), get(), get(), get(), get()) }
 
 	// Coil (images)
 	single {
@@ -153,17 +164,21 @@ val appModule = module {
 	single<UserRepository> { UserRepositoryImpl() }
 	single<UserViewsRepository> { UserViewsRepositoryImpl(get()) }
 	single<NotificationsRepository> { NotificationsRepositoryImpl(get(), get()) }
-	single<ItemMutationRepository> { ItemMutationRepositoryImpl(get(), get()) }
+	single<ItemMutationRepository> { ItemMutationRepositoryImpl(get(), get(), get()) }
+	single<ItemCacheRepository> { ItemCacheRepositoryImpl(get(), get()) }
 	single<CustomMessageRepository> { CustomMessageRepositoryImpl() }
 	single<NavigationRepository> { NavigationRepositoryImpl(Destinations.home) }
-	single<SearchRepository> { SearchRepositoryImpl(get()) }
+	single<SearchRepository> { SearchRepositoryImpl(get(), get()) }
+	single<HomeRowCacheRepository> { HomeRowCacheRepositoryImpl(androidContext(), get()) }
 	single<MediaSegmentRepository> { MediaSegmentRepositoryImpl(get(), get()) }
+	single<DeviceProfileRepository> { DeviceProfileRepositoryImpl(androidContext(), get()) }
+	single<ProgramGuideRepository> { ProgramGuideRepositoryImpl(androidContext(), get(), get()) }
 
 	viewModel { StartupViewModel(get(), get(), get(), get()) }
 	viewModel { UserLoginViewModel(get(), get(), get(), get(defaultDeviceInfo)) }
 	viewModel { ServerAddViewModel(get()) }
-	viewModel { NextUpViewModel(get(), get(), get()) }
-	viewModel { PictureViewerViewModel(get()) }
+	viewModel { NextUpViewModel(get(), get(), get(), get()) }
+	viewModel { PictureViewerViewModel(get(), get()) }
 	viewModel { ScreensaverViewModel(get()) }
 	viewModel { SearchViewModel(get()) }
 	viewModel { DreamViewModel(get(), get(), get(), get(), get()) }
@@ -10,17 +10,20 @@ import androidx.media3.datasource.HttpDataSource
 import androidx.media3.datasource.okhttp.OkHttpDataSource
 import okhttp3.OkHttpClient
 import org.jellyfin.androidtv.R
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepository
 import org.jellyfin.androidtv.preference.UserPreferences
 import org.jellyfin.androidtv.preference.UserSettingPreferences
 import org.jellyfin.androidtv.ui.browsing.MainActivity
+import org.jellyfin.androidtv.ui.playback.LiveTvZapper
 import org.jellyfin.androidtv.ui.playback.MediaManager
 import org.jellyfin.androidtv.ui.playback.PlaybackLauncher
 import org.jellyfin.androidtv.ui.playback.VideoQueueManager
 import org.jellyfin.androidtv.ui.playback.rewrite.RewriteMediaManager
-import org.jellyfin.androidtv.util.profile.createDeviceProfile
 import org.jellyfin.playback.core.playbackManager
 import org.jellyfin.playback.jellyfin.jellyfinPlugin
+import org.jellyfin.playback.jellyfin.mediastream.PlaybackInfoCache
 import org.jellyfin.playback.media3.exoplayer.ExoPlayerOptions
+import org.jellyfin.playback.media3.exoplayer.cache.MediaCacheOptions
 import org.jellyfin.playback.media3.exoplayer.exoPlayerPlugin
 import org.jellyfin.playback.media3.session.MediaSessionOptions
 import org.jellyfin.playback.media3.session.media3SessionPlugin
@@ -29,12 +32,14 @@ import org.jellyfin.sdk.api.client.HttpClientOptions
 import org.koin.android.ext.koin.androidContext
 import org.koin.core.scope.Scope
 import org.koin.dsl.module
+import java.io.File
 import kotlin.time.Duration.Companion.milliseconds
 import kotlin.time.toJavaDuration
 import org.jellyfin.androidtv.ui.playback.PlaybackManager as LegacyPlaybackManager
 
 val playbackModule = module {
-	single { LegacyPlaybackManager(get()) }
+	single { LegacyPlaybackManager(get(), get(), get()) }
+	single { LiveTvZapper(get(), get(), get()) }
 	single { VideoQueueManager() }
 	single<MediaManager> { RewriteMediaManager(get(), get(), get(), get()) }
 
@@ -53,6 +58,11 @@ val playbackModule = module {
 		}.build())
 	}
 
+	single {
+		val deviceProfileRepository = get<DeviceProfileRepository>()
+		PlaybackInfoCache(get()) { deviceProfileRepository.getDeviceProfile(false) }
+	}
+
 	single { createPlaybackManager() }
 }
 
@@ -76,6 +86,10 @@ fun Scope.createPlaybackManager() = playbackManager(androidContext()) {
 		preferFfmpeg = userPreferences[UserPreferences.preferExoPlayerFfmpeg],
 		enableDebugLogging = userPreferences[UserPreferences.debuggingEnabled],
 		baseDataSourceFactory = get<HttpDataSource.Factory>(),
+		mediaCache = MediaCacheOptions(
+			directory = File(androidContext().cacheDir, "media"),
+			maxBytes = @Suppress("MagicNumber") 256L * 1024 * 1024,
+		),
 	)
 	install(exoPlayerPlugin(get(), exoPlayerOptions))
 
@@ -87,8 +101,9 @@ fun Scope.createPlaybackManager() = playbackManager(androidContext()) {
 	)
 	install(media3SessionPlugin(get(), mediaSessionOptions))
 
-	val deviceProfileBuilder = { createDeviceProfile(userPreferences, false) }
-	install(jellyfinPlugin(get(), deviceProfileBuilder))
+	val deviceProfileRepository = get<DeviceProfileRepository>()
+	val deviceProfileBuilder = { deviceProfileRepository.getDeviceProfile(false) }
+	install(jellyfinPlugin(get(), deviceProfileBuilder, get()))
 
 	// Options
 	val userSettingPreferences = get<UserSettingPreferences>()
@@ -167,6 +167,11 @@ class UserPreferences(context: Context) : SharedPreferenceStore(
 		 */
 		var liveTvDirectPlayEnabled = booleanPreference("pref_live_direct", false)
 
+		/**
+		 * Open the streams of neighboring channels ahead of time, this occupies additional tuners on the server
+		 */
+		var liveTvPreTuneChannels = booleanPreference("pref_live_pretune", false)
+
 		/**
 		 * Shortcut used for changing the audio track
 		 */
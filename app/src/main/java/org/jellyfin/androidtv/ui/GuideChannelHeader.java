@@ -20,6 +20,8 @@ import org.jellyfin.sdk.model.api.BaseItemDto;
 import org.koin.java.KoinJavaComponent;
 
 public class GuideChannelHeader extends RelativeLayout {
+    private TextView mChannelName;
+    private TextView mChannelNumber;
     private AsyncImageView mChannelImage;
     private ImageView mFavImage;
     private BaseItemDto mChannel;
@@ -28,12 +30,17 @@ public class GuideChannelHeader extends RelativeLayout {
 
     public GuideChannelHeader(Context context, LiveTvGuide tvGuide, BaseItemDto channel) {
         super(context);
-        initComponent(context, tvGuide, channel);
+        initComponent(context, tvGuide);
+        bind(channel);
     }
 
-    private void initComponent(Context context, LiveTvGuide tvGuide, BaseItemDto channel) {
+    public GuideChannelHeader(Context context, LiveTvGuide tvGuide) {
+        super(context);
+        initComponent(context, tvGuide);
+    }
+
+    private void initComponent(Context context, LiveTvGuide tvGuide) {
         mContext = context;
-        mChannel = channel;
         mTvGuide = tvGuide;
         LayoutInflater inflater = LayoutInflater.from(context);
         View v = inflater.inflate(R.layout.channel_header, this, false);
@@ -44,13 +51,20 @@ public class GuideChannelHeader extends RelativeLayout {
         ));
         this.addView(v);
         this.setFocusable(true);
-        ((TextView) findViewById(R.id.channelName)).setText(channel.getName());
-        ((TextView) findViewById(R.id.channelNumber)).setText(channel.getNumber());
+        mChannelName = findViewById(R.id.channelName);
+        mChannelNumber = findViewById(R.id.channelNumber);
         mChannelImage = findViewById(R.id.channelImage);
         mFavImage = findViewById(R.id.favImage);
+    }
 
-        if (mChannel.getUserData() != null && mChannel.getUserData().isFavorite())
-            mFavImage.setVisibility(View.VISIBLE);
+    /**
+     * Show a channel in this header. Headers are reused for other channels while scrolling the guide.
+     */
+    public void bind(BaseItemDto channel) {
+        mChannel = channel;
+        mChannelName.setText(channel.getName());
+        mChannelNumber.setText(channel.getNumber());
+        refreshFavorite();
     }
 
     public void loadImage() {
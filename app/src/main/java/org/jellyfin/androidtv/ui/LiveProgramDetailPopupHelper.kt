@@ -5,6 +5,7 @@ import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.jellyfin.androidtv.data.repository.ItemMutationRepository
+import org.jellyfin.androidtv.ui.livetv.TvManager
 import org.jellyfin.androidtv.util.getActivity
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.extensions.liveTvApi
@@ -38,6 +39,7 @@ fun LiveProgramDetailPopup.cancelTimer(
 				api.liveTvApi.cancelTimer(timerId)
 			}
 		}.onSuccess {
+			TvManager.forceReload()
 			callback()
 		}
 	}
@@ -55,6 +57,7 @@ fun LiveProgramDetailPopup.cancelSeriesTimer(
 				api.liveTvApi.cancelSeriesTimer(seriesTimerId)
 			}
 		}.onSuccess {
+			TvManager.forceReload()
 			callback()
 		}
 	}
@@ -101,6 +104,7 @@ fun LiveProgramDetailPopup.recordProgram(
 				api.liveTvApi.getProgram(programId.toString()).content
 			}
 		}.onSuccess { program ->
+			TvManager.forceReload()
 			callback(program)
 		}
 	}
@@ -120,6 +124,7 @@ fun LiveProgramDetailPopup.recordSeries(
 				api.liveTvApi.getProgram(programId.toString()).content
 			}
 		}.onSuccess { program ->
+			TvManager.forceReload()
 			callback(program)
 		}
 	}
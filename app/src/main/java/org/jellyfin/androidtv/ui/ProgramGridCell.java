@@ -2,7 +2,6 @@ package org.jellyfin.androidtv.ui;
 
 import static org.koin.java.KoinJavaComponent.get;
 
-import android.app.Activity;
 import android.content.Context;
 import android.graphics.Color;
 import android.graphics.Rect;
@@ -37,13 +36,19 @@ public class ProgramGridCell extends RelativeLayout implements RecordingIndicato
 
     public ProgramGridCell(Context context, LiveTvGuide activity, BaseItemDto program, boolean keyListen) {
         super(context);
-        initComponent((Activity) context, activity, program, keyListen);
+        initComponent(activity, keyListen);
+        bind(program);
     }
 
-    private void initComponent(Activity context, LiveTvGuide activity, BaseItemDto program, boolean keyListen) {
+    public ProgramGridCell(Context context, LiveTvGuide activity) {
+        super(context);
+        initComponent(activity, false);
+    }
+
+    private void initComponent(LiveTvGuide activity, boolean keyListen) {
         mActivity = activity;
 
-        LayoutInflater inflater = LayoutInflater.from(context);
+        LayoutInflater inflater = LayoutInflater.from(getContext());
         View v = inflater.inflate(R.layout.program_grid_cell, this, false);
         this.addView(v);
 
@@ -51,15 +56,37 @@ public class ProgramGridCell extends RelativeLayout implements RecordingIndicato
 
         mProgramName = findViewById(R.id.programName);
         mInfoRow = findViewById(R.id.infoRow);
-        mProgramName.setText(program.getName());
-        mProgram = program;
         mRecIndicator = findViewById(R.id.recIndicator);
 
+        if (keyListen) {
+            setOnClickListener(new OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    mActivity.showProgramOptions();
+                }
+            });
+        }
+    }
+
+    /**
+     * Show a program in this cell. Cells are reused for other programs while scrolling the guide.
+     */
+    public void bind(BaseItemDto program) {
+        Context context = getContext();
+        mProgram = program;
+        isFirst = false;
+        isLast = false;
+        mProgramName.setText(program.getName());
+        mInfoRow.removeAllViews();
+        mRecIndicator.setImageDrawable(null);
+
+        if (isFocused()) setBackgroundResource(R.drawable.channel_guide_focused_background);
+        else setBackground(null);
         setCellBackground();
 
         if (program.getStartDate() != null && program.getEndDate() != null) {
             LocalDateTime localStart = program.getStartDate();
-            if (localStart.plusMinutes(1).isBefore(activity.getCurrentLocalStartDate())) {
+            if (localStart.plusMinutes(1).isBefore(mActivity.getCurrentLocalStartDate())) {
                 mProgramName.setText("<< "+mProgramName.getText());
                 TextView time = new TextView(context);
                 time.setTypeface(Typeface.create("sans-serif-light", Typeface.NORMAL));
@@ -96,17 +123,6 @@ public class ProgramGridCell extends RelativeLayout implements RecordingIndicato
         } else if (program.getTimerId() != null) {
             mRecIndicator.setImageResource(R.drawable.ic_record_red);
         }
-
-
-        if (keyListen) {
-            setOnClickListener(new OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    mActivity.showProgramOptions();
-                }
-            });
-        }
-
     }
 
     private void addBlockText(String text, float size, int textColor, int backgroundRes) {
@@ -133,9 +149,11 @@ public class ProgramGridCell extends RelativeLayout implements RecordingIndicato
                 mBackgroundColor = getResources().getColor(R.color.guide_sports_bg);
             } else if (Utils.isTrue(mProgram.isKids())) {
                 mBackgroundColor = getResources().getColor(R.color.guide_kids_bg);
+            } else {
+                mBackgroundColor = 0;
             }
 
-            setBackgroundColor(mBackgroundColor);
+            if (!isFocused()) setBackgroundColor(mBackgroundColor);
         }
     }
 
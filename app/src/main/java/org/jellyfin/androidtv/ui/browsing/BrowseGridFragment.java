@@ -49,8 +49,10 @@ import org.jellyfin.androidtv.preference.PreferencesRepository;
 import org.jellyfin.androidtv.ui.AlphaPickerView;
 import org.jellyfin.androidtv.ui.itemhandling.BaseRowItem;
 import org.jellyfin.androidtv.ui.itemhandling.ItemLauncher;
+import org.jellyfin.androidtv.ui.itemhandling.ItemLauncherHelper;
 import org.jellyfin.androidtv.ui.itemhandling.ItemRowAdapter;
 import org.jellyfin.androidtv.ui.itemhandling.ItemRowAdapterHelperKt;
+import org.jellyfin.androidtv.ui.itemhandling.PlaceholderBaseRowItem;
 import org.jellyfin.androidtv.ui.navigation.ActivityDestinations;
 import org.jellyfin.androidtv.ui.navigation.NavigationRepository;
 import org.jellyfin.androidtv.ui.presentation.CardPresenter;
@@ -61,6 +63,7 @@ import org.jellyfin.androidtv.util.InfoLayoutHelper;
 import org.jellyfin.androidtv.util.KeyProcessor;
 import org.jellyfin.androidtv.util.Utils;
 import org.jellyfin.androidtv.util.apiclient.EmptyResponse;
+import org.jellyfin.androidtv.util.apiclient.Response;
 import org.jellyfin.sdk.api.client.ApiClient;
 import org.jellyfin.sdk.model.api.BaseItemDto;
 import org.jellyfin.sdk.model.api.BaseItemKind;
@@ -80,6 +83,8 @@ import timber.log.Timber;
 
 public class BrowseGridFragment extends Fragment implements View.OnKeyListener {
     private final static int CHUNK_SIZE_MINIMUM = 25;
+    private final static int CHUNK_SIZE_MAXIMUM = 150;
+    private final static int PAGE_SCREENS = 2; // number of screens filled by a single page
 
     private String mainTitle;
     private FragmentActivity mActivity;
@@ -669,13 +674,17 @@ public class BrowseGridFragment extends Fragment implements View.OnKeyListener {
 
         Timber.d("buildAdapter cardHeight <%s> getCardWidthBy <%s> chunks <%s> type <%s>", mCardHeight, (int) getCardWidthBy(mCardHeight, mImageType, mFolder), mRowDef.getChunkSize(), mRowDef.getQueryType().toString());
 
-        // adapt chunk size if needed
+        // size pages from the measured grid, the adapter reads further ahead when scrolling fast
         int chunkSize = mRowDef.getChunkSize();
-        if (mCardsScreenEst > 0 && mCardsScreenEst >= chunkSize) {
-            chunkSize = Math.min(mCardsScreenEst + mCardsScreenStride, 100); // cap at 150
+        if (mCardsScreenEst > 0) {
+            chunkSize = mCardsScreenEst * PAGE_SCREENS;
+            if (mCardsScreenStride > 0) {
+                // align to full rows/columns
+                chunkSize = ((chunkSize + mCardsScreenStride - 1) / mCardsScreenStride) * mCardsScreenStride;
+            }
+            chunkSize = Math.max(CHUNK_SIZE_MINIMUM, Math.min(chunkSize, CHUNK_SIZE_MAXIMUM));
             Timber.d("buildAdapter adjusting chunkSize to <%s> screenEst <%s>", chunkSize, mCardsScreenEst);
         }
-        chunkSize=50;
 
         switch (mRowDef.getQueryType()) {
             case NextUp:
@@ -709,6 +718,7 @@ public class BrowseGridFragment extends Fragment implements View.OnKeyListener {
                 mAdapter = new ItemRowAdapter(requireContext(), mRowDef.getQuery(), chunkSize, mRowDef.getPreferParentThumb(), mRowDef.isStaticHeight(), mCardPresenter, null);
                 break;
         }
+        mAdapter.setWindowed(true);
         mDirty = false;
 
         FilterOptions filters = new FilterOptions();
@@ -1115,6 +1125,23 @@ public class BrowseGridFragment extends Fragment implements View.OnKeyListener {
         public void onItemClicked(final Presenter.ViewHolder itemViewHolder, Object item,
                                   RowPresenter.ViewHolder rowViewHolder, Row row) {
 
+            if (item instanceof PlaceholderBaseRowItem) {
+                // Evicted items only contain a few properties, retrieve the full item before launching it
+                PlaceholderBaseRowItem placeholder = (PlaceholderBaseRowItem) item;
+                ItemLauncherHelper.getItem(placeholder.getItemId(), new Response<BaseItemDto>() {
+                    @Override
+                    public void onResponse(BaseItemDto response) {
+                        if (!isAdded()) return;
+                        itemLauncher.getValue().launch(placeholder.toRowItem(response), mAdapter, requireContext());
+                    }
+
+                    @Override
+                    public void onError(Exception exception) {
+                        Timber.w(exception, "Failed to retrieve evicted item");
+                    }
+                });
+                return;
+            }
             if (!(item instanceof BaseRowItem)) return;
             itemLauncher.getValue().launch((BaseRowItem) item, mAdapter, requireContext());
         }
@@ -1139,6 +1166,7 @@ public class BrowseGridFragment extends Fragment implements View.OnKeyListener {
         public void onItemSelected(Presenter.ViewHolder itemViewHolder, Object item,
                                    RowPresenter.ViewHolder rowViewHolder, Row row) {
             mHandler.removeCallbacks(mDelayedSetItem);
+            if (item instanceof PlaceholderBaseRowItem) item = ((PlaceholderBaseRowItem) item).toRowItem();
             if (!(item instanceof BaseRowItem)) {
                 mCurrentItem = null;
                 binding.title.setText(mainTitle);
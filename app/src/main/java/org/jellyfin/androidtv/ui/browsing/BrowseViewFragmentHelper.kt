@@ -27,7 +27,7 @@ fun EnhancedBrowseFragment.getLiveTvRecordingsAndTimers(
 		runCatching {
 			val recordings = withContext(Dispatchers.IO) {
 				api.liveTvApi.getRecordings(
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.cardFields,
 					enableImages = true,
 					limit = 40,
 				).content
@@ -66,13 +66,13 @@ object BrowsingUtils {
 		limit = 50,
 		parentId = parentId,
 		imageTypeLimit = 1,
-		fields = ItemRepository.itemFields
+		fields = ItemRepository.cardFields
 	)
 
 	@JvmStatic
 	fun createSeriesGetNextUpRequest(parentId: UUID) = GetNextUpRequest(
 		seriesId = parentId,
-		fields = ItemRepository.itemFields
+		fields = ItemRepository.cardFields
 	)
 
 	@JvmStatic
@@ -82,7 +82,7 @@ object BrowsingUtils {
 		itemType: BaseItemKind? = null,
 		groupItems: Boolean? = null
 	) = GetLatestMediaRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		parentId = parentId,
 		limit = 50,
 		imageTypeLimit = 1,
@@ -93,26 +93,26 @@ object BrowsingUtils {
 	@JvmStatic
 	fun createSeasonsRequest(seriesId: UUID) = GetSeasonsRequest(
 		seriesId = seriesId,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 	)
 
 	@JvmStatic
 	fun createUpcomingEpisodesRequest(parentId: UUID) = GetUpcomingEpisodesRequest(
 		parentId = parentId,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 	)
 
 	@JvmStatic
 	fun createSimilarItemsRequest(itemId: UUID) = GetSimilarItemsRequest(
 		itemId = itemId,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		limit = 20,
 	)
 
 	@JvmStatic
 	fun createLiveTVOnNowRequest() = GetRecommendedProgramsRequest(
 		isAiring = true,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		imageTypeLimit = 1,
 		enableTotalRecordCount = false,
 		limit = 150,
@@ -122,7 +122,7 @@ object BrowsingUtils {
 	fun createLiveTVUpcomingRequest() = GetRecommendedProgramsRequest(
 		isAiring = false,
 		hasAired = false,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		imageTypeLimit = 1,
 		enableTotalRecordCount = false,
 		limit = 150,
@@ -131,14 +131,14 @@ object BrowsingUtils {
 	@JvmStatic
 	@JvmOverloads
 	fun createLiveTVRecordingsRequest(limit: Int? = null) = GetRecordingsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		enableImages = true,
 		limit = limit,
 	)
 
 	@JvmStatic
 	fun createLiveTVMovieRecordingsRequest() = GetRecordingsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		enableImages = true,
 		limit = 60,
 		isMovie = true,
@@ -146,7 +146,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createLiveTVSeriesRecordingsRequest() = GetRecordingsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		enableImages = true,
 		limit = 60,
 		isSeries = true,
@@ -154,7 +154,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createLiveTVSportsRecordingsRequest() = GetRecordingsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		enableImages = true,
 		limit = 60,
 		isSports = true,
@@ -162,7 +162,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createLiveTVKidsRecordingsRequest() = GetRecordingsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.guideFields,
 		enableImages = true,
 		limit = 60,
 		isKids = true,
@@ -175,19 +175,19 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createAlbumArtistsRequest(parentId: UUID) = GetAlbumArtistsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		parentId = parentId,
 	)
 
 	@JvmStatic
 	fun createArtistsRequest(parentId: UUID) = GetArtistsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		parentId = parentId,
 	)
 
 	@JvmStatic
 	fun createPersonItemsRequest(personId: UUID, itemType: BaseItemKind) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		personIds = setOf(personId),
 		recursive = true,
 		includeItemTypes = setOf(itemType),
@@ -196,7 +196,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createArtistItemsRequest(artistId: UUID, itemType: BaseItemKind) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		artistIds = setOf(artistId),
 		recursive = true,
 		includeItemTypes = setOf(itemType),
@@ -205,7 +205,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createNextEpisodesRequest(seasonId: UUID, indexNumber: Int) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		parentId = seasonId,
 		includeItemTypes = setOf(BaseItemKind.EPISODE),
 		startIndex = indexNumber,
@@ -214,7 +214,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createResumeItemsRequest(parentId: UUID, itemType: BaseItemKind) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		includeItemTypes = setOf(itemType),
 		recursive = true,
 		parentId = parentId,
@@ -235,7 +235,7 @@ object BrowsingUtils {
 		sortBy = setOf(ItemSortBy.SORT_NAME),
 		recursive = true,
 		limit = 100,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 	)
 
 	@JvmStatic
@@ -245,12 +245,12 @@ object BrowsingUtils {
 		sortBy = setOf(ItemSortBy.SORT_NAME),
 		recursive = true,
 		limit = 100,
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 	)
 
 	@JvmStatic
 	fun createCollectionsRequest(parentId: UUID) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		includeItemTypes = setOf(BaseItemKind.BOX_SET),
 		recursive = true,
 		imageTypeLimit = 1,
@@ -260,7 +260,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createPremieresRequest(parentId: UUID) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		includeItemTypes = setOf(BaseItemKind.EPISODE),
 		parentId = parentId,
 		indexNumber = 1,
@@ -276,7 +276,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createLastPlayedRequest(parentId: UUID) = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		includeItemTypes = setOf(BaseItemKind.AUDIO),
 		recursive = true,
 		parentId = parentId,
@@ -290,7 +290,7 @@ object BrowsingUtils {
 
 	@JvmStatic
 	fun createPlaylistsRequest() = GetItemsRequest(
-		fields = ItemRepository.itemFields,
+		fields = ItemRepository.cardFields,
 		includeItemTypes = setOf(BaseItemKind.PLAYLIST),
 		imageTypeLimit = 1,
 		recursive = true,
@@ -301,7 +301,7 @@ object BrowsingUtils {
 	@JvmStatic
 	fun createBrowseGridItemsRequest(parent: BaseItemDto): GetItemsRequest {
 		val baseRequest = GetItemsRequest(
-			fields = ItemRepository.itemFields,
+			fields = ItemRepository.cardFields,
 			parentId = parent.id,
 		)
 
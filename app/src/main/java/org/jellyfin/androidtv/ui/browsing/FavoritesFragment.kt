@@ -50,7 +50,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				sortOrder = setOf(SortOrder.DESCENDING),
 				recursive = true,
 				limit = 20,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			)
@@ -66,7 +66,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				sortOrder = setOf(SortOrder.DESCENDING),
 				recursive = true,
 				limit = 20,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			)
@@ -82,7 +82,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				sortOrder = setOf(SortOrder.DESCENDING),
 				recursive = true,
 				limit = 20,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			)
@@ -98,7 +98,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				sortOrder = setOf(SortOrder.DESCENDING),
 				recursive = true,
 				limit = 20,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			)
@@ -114,7 +114,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				sortOrder = setOf(SortOrder.DESCENDING),
 				recursive = true,
 				limit = 20,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			)
@@ -132,7 +132,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				limit = 20,
 				imageTypeLimit = 1,
 				enableImageTypes = setOf(SdkImageType.THUMB, SdkImageType.BACKDROP, SdkImageType.PRIMARY),
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			),
@@ -151,7 +151,7 @@ class FavoritesFragment : EnhancedBrowseFragment() {
 				recursive = true,
 				imageTypeLimit = 1,
 				enableImageTypes = setOf(SdkImageType.THUMB,SdkImageType.BACKDROP,SdkImageType.PRIMARY),
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				enableImages = true,
 				enableUserData = true
 			),
@@ -8,6 +8,7 @@ import android.graphics.RectF
 import android.util.AttributeSet
 import android.view.View
 import androidx.core.content.ContextCompat
+import org.jellyfin.playback.media3.exoplayer.diagnostics.PlaybackSample
 import kotlin.math.max
 import kotlin.math.min
 
@@ -16,13 +17,11 @@ class NetworkGraphView @JvmOverloads constructor(
     attrs: AttributeSet? = null,
     defStyleAttr: Int = 0
 ) : View(context, attrs, defStyleAttr) {
-    private val maxDataPoints = 60 // Store 60 data points (30 seconds at 500ms intervals)
-    private val downloadSpeedData = FloatArray(maxDataPoints)
-    private val uploadSpeedData = FloatArray(maxDataPoints)
-    private var currentIndex = 0
+    private val maxDataPoints = 51 // One sample per second for the last 50 seconds
+    private val streamData = FloatArray(maxDataPoints)
+    private val estimateData = FloatArray(maxDataPoints)
     private var dataCount = 0
     private var maxYValue = 1000f // Start with 1Mbps as minimum scale
-    private val dataLock = Object() // Object to synchronize data access
     private val gridLines = 4 // Number of horizontal grid lines
     private val leftPadding = 80f // Space for Y-axis labels
     private val rightPadding = 20f
@@ -48,54 +47,38 @@ class NetworkGraphView @JvmOverloads constructor(
         strokeWidth = 1f
     }
     
-    private var currentDownload = 0f
-    private var currentUpload = 0f
-    
-    fun addData(downloadSpeed: Float, uploadSpeed: Float) {
-        try {
-            // Store current values for the indicators
-            currentDownload = downloadSpeed.coerceAtLeast(0f)
-            currentUpload = uploadSpeed.coerceAtLeast(0f)
-            
-            // Store data points for the graph
-            synchronized(dataLock) {
-                // Store the data
-                downloadSpeedData[currentIndex] = currentDownload
-                uploadSpeedData[currentIndex] = currentUpload
-                
-                // Calculate new max Y value (with some headroom)
-                val currentMax = maxOf(currentDownload, currentUpload) * 1.2f
-                maxYValue = maxOf(maxYValue, currentMax, 1000f) // Minimum scale of 1Mbps
-                
-                // Move to next index (circular buffer)
-                currentIndex = (currentIndex + 1) % maxDataPoints
-                dataCount = minOf(dataCount + 1, maxDataPoints)
-                
-                // Force immediate redraw
-                postInvalidate()
-            }
-        } catch (e: Exception) {
-            // Silently handle any errors
+    private var currentStream = 0f
+    private var currentEstimate = 0f
+
+    /**
+     * Show the stream bitrate and bandwidth estimate of the latest [samples], oldest first.
+     */
+    fun setSamples(samples: List<PlaybackSample>) {
+        val visible = samples.takeLast(maxDataPoints)
+
+        // Store newest first, the graph is drawn from the right
+        dataCount = visible.size
+        visible.asReversed().forEachIndexed { i, sample ->
+            streamData[i] = sample.streamBitrate / 1000f
+            estimateData[i] = sample.bandwidthEstimate / 1000f
         }
+
+        currentStream = if (dataCount > 0) streamData[0] else 0f
+        currentEstimate = if (dataCount > 0) estimateData[0] else 0f
+
+        // Scale to the visible values with some headroom
+        var max = 1000f // Minimum scale of 1Mbps
+        for (i in 0 until dataCount) max = maxOf(max, streamData[i] * 1.2f, estimateData[i] * 1.2f)
+        maxYValue = max
+
+        invalidate()
     }
-    
+
     /**
      * Reset the graph data and state
      */
     fun reset() {
-        // Clear all data points
-        downloadSpeedData.fill(0f)
-        uploadSpeedData.fill(0f)
-        currentIndex = 0
-        dataCount = 0
-        currentDownload = 0f
-        currentUpload = 0f
-        maxYValue = 1000f // Reset to default max
-        
-        // Force redraw
-        post {
-            invalidate()
-        }
+        setSamples(emptyList())
     }
     
     override fun onDraw(canvas: Canvas) {
@@ -173,7 +156,7 @@ class NetworkGraphView @JvmOverloads constructor(
             
             for (i in 0..5) {
                 val x = graphLeft + (i * graphWidth / 5)
-                val timeLabel = "-${(i * 5)}s"
+                val timeLabel = "-${(i * 10)}s"
                 canvas.drawText(timeLabel, x, graphBottom + 25, textPaint)
             }
             
@@ -181,56 +164,55 @@ class NetworkGraphView @JvmOverloads constructor(
             
             // Calculate point width based on visible points
             val visiblePoints = minOf(dataCount, maxDataPoints)
-            val pointStep = graphWidth / (visiblePoints - 1)
+            // Keep a fixed time scale so the samples line up with the time labels
+            val pointStep = graphWidth / (maxDataPoints - 1)
             
-            // Draw download speed graph (blue)
+            // Draw stream bitrate graph (blue)
             paint.color = Color.BLUE
             paint.strokeWidth = 3f
             paint.style = Paint.Style.STROKE
             
-            // Draw download speed line
-            val downloadPath = android.graphics.Path()
+            // Draw stream bitrate line
+            val streamPath = android.graphics.Path()
             var firstPoint = true
             
             for (i in 0 until visiblePoints) {
-                val dataIndex = (currentIndex - 1 - i + maxDataPoints * 2) % maxDataPoints
                 val x = graphRight - (i * pointStep)
-                val y = graphBottom - ((downloadSpeedData[dataIndex] / maxYValue) * graphHeight)
+                val y = graphBottom - ((streamData[i] / maxYValue) * graphHeight)
                 val clampedY = y.coerceIn(graphTop, graphBottom)
                 
                 if (firstPoint) {
-                    downloadPath.moveTo(x, clampedY)
+                    streamPath.moveTo(x, clampedY)
                     firstPoint = false
                 } else {
-                    downloadPath.lineTo(x, clampedY)
+                    streamPath.lineTo(x, clampedY)
                 }
             }
             
-            canvas.drawPath(downloadPath, paint)
+            canvas.drawPath(streamPath, paint)
             
-            // Draw upload speed graph (green)
+            // Draw bandwidth estimate graph (green)
             paint.color = Color.GREEN
             paint.strokeWidth = 3f
             
-            // Draw upload speed line
-            val uploadPath = android.graphics.Path()
+            // Draw bandwidth estimate line
+            val estimatePath = android.graphics.Path()
             firstPoint = true
             
             for (i in 0 until visiblePoints) {
-                val dataIndex = (currentIndex - 1 - i + maxDataPoints * 2) % maxDataPoints
                 val x = graphRight - (i * pointStep)
-                val y = graphBottom - ((uploadSpeedData[dataIndex] / maxYValue) * graphHeight)
+                val y = graphBottom - ((estimateData[i] / maxYValue) * graphHeight)
                 val clampedY = y.coerceIn(graphTop, graphBottom)
                 
                 if (firstPoint) {
-                    uploadPath.moveTo(x, clampedY)
+                    estimatePath.moveTo(x, clampedY)
                     firstPoint = false
                 } else {
-                    uploadPath.lineTo(x, clampedY)
+                    estimatePath.lineTo(x, clampedY)
                 }
             }
             
-            canvas.drawPath(uploadPath, paint)
+            canvas.drawPath(estimatePath, paint)
             
             // Draw current speed indicators in top-right corner with background
             val indicatorX = graphRight - 20f
@@ -248,14 +230,14 @@ class NetworkGraphView @JvmOverloads constructor(
                 }
             }
             
-            val downloadText = "${formatSpeed(currentDownload)} ↓"
-            val uploadText = "${formatSpeed(currentUpload)} ↑"
+            val streamText = "${formatSpeed(currentStream)} ↓"
+            val estimateText = "${formatSpeed(currentEstimate)} ≈"
             
             // Measure text widths
             textPaint.textSize = indicatorTextSize
-            val downloadWidth = textPaint.measureText(downloadText)
-            val uploadWidth = textPaint.measureText(uploadText)
-            val maxWidth = maxOf(downloadWidth, uploadWidth)
+            val streamWidth = textPaint.measureText(streamText)
+            val estimateWidth = textPaint.measureText(estimateText)
+            val maxWidth = maxOf(streamWidth, estimateWidth)
             
             // Removed background for cleaner look
             val bgLeft = indicatorX - maxWidth - 2 * indicatorPadding - 30
@@ -263,7 +245,7 @@ class NetworkGraphView @JvmOverloads constructor(
             val bgBottom = indicatorY + 25
             val bgRight = indicatorX + 5
             
-            // Draw download indicator
+            // Draw stream indicator
             paint.color = Color.BLUE
             paint.style = Paint.Style.FILL
             canvas.drawCircle(
@@ -273,13 +255,13 @@ class NetworkGraphView @JvmOverloads constructor(
                 paint
             )
             
-            // Draw download text
+            // Draw stream text
             textPaint.textAlign = Paint.Align.RIGHT
             textPaint.color = Color.WHITE
             textPaint.textSize = indicatorTextSize
-            canvas.drawText(downloadText, indicatorX, indicatorY, textPaint)
+            canvas.drawText(streamText, indicatorX, indicatorY, textPaint)
             
-            // Draw upload indicator
+            // Draw bandwidth estimate indicator
             indicatorY += 30
             paint.color = Color.GREEN
             canvas.drawCircle(
@@ -289,16 +271,16 @@ class NetworkGraphView @JvmOverloads constructor(
                 paint
             )
             
-            // Draw upload text
+            // Draw bandwidth estimate text
             textPaint.textAlign = Paint.Align.RIGHT
             textPaint.color = Color.WHITE
-            canvas.drawText(uploadText, indicatorX, indicatorY, textPaint)
+            canvas.drawText(estimateText, indicatorX, indicatorY, textPaint)
             
             // Draw legend at the bottom with more spacing
             val legendY = graphBottom + 50f  // Increased from 30f to 50f for more space
             val legendX = graphLeft + 10f
             
-            // Draw download legend
+            // Draw stream legend
             paint.color = Color.BLUE
             paint.style = Paint.Style.FILL
             canvas.drawCircle(legendX + 5, legendY - 5, 5f, paint)
@@ -306,14 +288,14 @@ class NetworkGraphView @JvmOverloads constructor(
             textPaint.textAlign = Paint.Align.LEFT
             textPaint.color = Color.WHITE
             textPaint.textSize = 16f
-            canvas.drawText("Download", legendX + 15, legendY, textPaint)
+            canvas.drawText("Stream", legendX + 15, legendY, textPaint)
             
-            // Draw upload legend
+            // Draw bandwidth estimate legend
             paint.color = Color.GREEN
             canvas.drawCircle(legendX + 150, legendY - 5, 5f, paint)
             
             textPaint.color = Color.WHITE
-            canvas.drawText("Upload", legendX + 160, legendY, textPaint)
+            canvas.drawText("Bandwidth estimate", legendX + 160, legendY, textPaint)
             
             // Draw unit with more spacing from the right edge
             textPaint.textAlign = Paint.Align.RIGHT
@@ -30,7 +30,8 @@ class GenreManager(
 	private val context: Context,
 	private val userRepository: UserRepository,
 	private val userPreferences: UserPreferences,
-	private val userSettingPreferences: UserSettingPreferences
+	private val userSettingPreferences: UserSettingPreferences,
+	private val rowLoader: HomeRowLoader? = null,
 ) {
 
 	companion object {
@@ -187,10 +188,14 @@ class GenreManager(
 		Timber.d("Cleared enabled genres cache")
 	}
 
+	/**
+	 * Add all enabled genre rows. When a [HomeRowLoader] is set the rows are only enqueued here and retrieved
+	 * concurrently by the loader.
+	 */
 	suspend fun loadGenreRows(
 		cardPresenter: CardPresenter,
 		rowsAdapter: MutableObjectAdapter<Row>
-	) = withContext(Dispatchers.IO) {
+	) = withContext(Dispatchers.Main) {
 		val startTime = System.currentTimeMillis()
 		try {
 			val enabledGenres = getEnabledGenres()
@@ -210,18 +215,17 @@ class GenreManager(
 			}
 
 			val loadTime = System.currentTimeMillis() - startTime
-			Timber.d("Successfully loaded ${enabledGenres.size} genre rows in ${loadTime}ms")
+			Timber.d("Successfully added ${enabledGenres.size} genre rows in ${loadTime}ms")
 		} catch (e: Exception) {
 			Timber.e(e, "Error loading genre rows")
 		}
 	}
 
-	private suspend fun loadSingleGenreRow(
+	private fun loadSingleGenreRow(
 		config: GenreConfig,
 		cardPresenter: CardPresenter,
 		rowsAdapter: MutableObjectAdapter<Row>
 	) {
-		val rowStartTime = System.currentTimeMillis()
 		try {
 			Timber.d("Loading ${config.displayName} row")
 
@@ -232,13 +236,7 @@ class GenreManager(
 				return
 			}
 
-			withContext(Dispatchers.Main) {
-				row.addToRowsAdapter(context, cardPresenter, rowsAdapter)
-			}
-
-			val rowLoadTime = System.currentTimeMillis() - rowStartTime
-			Timber.d("Successfully added ${config.displayName} row in ${rowLoadTime}ms")
-
+			row.addToRowsAdapter(context, cardPresenter, rowsAdapter)
 		} catch (e: Exception) {
 			Timber.e(e, "Error loading ${config.displayName} row")
 		}
@@ -260,7 +258,7 @@ class GenreManager(
 			sortOrder = listOf(SortOrder.DESCENDING),
 			limit = GENRE_ITEM_LIMIT,
 			recursive = true,
-			fields = ItemRepository.itemFields,
+			fields = ItemRepository.cardFields,
 			imageTypeLimit = 1,
 			enableTotalRecordCount = false
 		)
@@ -276,7 +274,7 @@ class GenreManager(
 					setUniformAspect(true)
 				}
 
-				HomeFragmentBrowseRowDefRow(BrowseRowDef(genreName, query, GENRE_ITEM_LIMIT, false, true))
+				HomeFragmentBrowseRowDefRow(BrowseRowDef(genreName, query, GENRE_ITEM_LIMIT, false, true), rowLoader)
 					.addToRowsAdapter(context, noInfoCardPresenter, rowsAdapter)
 			}
 		}
@@ -293,7 +291,7 @@ class GenreManager(
 			mediaTypes = setOf(MediaType.AUDIO),
 			sortBy = listOf(userPreferences[UserPreferences.genreSortBy].itemSortBy),
 			limit = GENRE_ITEM_LIMIT,
-			fields = ItemRepository.itemFields,
+			fields = ItemRepository.cardFields,
 			recursive = true,
 			excludeItemTypes = setOf(BaseItemKind.MOVIE, BaseItemKind.SERIES, BaseItemKind.EPISODE)
 		)
@@ -309,7 +307,7 @@ class GenreManager(
 					setUniformAspect(true)
 				}
 
-				HomeFragmentBrowseRowDefRow(BrowseRowDef("Music Playlists", musicPlaylistQuery, GENRE_ITEM_LIMIT, false, true))
+				HomeFragmentBrowseRowDefRow(BrowseRowDef("Music Playlists", musicPlaylistQuery, GENRE_ITEM_LIMIT, false, true), rowLoader)
 					.addToRowsAdapter(context, noInfoCardPresenter, rowsAdapter)
 			}
 		}
@@ -332,7 +330,7 @@ class GenreManager(
 			recursive = true,
 			imageTypeLimit = 1,
 			enableTotalRecordCount = false,
-			fields = ItemRepository.itemFields,
+			fields = ItemRepository.cardFields,
 			enableImages = true
 		)
 
@@ -371,7 +369,7 @@ class GenreManager(
 				)
 
 				// Add the row to the adapter
-				HomeFragmentBrowseRowDefRow(rowDef).addToRowsAdapter(context, collectionsCardPresenter, rowsAdapter)
+				HomeFragmentBrowseRowDefRow(rowDef, rowLoader).addToRowsAdapter(context, collectionsCardPresenter, rowsAdapter)
 			}
 		}
 	}
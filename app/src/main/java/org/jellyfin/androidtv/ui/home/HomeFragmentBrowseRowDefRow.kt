@@ -16,7 +16,8 @@ import org.koin.core.component.KoinComponent
 import org.koin.core.component.inject
 
 class HomeFragmentBrowseRowDefRow(
-	private val browseRowDef: BrowseRowDef
+	private val browseRowDef: BrowseRowDef,
+	private val rowLoader: HomeRowLoader? = null,
 ) : HomeFragmentRow, KoinComponent {
 	private val userPreferences by inject<UserPreferences>()
 
@@ -42,9 +43,44 @@ class HomeFragmentBrowseRowDefRow(
 		rowAdapter.setReRetrieveTriggers(browseRowDef.changeTriggers)
 		val row = ListRow(header, rowAdapter)
 		rowAdapter.setRow(row)
+
+		// Let the loader retrieve and insert the row when available
+		if (rowLoader != null) {
+			rowLoader.enqueue(row, rowAdapter, browseRowDef.cacheKey)
+			return
+		}
+
 		Timber.d("Retrieving row adapter: $rowAdapter")
 		rowAdapter.Retrieve()
 		Timber.d("Adding row to adapter: $row")
 		rowsAdapter.add(row)
 	}
 }
+
+/**
+ * Identifies the row in the home row cache by what it shows instead of its header, which changes with the language.
+ */
+private val BrowseRowDef.cacheKey: String
+	get() = buildList<Any?> {
+		add(queryType)
+		when (queryType) {
+			QueryType.NextUp -> add(nextUpQuery?.parentId)
+			QueryType.LatestItems -> add(latestItemsQuery?.parentId)
+			QueryType.Resume -> {
+				add(resumeQuery?.parentId)
+				add(resumeQuery?.mediaTypes?.joinToString(","))
+			}
+
+			QueryType.Views,
+			QueryType.LiveTvChannel,
+			QueryType.LiveTvProgram,
+			QueryType.LiveTvRecording -> Unit
+
+			else -> {
+				add(query?.parentId)
+				add(query?.genres?.joinToString(","))
+				add(query?.includeItemTypes?.joinToString(","))
+				add(query?.mediaTypes?.joinToString(","))
+			}
+		}
+	}.joinToString(":") { it?.toString().orEmpty() }
@@ -28,7 +28,8 @@ import org.jellyfin.androidtv.ui.home.HomeFragmentMusicVideosRow
 class HomeFragmentHelper(
     private val context: Context,
     private val userRepository: UserRepository,
-    private val userPreferences: UserPreferences
+    private val userPreferences: UserPreferences,
+    private val rowLoader: HomeRowLoader? = null,
 ) {
     companion object {
         private const val ITEM_LIMIT = 40
@@ -46,20 +47,20 @@ class HomeFragmentHelper(
             mediaTypes = setOf(MediaType.AUDIO),
             sortBy = setOf(ItemSortBy.SORT_NAME),
             limit = ITEM_LIMIT,
-            fields = ItemRepository.itemFields,
+            fields = ItemRepository.cardFields,
             recursive = true,
             excludeItemTypes = setOf(BaseItemKind.MOVIE, BaseItemKind.SERIES, BaseItemKind.EPISODE)
         )
-        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_music_playlists), musicPlaylistQuery, 50))
+        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_music_playlists), musicPlaylistQuery, 50), rowLoader)
     }
 
     fun loadMusicVideosRow(): HomeFragmentRow {
-        return HomeFragmentMusicVideosRow(userRepository)
+        return HomeFragmentMusicVideosRow(userRepository, rowLoader)
     }
 
 
     fun loadRecentlyAdded(userViews: Collection<org.jellyfin.sdk.model.api.BaseItemDto>): HomeFragmentRow {
-        return HomeFragmentLatestRow(userRepository, userViews)
+        return HomeFragmentLatestRow(userRepository, userViews, rowLoader)
     }
 
     fun loadResumeVideo(): HomeFragmentRow {
@@ -72,12 +73,12 @@ class HomeFragmentHelper(
 
     fun loadLatestLiveTvRecordings(): HomeFragmentRow {
         val query = GetRecordingsRequest(
-            fields = ItemRepository.itemFields,
+            fields = ItemRepository.guideFields,
             enableImages = true,
             limit = ITEM_LIMIT_RECORDINGS
         )
 
-        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_recordings), query))
+        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_recordings), query), rowLoader)
     }
 
     fun loadNextUp(): HomeFragmentRow {
@@ -85,7 +86,7 @@ class HomeFragmentHelper(
             imageTypeLimit = 1,
             limit = ITEM_LIMIT_NEXT_UP,
             enableResumable = false,
-            fields = ItemRepository.itemFields
+            fields = ItemRepository.cardFields
         )
 
         // Check if series thumbnails are enabled
@@ -123,7 +124,7 @@ class HomeFragmentHelper(
                     context.getString(R.string.lbl_next_up),
                     query,
                     arrayOf(ChangeTriggerType.TvPlayback)
-                )).addToRowsAdapter(context, customCardPresenter, rowsAdapter)
+                ), rowLoader).addToRowsAdapter(context, customCardPresenter, rowsAdapter)
             }
         }
     }
@@ -131,19 +132,19 @@ class HomeFragmentHelper(
     fun loadOnNow(): HomeFragmentRow {
         val query = GetRecommendedProgramsRequest(
             isAiring = true,
-            fields = ItemRepository.itemFields,
+            fields = ItemRepository.guideFields,
             imageTypeLimit = 1,
             enableTotalRecordCount = false,
             limit = ITEM_LIMIT_ON_NOW
         )
 
-        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_on_now), query))
+        return HomeFragmentBrowseRowDefRow(BrowseRowDef(context.getString(R.string.lbl_on_now), query), rowLoader)
     }
 
     private fun loadResume(title: String, includeMediaTypes: Collection<MediaType>): HomeFragmentRow {
         val query = GetResumeItemsRequest(
             limit = ITEM_LIMIT_RESUME,
-            fields = ItemRepository.itemFields,
+            fields = ItemRepository.cardFields,
             imageTypeLimit = 1,
             enableTotalRecordCount = false,
             mediaTypes = includeMediaTypes.toList(),
@@ -187,7 +188,7 @@ class HomeFragmentHelper(
                     useSeriesThumbnails,
                     true,
                     arrayOf(ChangeTriggerType.TvPlayback, ChangeTriggerType.MoviePlayback)
-                )).addToRowsAdapter(context, continueWatchingPresenter, rowsAdapter)
+                ), rowLoader).addToRowsAdapter(context, continueWatchingPresenter, rowsAdapter)
             }
         }
     }
@@ -17,6 +17,7 @@ import org.jellyfin.sdk.model.api.request.GetLatestMediaRequest
 class HomeFragmentLatestRow(
 	private val userRepository: UserRepository,
 	private val userViews: Collection<BaseItemDto>,
+	private val rowLoader: HomeRowLoader? = null,
 ) : HomeFragmentRow {
 	@SuppressLint("StringFormatInvalid")
 	override fun addToRowsAdapter(context: Context, cardPresenter: CardPresenter, rowsAdapter: MutableObjectAdapter<Row>) {
@@ -36,7 +37,7 @@ class HomeFragmentLatestRow(
 			.map { item ->
 				// Create query and add it to a new row
 				val request = GetLatestMediaRequest(
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.cardFields,
 					imageTypeLimit = 1,
 					parentId = item.id,
 					groupItems = true,
@@ -49,7 +50,7 @@ class HomeFragmentLatestRow(
 					// Format the string with the library name
 					context.resources.getString(R.string.lbl_latest_in, item.name)
 				}
-				HomeFragmentBrowseRowDefRow(BrowseRowDef(title, request, arrayOf(ChangeTriggerType.LibraryUpdated)))
+				HomeFragmentBrowseRowDefRow(BrowseRowDef(title, request, arrayOf(ChangeTriggerType.LibraryUpdated)), rowLoader)
 			}.forEach { row ->
 				// Add row to adapter with the no-info card presenter
 				row.addToRowsAdapter(context, noInfoCardPresenter, rowsAdapter)
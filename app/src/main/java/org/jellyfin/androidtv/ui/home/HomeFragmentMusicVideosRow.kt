@@ -17,7 +17,8 @@ import org.jellyfin.sdk.model.api.ItemSortBy
 import org.jellyfin.sdk.model.api.request.GetItemsRequest
 
 class HomeFragmentMusicVideosRow(
-    private val userRepository: UserRepository
+    private val userRepository: UserRepository,
+    private val rowLoader: HomeRowLoader? = null,
 ) : HomeFragmentRow {
     override fun addToRowsAdapter(context: Context, cardPresenter: CardPresenter, rowsAdapter: MutableObjectAdapter<Row>) {
         val currentUserId = userRepository.currentUser.value?.id ?: return
@@ -32,7 +33,7 @@ class HomeFragmentMusicVideosRow(
             recursive = true,
             imageTypeLimit = 1,
             enableTotalRecordCount = false,
-            fields = ItemRepository.itemFields,
+            fields = ItemRepository.cardFields,
             enableImages = true
         )
 
@@ -66,6 +67,6 @@ class HomeFragmentMusicVideosRow(
         )
 
         // Add the row to the adapter
-        HomeFragmentBrowseRowDefRow(rowDef).addToRowsAdapter(context, musicVideoCardPresenter, rowsAdapter)
+        HomeFragmentBrowseRowDefRow(rowDef, rowLoader).addToRowsAdapter(context, musicVideoCardPresenter, rowsAdapter)
     }
 }
@@ -0,0 +1,198 @@
+package org.jellyfin.androidtv.ui.home
+
+import androidx.leanback.widget.ListRow
+import androidx.leanback.widget.Row
+import kotlinx.coroutines.CancellableContinuation
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.jellyfin.androidtv.data.model.DataRefreshService
+import org.jellyfin.androidtv.data.repository.HomeRowCacheRepository
+import org.jellyfin.androidtv.data.repository.HomeRowSnapshot
+import org.jellyfin.androidtv.ui.itemhandling.BaseRowItem
+import org.jellyfin.androidtv.ui.itemhandling.ItemRowAdapter
+import org.jellyfin.androidtv.ui.itemhandling.setCachedItems
+import org.jellyfin.androidtv.ui.presentation.MutableObjectAdapter
+import org.jellyfin.androidtv.util.apiclient.EmptyResponse
+import timber.log.Timber
+import kotlin.coroutines.resume
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Loads the item rows of the home screen with a bounded amount of concurrent requests.
+ *
+ * Rows are retrieved in the order they are enqueued, which is the configured order of the home screen, so the rows at
+ * the top of the screen get their requests out first. A row is only inserted into the [rowsAdapter] once its items are
+ * available and is placed at the position matching its configured order. Rows that finish early never move rows that
+ * are already visible and rows without items are never shown at all.
+ *
+ * When a snapshot of a row is available in the [cache] the row is shown immediately using the snapshot and only
+ * retrieved again when the snapshot is outdated, based on its age and the timestamps in the [dataRefreshService].
+ *
+ * All functions must be called from the main thread.
+ */
+class HomeRowLoader(
+	private val scope: CoroutineScope,
+	private val rowsAdapter: MutableObjectAdapter<Row>,
+	private val cache: HomeRowCacheRepository,
+	private val dataRefreshService: DataRefreshService,
+	maxConcurrentRequests: Int = MAX_CONCURRENT_REQUESTS,
+) {
+	companion object {
+		private const val MAX_CONCURRENT_REQUESTS = 4
+		private val MAX_SNAPSHOT_AGE = 2.minutes
+
+		// Rows are enqueued in batches while the home screen is built, wait a moment for more before logging the summary
+		private val SUMMARY_DELAY = 1.seconds
+	}
+
+	private class Slot(
+		val name: String?,
+		val cacheKey: String?,
+		val row: ListRow,
+		val rowAdapter: ItemRowAdapter,
+		// The row that was last in the rows adapter when this slot was enqueued
+		val anchor: Row?,
+		val enqueuedAt: Long,
+	) {
+		var continuation: CancellableContinuation<Boolean>? = null
+	}
+
+	private val semaphore = Semaphore(maxConcurrentRequests)
+	private val slots = mutableListOf<Slot>()
+	private val startTime = System.currentTimeMillis()
+	private var pending = 0
+	private var firstRowTime: Long? = null
+	private var summaryJob: Job? = null
+	private var summaryLogged = false
+
+	/**
+	 * Enqueue a row for retrieval. The row will be added to the rows adapter when a retrieval finishes with at least one
+	 * item, or directly when a snapshot for [cacheKey] is available.
+	 */
+	fun enqueue(row: ListRow, rowAdapter: ItemRowAdapter, cacheKey: String? = null) {
+		val slot = Slot(
+			name = row.headerItem?.name,
+			cacheKey = cacheKey,
+			row = row,
+			rowAdapter = rowAdapter,
+			anchor = rowsAdapter.lastOrNull(),
+			enqueuedAt = System.currentTimeMillis(),
+		)
+		slots.add(slot)
+		pending++
+		summaryJob?.cancel()
+
+		// Keep the snapshot up-to-date with every retrieval, including later refreshes of the row
+		rowAdapter.setRetrieveFinishedListener(object : EmptyResponse() {
+			override fun onResponse() {
+				saveSnapshot(slot)
+				// Rows without items at first are added once a later retrieval has items
+				if (slot.rowAdapter.size() > 0 && rowsAdapter.indexOf(slot.row) == -1) insert(slot)
+				resume(slot)
+			}
+
+			override fun onError(exception: Exception) = resume(slot)
+		})
+
+		val snapshot = cacheKey?.let(cache::get)
+		if (snapshot != null && snapshot.items.isNotEmpty()) {
+			rowAdapter.setCachedItems(snapshot.items, snapshot.savedAtInstant)
+			insert(slot)
+		}
+
+		scope.launch {
+			try {
+				val outdated = snapshot == null || isOutdated(snapshot)
+				semaphore.withPermit {
+					retrieve(slot) {
+						if (outdated) {
+							slot.rowAdapter.Retrieve()
+							true
+						} else {
+							// Snapshot is recent, only retrieve when a change trigger of the row fired since
+							slot.rowAdapter.ReRetrieveIfNeeded()
+						}
+					}
+				}
+			} finally {
+				pending--
+				if (pending == 0) scheduleSummary()
+			}
+		}
+	}
+
+	private fun scheduleSummary() {
+		if (summaryLogged) return
+
+		val duration = System.currentTimeMillis() - startTime
+		summaryJob = scope.launch {
+			delay(SUMMARY_DELAY)
+			summaryLogged = true
+			Timber.i("Loaded ${slots.size} home rows in ${duration}ms, first row visible after ${firstRowTime}ms")
+		}
+	}
+
+	private fun isOutdated(snapshot: HomeRowSnapshot): Boolean {
+		val age = System.currentTimeMillis() - snapshot.savedAt
+		if (age > MAX_SNAPSHOT_AGE.inWholeMilliseconds) return true
+
+		// Changes to user data (played state, favorites) affect all rows
+		val lastUserDataChange = dataRefreshService.lastUserDataChange
+		return lastUserDataChange != null && snapshot.savedAtInstant.isBefore(lastUserDataChange)
+	}
+
+	/**
+	 * Run [start] and suspend until the row adapter finished retrieving. [start] returns false when no retrieval was
+	 * started.
+	 */
+	private suspend fun retrieve(slot: Slot, start: () -> Boolean) {
+		val retrieveStart = System.currentTimeMillis()
+
+		val started = suspendCancellableCoroutine { continuation ->
+			slot.continuation = continuation
+			if (!start()) {
+				slot.continuation = null
+				continuation.resume(false)
+			}
+		}
+
+		if (!started) {
+			Timber.d("Home row \"${slot.name}\" is up-to-date, using snapshot")
+			return
+		}
+
+		val now = System.currentTimeMillis()
+		Timber.d("Home row \"${slot.name}\" retrieved ${slot.rowAdapter.size()} items in ${now - retrieveStart}ms (queued for ${retrieveStart - slot.enqueuedAt}ms)")
+	}
+
+	private fun resume(slot: Slot) {
+		val continuation = slot.continuation ?: return
+		slot.continuation = null
+		if (continuation.isActive) continuation.resume(true)
+	}
+
+	private fun saveSnapshot(slot: Slot) {
+		val cacheKey = slot.cacheKey ?: return
+		val items = slot.rowAdapter.mapNotNull { (it as? BaseRowItem)?.baseItem }
+		cache.put(cacheKey, items)
+	}
+
+	private fun insert(slot: Slot) {
+		// Rows of earlier slots and the rows that were present before them must stay above this row
+		var index = -1
+		for (other in slots) {
+			if (other.anchor != null) index = maxOf(index, rowsAdapter.indexOf(other.anchor))
+			if (other === slot) break
+			index = maxOf(index, rowsAdapter.indexOf(other.row))
+		}
+
+		rowsAdapter.add(index + 1, slot.row)
+		if (firstRowTime == null) firstRowTime = System.currentTimeMillis() - startTime
+	}
+}
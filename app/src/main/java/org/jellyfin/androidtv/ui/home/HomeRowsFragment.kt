@@ -37,6 +37,7 @@ import org.jellyfin.androidtv.constant.CustomMessage
 import org.jellyfin.androidtv.constant.HomeSectionType
 import org.jellyfin.androidtv.data.model.DataRefreshService
 import org.jellyfin.androidtv.data.repository.CustomMessageRepository
+import org.jellyfin.androidtv.data.repository.HomeRowCacheRepository
 import org.jellyfin.androidtv.data.repository.NotificationsRepository
 import org.jellyfin.androidtv.data.repository.UserViewsRepository
 import org.jellyfin.androidtv.data.service.BackgroundService
@@ -74,12 +75,15 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
 	private val userViewsRepository by inject<UserViewsRepository>()
 	private val dataRefreshService by inject<DataRefreshService>()
 	private val customMessageRepository by inject<CustomMessageRepository>()
+	private val homeRowCacheRepository by inject<HomeRowCacheRepository>()
 	private val navigationRepository by inject<NavigationRepository>()
 	private val itemLauncher by inject<ItemLauncher>()
 	private val keyProcessor by inject<KeyProcessor>()
 
 	private val userPreferences by inject<UserPreferences>()
-	private val helper by lazy { HomeFragmentHelper(requireContext(), userRepository, userPreferences) }
+	private val helper by lazy { HomeFragmentHelper(requireContext(), userRepository, userPreferences, rowLoader) }
+	private lateinit var rowLoader: HomeRowLoader
+	private lateinit var rowsUpdater: HomeRowsUpdater
 
 	// Data
 	private var currentItem: BaseRowItem? = null
@@ -100,13 +104,19 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
 		}
 
 		// Set the adapter with our custom row presenter
-		adapter = MutableObjectAdapter<Row>(rowPresenter)
+		val rowsAdapter = MutableObjectAdapter<Row>(rowPresenter)
+		adapter = rowsAdapter
+		rowLoader = HomeRowLoader(lifecycleScope, rowsAdapter, homeRowCacheRepository, dataRefreshService)
+		rowsUpdater = HomeRowsUpdater(api, this, rowsAdapter)
 
 		lifecycleScope.launch(Dispatchers.IO) {
 			val currentUser = withTimeout(30.seconds) {
 				userRepository.currentUser.filterNotNull().first()
 			}
 
+			// Read the row snapshots so rows can be shown before they are retrieved
+			homeRowCacheRepository.load()
+
 			// Start out with default sections
 			val homesections = listOf(
     userSettingPreferences.get(userSettingPreferences.homesection0),
@@ -185,7 +195,7 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
                     }
                 }
 				// Load genre rows using New GenreManager
-				val genreManager = GenreManager(requireContext(), userRepository, userPreferences, userSettingPreferences)
+				val genreManager = GenreManager(requireContext(), userRepository, userPreferences, userSettingPreferences, rowLoader)
 				if (genreManager.hasEnabledGenres()) {
 					genreManager.loadGenreRows(cardPresenter, rowsAdapter)
 				} else {
@@ -217,11 +227,11 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
 		lifecycleScope.launch {
 			lifecycle.repeatOnLifecycle(Lifecycle.State.RESUMED) {
 				api.webSocket.subscribe<UserDataChangedMessage>()
-					.onEach { refreshRows(force = true, delayed = false) }
+					.onEach { message -> message.data?.let(rowsUpdater::onUserDataChanged) }
 					.launchIn(this)
 
 				api.webSocket.subscribe<LibraryChangedMessage>()
-					.onEach { refreshRows(force = true, delayed = false) }
+					.onEach { message -> message.data?.let(rowsUpdater::onLibraryChanged) }
 					.launchIn(this)
 			}
 		}
@@ -270,9 +280,9 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
 }
 	}
 
-	private fun refreshRows(force: Boolean = false, delayed: Boolean = true) {
+	private fun refreshRows() {
 		lifecycleScope.launch(Dispatchers.Main) {
-			if (delayed) delay(1.5.seconds)
+			delay(1.5.seconds)
 
 			try {
 				val size = adapter.size()
@@ -280,15 +290,8 @@ class HomeRowsFragment : RowsSupportFragment(), AudioEventListener, View.OnKeyLi
 					val row = adapter[i] as? ListRow ?: return@repeat
 					val rowAdapter = row.adapter as? ItemRowAdapter ?: return@repeat
 
-					// small delay between row refreshes to prevent UI freezing
-					if (i > 0) delay(90)
-
 					try {
-						if (force) {
-							rowAdapter.Retrieve()
-						} else {
-							rowAdapter.ReRetrieveIfNeeded()
-						}
+						rowAdapter.ReRetrieveIfNeeded()
 					} catch (e: Exception) {
 						Timber.e(e, "Error refreshing row at position $i")
 					}
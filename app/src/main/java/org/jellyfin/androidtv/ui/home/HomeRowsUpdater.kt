@@ -0,0 +1,91 @@
+package org.jellyfin.androidtv.ui.home
+
+import androidx.leanback.widget.ListRow
+import androidx.leanback.widget.Row
+import androidx.lifecycle.LifecycleOwner
+import org.jellyfin.androidtv.constant.ChangeTriggerType
+import org.jellyfin.androidtv.constant.QueryType
+import org.jellyfin.androidtv.ui.itemhandling.BaseRowItem
+import org.jellyfin.androidtv.ui.itemhandling.ItemRowAdapter
+import org.jellyfin.androidtv.ui.itemhandling.PlaceholderBaseRowItem
+import org.jellyfin.androidtv.ui.itemhandling.refreshItem
+import org.jellyfin.androidtv.ui.itemhandling.removeItems
+import org.jellyfin.androidtv.ui.itemhandling.updateItems
+import org.jellyfin.androidtv.ui.presentation.MutableObjectAdapter
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.model.api.LibraryUpdateInfo
+import org.jellyfin.sdk.model.api.UserDataChangeInfo
+import org.jellyfin.sdk.model.serializer.toUUIDOrNull
+import timber.log.Timber
+
+/**
+ * Applies changes received from the server to the rows of the home screen. Rows containing changed items are patched
+ * in place, only rows of which the membership could have changed are retrieved again.
+ */
+class HomeRowsUpdater(
+	private val api: ApiClient,
+	private val lifecycleOwner: LifecycleOwner,
+	private val rowsAdapter: MutableObjectAdapter<Row>,
+) {
+	private companion object {
+		// Rows where a change in user data (e.g. played state) can add or remove items
+		private val USER_DATA_QUERY_TYPES = setOf(QueryType.Resume, QueryType.NextUp)
+
+		// Rows where newly added items could show up
+		private val LIBRARY_QUERY_TYPES = setOf(QueryType.NextUp, QueryType.LatestItems)
+
+		// Retrieve the full row instead of refreshing the items one by one above this amount
+		private const val MAX_ITEM_REFRESHES = 5
+	}
+
+	private val itemRowAdapters
+		get() = rowsAdapter.mapNotNull { row -> (row as? ListRow)?.adapter as? ItemRowAdapter }
+
+	fun onUserDataChanged(info: UserDataChangeInfo) {
+		val userData = info.userDataList.associateBy { it.itemId }
+		if (userData.isEmpty()) return
+
+		for (rowAdapter in itemRowAdapters) {
+			if (rowAdapter.queryType in USER_DATA_QUERY_TYPES) {
+				Timber.d("Retrieving ${rowAdapter.queryType} row after user data change")
+				rowAdapter.Retrieve()
+				continue
+			}
+
+			val updated = rowAdapter.updateItems { item ->
+				userData[item.id]?.let { item.copy(userData = it) }
+			}
+			if (updated > 0) Timber.d("Updated user data of $updated items in ${rowAdapter.queryType} row")
+		}
+	}
+
+	fun onLibraryChanged(info: LibraryUpdateInfo) {
+		val removedIds = info.itemsRemoved.mapNotNull { it.toUUIDOrNull() }.toSet()
+		val updatedIds = info.itemsUpdated.mapNotNull { it.toUUIDOrNull() }.toSet()
+		val itemsAdded = info.itemsAdded.isNotEmpty()
+
+		for (rowAdapter in itemRowAdapters) {
+			if (itemsAdded && rowAdapter.couldContainAddedItems()) {
+				Timber.d("Retrieving ${rowAdapter.queryType} row after library change")
+				rowAdapter.Retrieve()
+				continue
+			}
+
+			if (removedIds.isNotEmpty() && rowAdapter.removeItems(removedIds) > 0 && rowAdapter.size() == 0) {
+				// Let the adapter remove the row when it's really empty
+				rowAdapter.Retrieve()
+				continue
+			}
+
+			if (updatedIds.isEmpty()) continue
+			// Evicted items are skipped, they are retrieved again with their current data once they are shown
+			val updatedItems = rowAdapter.filterIsInstance<BaseRowItem>()
+				.filter { it !is PlaceholderBaseRowItem && it.baseItem?.id in updatedIds }
+			if (updatedItems.size > MAX_ITEM_REFRESHES) rowAdapter.Retrieve()
+			else updatedItems.forEach { item -> rowAdapter.refreshItem(api, lifecycleOwner, item) }
+		}
+	}
+
+	private fun ItemRowAdapter.couldContainAddedItems() = queryType in LIBRARY_QUERY_TYPES ||
+		reRetrieveTriggers?.contains(ChangeTriggerType.LibraryUpdated) == true
+}
@@ -253,7 +253,7 @@ public class FullDetailsFragment extends Fragment implements RecordingIndicatorV
                         dataRefreshService.getValue().setLastPlayedItem(null); //blank this out so a detail screen we back up to doesn't also do this
                     } else {
                         Timber.d("Updating info after playback");
-                        FullDetailsFragmentHelperKt.getItem(FullDetailsFragment.this, mBaseItem.getId(), item -> {
+                        FullDetailsFragmentHelperKt.refreshItem(FullDetailsFragment.this, mBaseItem.getId(), item -> {
                             if (item == null) return null;
 
                             mBaseItem = item;
@@ -791,6 +791,10 @@ public class FullDetailsFragment extends Fragment implements RecordingIndicatorV
         });
 
         if (BaseItemExtensionsKt.canPlay(baseItem)) {
+            View.OnFocusChangeListener prefetchPlaybackInfoListener = (v, hasFocus) -> {
+                if (hasFocus) FullDetailsFragmentHelperKt.prefetchPlaybackInfo(FullDetailsFragment.this, mBaseItem);
+            };
+            mResumeButton.setOnFocusChangeListener(prefetchPlaybackInfoListener);
             mDetailsOverviewRow.addAction(mResumeButton);
             boolean resumeButtonVisible = (baseItem.getType() == BaseItemKind.SERIES && !mBaseItem.getUserData().getPlayed()) || (JavaCompat.getCanResume(mBaseItem));
             mResumeButton.setVisibility(resumeButtonVisible ? View.VISIBLE : View.GONE);
@@ -802,6 +806,7 @@ public class FullDetailsFragment extends Fragment implements RecordingIndicatorV
                 }
             });
 
+            playButton.setOnFocusChangeListener(prefetchPlaybackInfoListener);
             mDetailsOverviewRow.addAction(playButton);
 
             // Add External Player button
@@ -10,6 +10,7 @@ import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.jellyfin.androidtv.R
 import org.jellyfin.androidtv.data.model.DataRefreshService
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.data.repository.ItemMutationRepository
 import org.jellyfin.androidtv.data.repository.ItemRepository
 import org.jellyfin.androidtv.ui.navigation.Destinations
@@ -19,7 +20,9 @@ import org.jellyfin.androidtv.util.popupMenu
 import org.jellyfin.androidtv.util.sdk.TrailerUtils.getExternalTrailerIntent
 import org.jellyfin.androidtv.util.sdk.compat.canResume
 import org.jellyfin.androidtv.util.sdk.compat.copyWithUserData
+import org.jellyfin.androidtv.util.sdk.isLiveTv
 import org.jellyfin.androidtv.util.showIfNotEmpty
+import org.jellyfin.playback.jellyfin.mediastream.PlaybackInfoCache
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.exception.ApiClientException
 import org.jellyfin.sdk.api.client.extensions.itemsApi
@@ -199,13 +202,11 @@ fun FullDetailsFragment.playTrailers() {
 }
 
 fun FullDetailsFragment.getItem(id: UUID, callback: (item: BaseItemDto?) -> Unit) {
-	val api by inject<ApiClient>()
+	val itemCacheRepository by inject<ItemCacheRepository>()
 
 	lifecycleScope.launch {
 		val response = try {
-			withContext(Dispatchers.IO) {
-				api.userLibraryApi.getItem(id).content
-			}
+			itemCacheRepository.getItem(id)
 		} catch (err: ApiClientException) {
 			Timber.w(err, "Failed to get item $id")
 			null
@@ -215,6 +216,37 @@ fun FullDetailsFragment.getItem(id: UUID, callback: (item: BaseItemDto?) -> Unit
 	}
 }
 
+/**
+ * Get the item from the server even when it's cached, used when the item is known to have changed.
+ */
+fun FullDetailsFragment.refreshItem(id: UUID, callback: (item: BaseItemDto?) -> Unit) {
+	val itemCacheRepository by inject<ItemCacheRepository>()
+
+	lifecycleScope.launch {
+		val response = try {
+			itemCacheRepository.refreshItem(id)
+		} catch (err: ApiClientException) {
+			Timber.w(err, "Failed to refresh item $id")
+			null
+		}
+
+		callback(response)
+	}
+}
+
+/**
+ * Retrieve the playback info of [item] when its play button is focused, so starting playback doesn't need to wait for
+ * the server.
+ */
+fun FullDetailsFragment.prefetchPlaybackInfo(item: BaseItemDto) {
+	// Folders play their children and live TV opens a live stream when playing
+	if (item.isFolder == true || item.mediaType != MediaType.VIDEO) return
+	if (item.type == BaseItemKind.TV_CHANNEL || item.isLiveTv()) return
+
+	val playbackInfoCache by inject<PlaybackInfoCache>()
+	playbackInfoCache.prefetch(item.id)
+}
+
 fun FullDetailsFragment.populatePreviousButton() {
 	if (mBaseItem.type != BaseItemKind.EPISODE) return
 
@@ -258,7 +290,7 @@ fun FullDetailsFragment.resumePlayback() {
 					includeItemTypes = setOf(BaseItemKind.EPISODE),
 					recursive = true,
 					filters = setOf(ItemFilter.IS_UNPLAYED),
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.playbackFields,
 					sortBy = setOf(
 						ItemSortBy.PARENT_INDEX_NUMBER,
 						ItemSortBy.INDEX_NUMBER,
@@ -43,7 +43,7 @@ fun MusicFavoritesListFragment.getFavoritePlaylist(
 				filters = setOf(org.jellyfin.sdk.model.api.ItemFilter.IS_FAVORITE_OR_LIKES),
 				sortBy = setOf(ItemSortBy.RANDOM),
 				limit = 100,
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.playbackFields,
 			).content
 		}
 
@@ -63,7 +63,7 @@ fun ItemListFragment.getPlaylist(
 				item.type == BaseItemKind.PLAYLIST -> api.playlistsApi.getPlaylistItems(
 					playlistId = item.id,
 					limit = 150,
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.playbackFields,
 				).content
 
 				else -> api.itemsApi.getItems(
@@ -72,7 +72,7 @@ fun ItemListFragment.getPlaylist(
 					recursive = true,
 					sortBy = setOf(ItemSortBy.SORT_NAME),
 					limit = 200,
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.playbackFields,
 				).content
 			}
 		}
@@ -2,13 +2,10 @@ package org.jellyfin.androidtv.ui.itemhandling
 
 import androidx.lifecycle.ProcessLifecycleOwner
 import androidx.lifecycle.lifecycleScope
-import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.util.apiclient.Response
-import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.exception.ApiClientException
-import org.jellyfin.sdk.api.client.extensions.userLibraryApi
 import org.jellyfin.sdk.model.api.BaseItemDto
 import org.koin.java.KoinJavaComponent
 import java.util.UUID
@@ -17,12 +14,10 @@ object ItemLauncherHelper {
 	@JvmStatic
 	fun getItem(itemId: UUID, callback: Response<BaseItemDto>) {
 		ProcessLifecycleOwner.get().lifecycleScope.launch {
-			val api by KoinJavaComponent.inject<ApiClient>(ApiClient::class.java)
+			val itemCacheRepository by KoinJavaComponent.inject<ItemCacheRepository>(ItemCacheRepository::class.java)
 
 			try {
-				val response = withContext(Dispatchers.IO) {
-					api.userLibraryApi.getItem(itemId = itemId).content
-				}
+				val response = itemCacheRepository.getItem(itemId)
 				callback.onResponse(response)
 			} catch (error: ApiClientException) {
 				callback.onError(error)
@@ -93,6 +93,12 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
     private int itemsLoaded = 0;
     private int totalItems = 0;
     private boolean fullyLoaded = false;
+    private final PageReadAhead readAhead = new PageReadAhead();
+    private int lastSelectedPosition = -1;
+    private boolean retrievingNext = false;
+    private int retrieveNextStartIndex = 0;
+    private String mStartLetter;
+    private ItemRowWindow window;
 
     private final Object currentlyRetrievingSemaphore = new Object();
     private boolean currentlyRetrieving = false;
@@ -129,6 +135,33 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
         return queryType;
     }
 
+    /**
+     * The query used to retrieve items in pages, or null when the items are not retrieved in pages.
+     */
+    protected @Nullable Object getPagedQuery() {
+        if (chunkSize == 0) return null;
+
+        switch (queryType) {
+            case Items:
+                return mQuery;
+            case Artists:
+                return mArtistsQuery;
+            case AlbumArtists:
+                return mAlbumArtistsQuery;
+            case LiveTvChannel:
+                return mTvChannelQuery;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Only keep the pages near the selected position fully loaded, used for grids with a large amount of items.
+     */
+    public void setWindowed(boolean windowed) {
+        window = windowed ? new ItemRowWindow(this, api.getValue()) : null;
+    }
+
     public void setRow(ListRow row) {
         mRow = row;
     }
@@ -137,6 +170,14 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
         this.reRetrieveTriggers = reRetrieveTriggers;
     }
 
+    public ChangeTriggerType[] getReRetrieveTriggers() {
+        return reRetrieveTriggers;
+    }
+
+    public void setLastFullRetrieve(Instant lastFullRetrieve) {
+        this.lastFullRetrieve = lastFullRetrieve;
+    }
+
     public ItemRowAdapter(Context context, GetItemsRequest query, int chunkSize, boolean preferParentThumb, Presenter presenter, MutableObjectAdapter<Row> parent) {
         this(context, query, chunkSize, preferParentThumb, false, presenter, parent);
     }
@@ -392,6 +433,9 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
             }
             if (!ItemSortBy.SORT_NAME.equals(option.value)) {
                 setStartLetter(null);
+            } else if (mStartLetter != null) {
+                // The start position depends on the sort order
+                setStartLetter(mStartLetter);
             }
         }
     }
@@ -424,38 +468,25 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
     }
 
     public @Nullable String getStartLetter() {
-        switch (queryType) {
-            case Artists:
-                return mArtistsQuery != null ? mArtistsQuery.getNameStartsWith() : null;
-            case AlbumArtists:
-                return mAlbumArtistsQuery != null ? mAlbumArtistsQuery.getNameStartsWith() : null;
-            default:
-                return mQuery != null ? mQuery.getNameStartsWith() : null;
-        }
+        return mStartLetter;
     }
 
+    /**
+     * Start the items at the first item with a name starting with the given letter (or the last one when sorting in
+     * descending order) without retrieving any of the items before it. Use "#" or null to start at the beginning.
+     */
     public void setStartLetter(String value) {
+        mStartLetter = value != null && !value.equals("#") ? value : null;
+        boolean descending = sortOrder == SortOrder.DESCENDING;
         switch (queryType) {
             case Artists:
-                if (value != null && value.equals("#")) {
-                    mArtistsQuery = ItemRowAdapterHelperKt.setArtistsStartLetter(mArtistsQuery, null);
-                } else {
-                    mArtistsQuery = ItemRowAdapterHelperKt.setArtistsStartLetter(mArtistsQuery, value);
-                }
+                mArtistsQuery = ItemRowAdapterHelperKt.setArtistsStartLetter(mArtistsQuery, mStartLetter, descending);
                 break;
             case AlbumArtists:
-                if (value != null && value.equals("#")) {
-                    mAlbumArtistsQuery = ItemRowAdapterHelperKt.setAlbumArtistsStartLetter(mAlbumArtistsQuery, null);
-                } else {
-                    mAlbumArtistsQuery = ItemRowAdapterHelperKt.setAlbumArtistsStartLetter(mAlbumArtistsQuery, value);
-                }
+                mAlbumArtistsQuery = ItemRowAdapterHelperKt.setAlbumArtistsStartLetter(mAlbumArtistsQuery, mStartLetter, descending);
                 break;
             default:
-                if (value != null && value.equals("#")) {
-                    mQuery = ItemRowAdapterHelperKt.setItemsStartLetter(mQuery, null);
-                } else {
-                    mQuery = ItemRowAdapterHelperKt.setItemsStartLetter(mQuery, value);
-                }
+                mQuery = ItemRowAdapterHelperKt.setItemsStartLetter(mQuery, mStartLetter, descending);
                 break;
         }
     }
@@ -467,6 +498,9 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
             return;
         }
 
+        // Rows can be retrieved before they are added to the parent (e.g. by the HomeRowLoader)
+        if (mRow == null || mParent.indexOf(mRow) == -1) return;
+
         if (mParent.size() == 1) {
             // we will be removing the last row - show something and prevent the framework from crashing
             // because there is nowhere for focus to land
@@ -479,6 +513,11 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
     }
 
     public void loadMoreItemsIfNeeded(int pos) {
+        readAhead.onPositionSelected(pos);
+        lastSelectedPosition = pos;
+        if (window != null) window.onPositionSelected(pos, chunkSize);
+        ItemRowAdapterHelperKt.prefetchItem(this, pos);
+
         if (fullyLoaded) {
             //context.getLogger().Debug("Row is fully loaded");
             return;
@@ -487,11 +526,10 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
             Timber.d("Not loading more because currently retrieving");
             return;
         }
-        // This needs tobe based on the actual estimated cards on screen via type of presenter and WindowAlignmentOffsetPercent
         if (chunkSize > 0) {
-            // we can use chunkSize as indicator on when to load
-            if (pos >= (itemsLoaded - (chunkSize / 1.7))) {
-                Timber.d("Loading more items trigger pos <%s> itemsLoaded <%s> from total <%s> with chunkSize <%s>", pos, itemsLoaded, totalItems, chunkSize);
+            // keep one or two pages loaded ahead of the selection, depending on how fast it moves
+            if (pos >= itemsLoaded - readAhead.getItemsAhead(chunkSize)) {
+                Timber.d("Loading more items trigger pos <%s> itemsLoaded <%s> from total <%s> with chunkSize <%s> velocity <%.1f>", pos, itemsLoaded, totalItems, chunkSize, readAhead.getVelocity());
                 retrieveNext();
             }
         } else if (pos >= itemsLoaded - 20) {
@@ -505,41 +543,43 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
             return;
         }
 
+        int pageSize = readAhead.getPageSize(chunkSize);
+
         switch (queryType) {
             case LiveTvChannel:
                 if (mTvChannelQuery == null) {
                     return;
                 }
-                notifyRetrieveStarted();
+                notifyRetrieveNextStarted();
 
-                ItemRowAdapterHelperKt.retrieveLiveTvChannels(this, api.getValue(), mTvChannelQuery, itemsLoaded, chunkSize);
+                ItemRowAdapterHelperKt.retrieveLiveTvChannels(this, api.getValue(), mTvChannelQuery, itemsLoaded, pageSize);
                 break;
 
             case Artists:
                 if (mArtistsQuery == null) {
                     return;
                 }
-                notifyRetrieveStarted();
+                notifyRetrieveNextStarted();
 
-                ItemRowAdapterHelperKt.retrieveArtists(this, api.getValue(), mArtistsQuery, itemsLoaded, chunkSize);
+                ItemRowAdapterHelperKt.retrieveArtists(this, api.getValue(), mArtistsQuery, itemsLoaded, pageSize);
                 break;
 
             case AlbumArtists:
                 if (mAlbumArtistsQuery == null) {
                     return;
                 }
-                notifyRetrieveStarted();
+                notifyRetrieveNextStarted();
 
-                ItemRowAdapterHelperKt.retrieveAlbumArtists(this, api.getValue(), mAlbumArtistsQuery, itemsLoaded, chunkSize);
+                ItemRowAdapterHelperKt.retrieveAlbumArtists(this, api.getValue(), mAlbumArtistsQuery, itemsLoaded, pageSize);
                 break;
 
             default:
                 if (mQuery == null) {
                     return;
                 }
-                notifyRetrieveStarted();
+                notifyRetrieveNextStarted();
 
-                ItemRowAdapterHelperKt.retrieveItems(this, api.getValue(), mQuery, itemsLoaded, chunkSize);
+                ItemRowAdapterHelperKt.retrieveItems(this, api.getValue(), mQuery, itemsLoaded, pageSize);
                 break;
         }
     }
@@ -580,6 +620,10 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
         notifyRetrieveStarted();
         lastFullRetrieve = Instant.now();
         itemsLoaded = 0;
+        lastSelectedPosition = -1;
+        retrievingNext = false;
+        readAhead.reset();
+        if (window != null) window.reset();
         switch (queryType) {
             case Items:
                 if (mQuery.getStartIndex() != null && mQuery.getLimit() != null) {
@@ -737,11 +781,21 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
     protected void notifyRetrieveFinished(@Nullable Exception exception) {
         if (exception != null) Timber.w(exception, "Failed to retrieve items");
 
+        boolean wasRetrievingNext = retrievingNext;
+        retrievingNext = false;
+        if (wasRetrievingNext) readAhead.onPageLoaded();
+
         setCurrentlyRetrieving(false);
         if (mRetrieveFinishedListener != null) {
             if (exception == null) mRetrieveFinishedListener.onResponse();
             else mRetrieveFinishedListener.onError(exception);
         }
+
+        // Continue reading ahead until enough items are loaded after the selection
+        if (wasRetrievingNext && exception == null && itemsLoaded > retrieveNextStartIndex && lastSelectedPosition >= 0 && !fullyLoaded
+                && lastSelectedPosition >= itemsLoaded - readAhead.getItemsAhead(chunkSize)) {
+            retrieveNext();
+        }
     }
 
     public void setRetrieveFinishedListener(EmptyResponse response) {
@@ -751,4 +805,11 @@ public class ItemRowAdapter extends MutableObjectAdapter<Object> {
     private void notifyRetrieveStarted() {
         setCurrentlyRetrieving(true);
     }
+
+    private void notifyRetrieveNextStarted() {
+        notifyRetrieveStarted();
+        retrievingNext = true;
+        retrieveNextStartIndex = itemsLoaded;
+        readAhead.onPageRequested();
+    }
 }
@@ -4,15 +4,18 @@ import android.content.Context
 import androidx.lifecycle.LifecycleOwner
 import androidx.lifecycle.ProcessLifecycleOwner
 import androidx.lifecycle.lifecycleScope
-import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.withContext
 import org.jellyfin.androidtv.R
 import org.jellyfin.androidtv.constant.LiveTvOption
+import org.jellyfin.androidtv.constant.QueryType
+import org.jellyfin.androidtv.data.querying.ApiRequestQueue
 import org.jellyfin.androidtv.data.querying.GetAdditionalPartsRequest
 import org.jellyfin.androidtv.data.querying.GetSpecialsRequest
 import org.jellyfin.androidtv.data.querying.GetTrailersRequest
+import org.jellyfin.androidtv.data.querying.RequestPriority
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.data.repository.UserViewsRepository
+import org.jellyfin.androidtv.data.repository.fieldProfile
 import org.jellyfin.androidtv.ui.GridButton
 import org.jellyfin.androidtv.ui.browsing.BrowseGridFragment.SortOption
 import org.jellyfin.sdk.api.client.ApiClient
@@ -25,6 +28,9 @@ import org.jellyfin.sdk.api.client.extensions.tvShowsApi
 import org.jellyfin.sdk.api.client.extensions.userLibraryApi
 import org.jellyfin.sdk.api.client.extensions.userViewsApi
 import org.jellyfin.sdk.api.client.extensions.videosApi
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.BaseItemKind
+import org.jellyfin.sdk.model.api.ItemFields
 import org.jellyfin.sdk.model.api.ItemFilter
 import org.jellyfin.sdk.model.api.ItemSortBy
 import org.jellyfin.sdk.model.api.SeriesTimerInfoDto
@@ -40,15 +46,64 @@ import org.jellyfin.sdk.model.api.request.GetResumeItemsRequest
 import org.jellyfin.sdk.model.api.request.GetSeasonsRequest
 import org.jellyfin.sdk.model.api.request.GetSimilarItemsRequest
 import org.jellyfin.sdk.model.api.request.GetUpcomingEpisodesRequest
+import org.koin.java.KoinJavaComponent
 import timber.log.Timber
+import java.time.Instant
+import java.util.UUID
 import kotlin.math.min
 
+/**
+ * The fields to request for the items in this row.
+ */
+private val ItemRowAdapter.fieldProfile
+	get() = queryType.fieldProfile
+
+/**
+ * The fields of the row's field profile together with the [fields] its query requests itself.
+ */
+private fun ItemRowAdapter.getFields(fields: Collection<ItemFields>?) = fieldProfile.fields + fields.orEmpty()
+
+private val itemCacheRepository
+	get() = KoinJavaComponent.get<ItemCacheRepository>(ItemCacheRepository::class.java)
+
+/**
+ * Run a request for this row through the [ApiRequestQueue]. Requests with the same query type and [key] share their
+ * response while running, like when a row is retrieved again before the previous retrieval finished.
+ */
+private suspend fun <T> ItemRowAdapter.request(
+	vararg key: Any?,
+	priority: RequestPriority = RequestPriority.NORMAL,
+	block: suspend () -> T,
+): T = KoinJavaComponent.get<ApiRequestQueue>(ApiRequestQueue::class.java).request(
+	key = listOf(queryType, *key),
+	priority = priority,
+	block = block,
+)
+
 fun <T : Any> ItemRowAdapter.setItems(
 	items: Collection<T>,
+	cacheItems: Boolean = true,
 	transform: (T, Int) -> BaseRowItem?,
 ) {
 	Timber.d("Creating items from $itemsLoaded existing and ${items.size} new, adapter size is ${size()}")
 
+	// Share the retrieved items with other screens showing them
+	if (cacheItems) {
+		val baseItems = items.filterIsInstance<BaseItemDto>()
+		if (baseItems.isNotEmpty()) itemCacheRepository.putItems(baseItems, fieldProfile)
+	}
+
+	val mappedItems = items.mapIndexedNotNull { index, item ->
+		transform(item, itemsLoaded + index)
+	}
+
+	// Appending a page, only the new items need to be inserted
+	if (itemsLoaded == size()) {
+		addAll(mappedItems)
+		itemsLoaded += mappedItems.size
+		return
+	}
+
 	val allItems = buildList {
 		// Add current items before loaded items
 		repeat(itemsLoaded) {
@@ -56,10 +111,7 @@ fun <T : Any> ItemRowAdapter.setItems(
 		}
 
 		// Add loaded items
-		val mappedItems = items.mapIndexedNotNull { index, item ->
-			transform(item, itemsLoaded + index)
-		}
-		mappedItems.forEach { add(it) }
+		addAll(mappedItems)
 
 		// Add current items after loaded items
 		repeat(min(totalItems, size()) - itemsLoaded - mappedItems.size) {
@@ -67,26 +119,75 @@ fun <T : Any> ItemRowAdapter.setItems(
 		}
 	}
 
-	replaceAll(allItems)
+	// Diff by item id so only changed items are rebound
+	replaceAll(allItems, ::areItemsTheSame, ::areContentsTheSame)
 	itemsLoaded = allItems.size
 }
 
+private fun areItemsTheSame(old: Any, new: Any): Boolean {
+	if (old !is BaseRowItem || new !is BaseRowItem) return old == new
+	if (old.itemId == null) return old == new
+
+	return old.itemId == new.itemId && old.baseRowType == new.baseRowType
+}
+
+private fun areContentsTheSame(old: Any, new: Any): Boolean {
+	if (old === new) return true
+	if (old !is BaseRowItem || new !is BaseRowItem) return false
+	if (old.baseItem == null) return false
+
+	return old.baseItem == new.baseItem &&
+		old.preferParentThumb == new.preferParentThumb &&
+		old.staticHeight == new.staticHeight &&
+		old.selectAction == new.selectAction
+}
+
+/**
+ * Show previously retrieved items without querying the server. [retrievedAt] is used to decide when the row needs to
+ * be retrieved again in [ItemRowAdapter.ReRetrieveIfNeeded].
+ */
+fun ItemRowAdapter.setCachedItems(items: List<BaseItemDto>, retrievedAt: Instant) {
+	setLastFullRetrieve(retrievedAt)
+	itemsLoaded = 0
+
+	setItems(
+		items = items,
+		// Items from disk could be outdated
+		cacheItems = false,
+		transform = { item, _ -> createRowItem(item) }
+	)
+}
+
+/**
+ * Create the row item for an item retrieved by this row. Cached items use the same row items as retrieved items, so the
+ * row doesn't change when it's retrieved again.
+ */
+private fun ItemRowAdapter.createRowItem(item: BaseItemDto) = when (queryType) {
+	QueryType.LatestItems -> BaseItemDtoBaseRowItem(
+		item,
+		preferParentThumb,
+		isStaticHeight,
+		BaseRowItemSelectAction.ShowDetails,
+		preferParentThumb,
+	)
+
+	QueryType.LiveTvChannel,
+	QueryType.LiveTvProgram,
+	QueryType.LiveTvRecording -> BaseItemDtoBaseRowItem(item, false, isStaticHeight)
+
+	else -> BaseItemDtoBaseRowItem(item, preferParentThumb, isStaticHeight)
+}
+
 fun ItemRowAdapter.retrieveResumeItems(api: ApiClient, query: GetResumeItemsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.itemsApi.getResumeItems(query).content
+			val response = request(query) {
+				api.itemsApi.getResumeItems(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight
-					)
-				}
+				transform = { item, _ -> createRowItem(item) }
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -100,8 +201,8 @@ fun ItemRowAdapter.retrieveResumeItems(api: ApiClient, query: GetResumeItemsRequ
 fun ItemRowAdapter.retrieveNextUpItems(api: ApiClient, query: GetNextUpRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.tvShowsApi.getNextUp(query).content
+			val response = request(query) {
+				api.tvShowsApi.getNextUp(query.copy(fields = getFields(query.fields))).content
 			}
 
 			// Some special flavor for series, used in FullDetailsFragment
@@ -110,10 +211,11 @@ fun ItemRowAdapter.retrieveNextUpItems(api: ApiClient, query: GetNextUpRequest)
 				// If we have exactly 1 episode returned, the series is currently partially watched
 				// we want to query the server for all episodes in the same season starting from
 				// this one to create a list of all unwatched episodes
-				val episodesResponse = withContext(Dispatchers.IO) {
+				val episodesResponse = request(firstNextUp.seasonId, firstNextUp.indexNumber) {
 					api.itemsApi.getItems(
 						parentId = firstNextUp.seasonId,
 						startIndex = firstNextUp.indexNumber,
+						fields = fieldProfile.fields,
 					).content
 				}
 
@@ -138,13 +240,7 @@ fun ItemRowAdapter.retrieveNextUpItems(api: ApiClient, query: GetNextUpRequest)
 			} else {
 				setItems(
 					items = response.items,
-					transform = { item, _ ->
-						BaseItemDtoBaseRowItem(
-							item,
-							preferParentThumb,
-							isStaticHeight
-						)
-					}
+					transform = { item, _ -> createRowItem(item) }
 				)
 
 				if (response.items.isEmpty()) removeRow()
@@ -159,21 +255,13 @@ fun ItemRowAdapter.retrieveNextUpItems(api: ApiClient, query: GetNextUpRequest)
 fun ItemRowAdapter.retrieveLatestMedia(api: ApiClient, query: GetLatestMediaRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.userLibraryApi.getLatestMedia(query).content
+			val response = request(query) {
+				api.userLibraryApi.getLatestMedia(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
 				items = response,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight,
-						BaseRowItemSelectAction.ShowDetails,
-						preferParentThumb,
-					)
-				}
+				transform = { item, _ -> createRowItem(item) }
 			)
 
 			if (response.isEmpty()) removeRow()
@@ -187,7 +275,7 @@ fun ItemRowAdapter.retrieveLatestMedia(api: ApiClient, query: GetLatestMediaRequ
 fun ItemRowAdapter.retrieveSpecialFeatures(api: ApiClient, query: GetSpecialsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query) {
 				api.userLibraryApi.getSpecialFeatures(query.itemId).content
 			}
 
@@ -209,7 +297,7 @@ fun ItemRowAdapter.retrieveSpecialFeatures(api: ApiClient, query: GetSpecialsReq
 fun ItemRowAdapter.retrieveAdditionalParts(api: ApiClient, query: GetAdditionalPartsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query) {
 				api.videosApi.getAdditionalPart(query.itemId).content
 			}
 
@@ -229,7 +317,7 @@ fun ItemRowAdapter.retrieveAdditionalParts(api: ApiClient, query: GetAdditionalP
 fun ItemRowAdapter.retrieveUserViews(api: ApiClient, userViewsRepository: UserViewsRepository) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request {
 				api.userViewsApi.getUserViews().content
 			}
 
@@ -253,8 +341,8 @@ fun ItemRowAdapter.retrieveUserViews(api: ApiClient, userViewsRepository: UserVi
 fun ItemRowAdapter.retrieveSeasons(api: ApiClient, query: GetSeasonsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.tvShowsApi.getSeasons(query).content
+			val response = request(query) {
+				api.tvShowsApi.getSeasons(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
@@ -273,8 +361,8 @@ fun ItemRowAdapter.retrieveSeasons(api: ApiClient, query: GetSeasonsRequest) {
 fun ItemRowAdapter.retrieveUpcomingEpisodes(api: ApiClient, query: GetUpcomingEpisodesRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.tvShowsApi.getUpcomingEpisodes(query).content
+			val response = request(query) {
+				api.tvShowsApi.getUpcomingEpisodes(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
@@ -293,8 +381,8 @@ fun ItemRowAdapter.retrieveUpcomingEpisodes(api: ApiClient, query: GetUpcomingEp
 fun ItemRowAdapter.retrieveSimilarItems(api: ApiClient, query: GetSimilarItemsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.libraryApi.getSimilarItems(query).content
+			val response = request(query) {
+				api.libraryApi.getSimilarItems(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
@@ -313,7 +401,7 @@ fun ItemRowAdapter.retrieveSimilarItems(api: ApiClient, query: GetSimilarItemsRe
 fun ItemRowAdapter.retrieveTrailers(api: ApiClient, query: GetTrailersRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query) {
 				api.userLibraryApi.getLocalTrailers(itemId = query.itemId)
 			}.content
 
@@ -344,19 +432,13 @@ fun ItemRowAdapter.retrieveLiveTvRecommendedPrograms(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.liveTvApi.getRecommendedPrograms(query).content
+			val response = request(query) {
+				api.liveTvApi.getRecommendedPrograms(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						false,
-						isStaticHeight,
-					)
-				}
+				transform = { item, _ -> createRowItem(item) }
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -370,19 +452,13 @@ fun ItemRowAdapter.retrieveLiveTvRecommendedPrograms(
 fun ItemRowAdapter.retrieveLiveTvRecordings(api: ApiClient, query: GetRecordingsRequest) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.liveTvApi.getRecordings(query).content
+			val response = request(query) {
+				api.liveTvApi.getRecordings(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						false,
-						isStaticHeight,
-					)
-				}
+				transform = { item, _ -> createRowItem(item) }
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -400,7 +476,7 @@ fun ItemRowAdapter.retrieveLiveTvSeriesTimers(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request {
 				api.liveTvApi.getSeriesTimers().content
 			}
 
@@ -456,11 +532,12 @@ fun ItemRowAdapter.retrieveLiveTvChannels(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query, startIndex, batchSize) {
 				api.liveTvApi.getLiveTvChannels(
 					query.copy(
 						startIndex = startIndex,
 						limit = batchSize,
+						fields = getFields(query.fields),
 					)
 				).content
 			}
@@ -468,13 +545,7 @@ fun ItemRowAdapter.retrieveLiveTvChannels(
 			totalItems = response.totalRecordCount
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						false,
-						isStaticHeight,
-					)
-				},
+				transform = { item, _ -> createRowItem(item) },
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -493,11 +564,12 @@ fun ItemRowAdapter.retrieveAlbumArtists(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query, startIndex, batchSize) {
 				api.artistsApi.getAlbumArtists(
 					query.copy(
 						startIndex = startIndex,
 						limit = batchSize,
+						fields = getFields(query.fields),
 					)
 				).content
 			}
@@ -505,13 +577,7 @@ fun ItemRowAdapter.retrieveAlbumArtists(
 			totalItems = response.totalRecordCount
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight,
-					)
-				},
+				transform = { item, _ -> createRowItem(item) },
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -530,11 +596,12 @@ fun ItemRowAdapter.retrieveArtists(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query, startIndex, batchSize) {
 				api.artistsApi.getArtists(
 					query.copy(
 						startIndex = startIndex,
 						limit = batchSize,
+						fields = getFields(query.fields),
 					)
 				).content
 			}
@@ -542,13 +609,7 @@ fun ItemRowAdapter.retrieveArtists(
 			totalItems = response.totalRecordCount
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight,
-					)
-				},
+				transform = { item, _ -> createRowItem(item) },
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -567,11 +628,12 @@ fun ItemRowAdapter.retrieveItems(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
+			val response = request(query, startIndex, batchSize) {
 				api.itemsApi.getItems(
 					query.copy(
 						startIndex = startIndex,
 						limit = batchSize,
+						fields = getFields(query.fields),
 					)
 				).content
 			}
@@ -579,13 +641,7 @@ fun ItemRowAdapter.retrieveItems(
 			totalItems = response.totalRecordCount
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight,
-					)
-				},
+				transform = { item, _ -> createRowItem(item) },
 			)
 
 			if (itemsLoaded == 0) removeRow()
@@ -602,19 +658,13 @@ fun ItemRowAdapter.retrievePremieres(
 ) {
 	ProcessLifecycleOwner.get().lifecycleScope.launch {
 		runCatching {
-			val response = withContext(Dispatchers.IO) {
-				api.itemsApi.getItems(query).content
+			val response = request(query) {
+				api.itemsApi.getItems(query.copy(fields = getFields(query.fields))).content
 			}
 
 			setItems(
 				items = response.items,
-				transform = { item, _ ->
-					BaseItemDtoBaseRowItem(
-						item,
-						preferParentThumb,
-						isStaticHeight,
-					)
-				}
+				transform = { item, _ -> createRowItem(item) }
 			)
 
 			if (response.items.isEmpty()) removeRow()
@@ -625,6 +675,32 @@ fun ItemRowAdapter.retrievePremieres(
 	}
 }
 
+/**
+ * Whether [getPageItems] can retrieve arbitrary pages of this adapter.
+ */
+fun ItemRowAdapter.supportsPageRetrieval() = pagedQuery != null
+
+/**
+ * Retrieve [count] items starting at [startIndex] without modifying the adapter.
+ */
+suspend fun ItemRowAdapter.getPageItems(
+	api: ApiClient,
+	startIndex: Int,
+	count: Int,
+): List<BaseItemDto>? {
+	val query = pagedQuery ?: return null
+
+	return request(query, startIndex, count, priority = RequestPriority.LOW) {
+		when (query) {
+			is GetItemsRequest -> api.itemsApi.getItems(query.copy(startIndex = startIndex, limit = count, fields = getFields(query.fields))).content.items
+			is GetArtistsRequest -> api.artistsApi.getArtists(query.copy(startIndex = startIndex, limit = count, fields = getFields(query.fields))).content.items
+			is GetAlbumArtistsRequest -> api.artistsApi.getAlbumArtists(query.copy(startIndex = startIndex, limit = count, fields = getFields(query.fields))).content.items
+			is GetLiveTvChannelsRequest -> api.liveTvApi.getLiveTvChannels(query.copy(startIndex = startIndex, limit = count, fields = getFields(query.fields))).content.items
+			else -> null
+		}
+	}
+}
+
 // Request modifiers
 
 fun setAlbumArtistsSorting(
@@ -675,24 +751,43 @@ fun setItemsFilter(
 fun setAlbumArtistsStartLetter(
 	request: GetAlbumArtistsRequest,
 	startLetter: String?,
+	descending: Boolean = false,
 ) = request.copy(
-	nameStartsWith = startLetter,
+	nameStartsWith = null,
+	nameStartsWithOrGreater = startLetter?.let(::normalizeStartLetter)?.takeUnless { descending },
+	nameLessThan = startLetter?.let(::normalizeStartLetter)?.takeIf { descending }?.let(::getNextStartLetter),
 )
 
 fun setArtistsStartLetter(
 	request: GetArtistsRequest,
 	startLetter: String?,
+	descending: Boolean = false,
 ) = request.copy(
-	nameStartsWith = startLetter,
+	nameStartsWith = null,
+	nameStartsWithOrGreater = startLetter?.let(::normalizeStartLetter)?.takeUnless { descending },
+	nameLessThan = startLetter?.let(::normalizeStartLetter)?.takeIf { descending }?.let(::getNextStartLetter),
 )
 
 fun setItemsStartLetter(
 	request: GetItemsRequest,
 	startLetter: String?,
+	descending: Boolean = false,
 ) = request.copy(
-	nameStartsWith = startLetter,
+	nameStartsWith = null,
+	nameStartsWithOrGreater = startLetter?.let(::normalizeStartLetter)?.takeUnless { descending },
+	nameLessThan = startLetter?.let(::normalizeStartLetter)?.takeIf { descending }?.let(::getNextStartLetter),
 )
 
+/**
+ * Sort names are lowercase on the server, compare the start letter in the same case in both directions.
+ */
+private fun normalizeStartLetter(startLetter: String) = startLetter.lowercase()
+
+/**
+ * Get the first string sorting after all names starting with [startLetter].
+ */
+private fun getNextStartLetter(startLetter: String) = startLetter.dropLast(1) + (startLetter.last() + 1)
+
 /**
  * Updates the genres filter in a GetItemsRequest
  * @param request The original request
@@ -706,6 +801,68 @@ fun setItemsGenres(
     genres = genres?.toList()
 )
 
+/**
+ * Replace the item at [index] with [item], keeping the display options of the current row item.
+ */
+fun ItemRowAdapter.updateItem(index: Int, item: BaseItemDto) {
+	val currentBaseRowItem = get(index) as? BaseItemDtoBaseRowItem ?: return
+
+	set(
+		index = index,
+		element = BaseItemDtoBaseRowItem(
+			item = item,
+			preferParentThumb = currentBaseRowItem.preferParentThumb,
+			staticHeight = currentBaseRowItem.staticHeight,
+			selectAction = currentBaseRowItem.selectAction,
+			preferSeriesPoster = currentBaseRowItem.preferSeriesPoster
+		)
+	)
+}
+
+/**
+ * Update all items in this row for which [transform] returns a new item. Other items are left untouched.
+ *
+ * @return the amount of updated items
+ */
+fun ItemRowAdapter.updateItems(transform: (BaseItemDto) -> BaseItemDto?): Int {
+	var updated = 0
+	repeat(size()) { index ->
+		// Evicted items are retrieved again with their current data once they are shown
+		if (get(index) is PlaceholderBaseRowItem) return@repeat
+		val baseRowItem = get(index) as? BaseItemDtoBaseRowItem ?: return@repeat
+		if (baseRowItem is AudioQueueBaseRowItem) return@repeat
+		val baseItem = baseRowItem.baseItem ?: return@repeat
+
+		val newBaseItem = transform(baseItem) ?: return@repeat
+		updateItem(index, newBaseItem)
+		updated++
+	}
+	return updated
+}
+
+/**
+ * Remove all items with an id in [itemIds] from this row.
+ *
+ * @return the amount of removed items
+ */
+fun ItemRowAdapter.removeItems(itemIds: Set<UUID>): Int {
+	var removed = 0
+	for (index in size() - 1 downTo 0) {
+		val itemId = when (val rowItem = get(index)) {
+			// Evicted items don't have a base item but are removed as well
+			is PlaceholderBaseRowItem -> rowItem.itemId
+			is BaseRowItem -> rowItem.baseItem?.id
+			else -> null
+		} ?: continue
+		if (itemId !in itemIds) continue
+
+		removeAt(index)
+		removed++
+	}
+	itemsLoaded -= removed
+	return removed
+}
+
 @JvmOverloads
 fun ItemRowAdapter.refreshItem(
 	api: ApiClient,
@@ -718,25 +875,14 @@ fun ItemRowAdapter.refreshItem(
 
 	lifecycleOwner.lifecycleScope.launch {
 		runCatching {
-			withContext(Dispatchers.IO) {
-				api.userLibraryApi.getItem(itemId = currentBaseItem.id).content
-			}
+			itemCacheRepository.refreshItem(currentBaseItem.id)
 		}.fold(
 			onSuccess = { refreshedBaseItem ->
 				val index = indexOf(currentBaseRowItem)
 				// Item could be removed while API was loading, check if the index is valid first
 				if (index == -1) return@fold
 
-				set(
-					index = index,
-					element = BaseItemDtoBaseRowItem(
-						item = refreshedBaseItem,
-						preferParentThumb = currentBaseRowItem.preferParentThumb,
-						staticHeight = currentBaseRowItem.staticHeight,
-						selectAction = currentBaseRowItem.selectAction,
-						preferSeriesPoster = currentBaseRowItem.preferSeriesPoster
-					)
-				)
+				updateItem(index, refreshedBaseItem)
 			},
 			onFailure = { err ->
 				if (err is InvalidStatusException && err.status == 404) remove(currentBaseRowItem)
@@ -747,3 +893,22 @@ fun ItemRowAdapter.refreshItem(
 		callback()
 	}
 }
+
+/**
+ * Retrieve the full item at [position] in the background when it opens a detail screen, so the details show without
+ * waiting for the server.
+ */
+fun ItemRowAdapter.prefetchItem(position: Int) {
+	if (position !in 0 until size()) return
+
+	val rowItem = get(position) as? BaseItemDtoBaseRowItem ?: return
+	if (rowItem is AudioQueueBaseRowItem || rowItem.selectAction != BaseRowItemSelectAction.ShowDetails) return
+	val baseItem = rowItem.baseItem ?: return
+
+	val opensDetails = when (baseItem.type) {
+		BaseItemKind.SERIES, BaseItemKind.MUSIC_ARTIST -> true
+		BaseItemKind.AUDIO, BaseItemKind.PHOTO -> false
+		else -> baseItem.isFolder != true
+	}
+	if (opensDetails) itemCacheRepository.prefetchItem(baseItem.id)
+}
@@ -0,0 +1,201 @@
+package org.jellyfin.androidtv.ui.itemhandling
+
+import android.content.Context
+import androidx.lifecycle.ProcessLifecycleOwner
+import androidx.lifecycle.lifecycleScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.BaseItemDtoImageBlurHashes
+import org.jellyfin.sdk.model.api.BaseItemKind
+import org.jellyfin.sdk.model.api.ImageType
+import timber.log.Timber
+import java.util.TreeSet
+import java.util.UUID
+import kotlin.math.abs
+
+/**
+ * The part of an item that is kept when its page is evicted.
+ */
+data class ItemPlaceholder(
+	val id: UUID,
+	val name: String?,
+	val type: BaseItemKind,
+	val primaryImageTag: String?,
+	val primaryBlurHash: String?,
+) {
+	/**
+	 * Create a minimal item with only the properties of the placeholder.
+	 */
+	fun toBaseItem() = BaseItemDto(
+		id = id,
+		name = name,
+		type = type,
+		imageTags = primaryImageTag?.let { tag -> mapOf(ImageType.PRIMARY to tag) },
+		imageBlurHashes = if (primaryImageTag != null && primaryBlurHash != null) {
+			BaseItemDtoImageBlurHashes(primary = mapOf(primaryImageTag to primaryBlurHash))
+		} else null,
+	)
+}
+
+/**
+ * A row item for an item of which the details were dropped to save memory. Presenters use [toRowItem] to show it as a
+ * card with its name and primary image until its page is loaded again.
+ */
+class PlaceholderBaseRowItem(
+	val placeholder: ItemPlaceholder,
+	preferParentThumb: Boolean,
+	staticHeight: Boolean,
+	selectAction: BaseRowItemSelectAction,
+	val preferSeriesPoster: Boolean,
+) : BaseRowItem(
+	baseRowType = BaseRowType.BaseItem,
+	staticHeight = staticHeight,
+	preferParentThumb = preferParentThumb,
+	selectAction = selectAction,
+) {
+	override val itemId get() = placeholder.id
+
+	override fun getFullName(context: Context) = placeholder.name
+	override fun getName(context: Context) = placeholder.name
+
+	/**
+	 * Create the row item to show for this placeholder, using [item] when the full item is available.
+	 */
+	@JvmOverloads
+	fun toRowItem(item: BaseItemDto = placeholder.toBaseItem()) = BaseItemDtoBaseRowItem(
+		item,
+		preferParentThumb,
+		staticHeight,
+		selectAction,
+		preferSeriesPoster,
+	)
+}
+
+/**
+ * Keeps only the pages of a large [ItemRowAdapter] near the selected position fully loaded. Items in pages further
+ * away are replaced with a [PlaceholderBaseRowItem] and loaded again once the selection comes near them, so the memory
+ * used by the adapter stays about the same no matter how far the user scrolls.
+ */
+class ItemRowWindow(
+	private val adapter: ItemRowAdapter,
+	private val api: ApiClient,
+) {
+	private companion object {
+		// Pages next to the selected page that are loaded again when evicted
+		private const val MATERIALIZED_DISTANCE = 1
+
+		// Pages further away from the selected page than this are evicted
+		private const val EVICT_DISTANCE = 3
+	}
+
+	// Pages with fully loaded items, sorted so the pages outside of the window can be found without walking all pages
+	private val loadedPages = TreeSet<Int>()
+	private val loadingPages = mutableSetOf<Int>()
+	private var pageCount = 0
+	private var selectedPage = -1
+	private var generation = 0
+
+	/**
+	 * Forget all state, must be called when the items of the adapter are retrieved from the start.
+	 */
+	fun reset() {
+		loadedPages.clear()
+		loadingPages.clear()
+		pageCount = 0
+		selectedPage = -1
+		generation++
+	}
+
+	fun onPositionSelected(position: Int, pageSize: Int) {
+		if (position < 0 || pageSize <= 0 || !adapter.supportsPageRetrieval()) return
+
+		val page = position / pageSize
+		if (page == selectedPage) return
+		selectedPage = page
+
+		// Pages added by the adapter since the last selection are loaded
+		val newPageCount = (adapter.size() + pageSize - 1) / pageSize
+		for (added in pageCount until newPageCount) loadedPages.add(added)
+		pageCount = newPageCount
+
+		val evictPages = loadedPages.headSet(page - EVICT_DISTANCE) + loadedPages.tailSet(page + EVICT_DISTANCE, false)
+		for (other in evictPages) evict(other, pageSize)
+
+		for (other in maxOf(0, page - MATERIALIZED_DISTANCE)..minOf(pageCount - 1, page + MATERIALIZED_DISTANCE)) {
+			if (other !in loadedPages) materialize(other, pageSize)
+		}
+	}
+
+	private fun evict(page: Int, pageSize: Int) {
+		val range = getRange(page, pageSize)
+		val items = range.map { index ->
+			val item = requireNotNull(adapter.get(index))
+			if (item !is BaseItemDtoBaseRowItem) return@map item
+			val baseItem = item.baseItem ?: return@map item
+			val primaryImageTag = baseItem.imageTags?.get(ImageType.PRIMARY)
+
+			PlaceholderBaseRowItem(
+				ItemPlaceholder(
+					id = baseItem.id,
+					name = baseItem.name,
+					type = baseItem.type,
+					primaryImageTag = primaryImageTag,
+					primaryBlurHash = primaryImageTag?.let { baseItem.imageBlurHashes?.primary?.get(it) },
+				),
+				item.preferParentThumb,
+				item.staticHeight,
+				item.selectAction,
+				item.preferSeriesPoster,
+			)
+		}
+
+		adapter.setAll(range.first, items)
+		loadedPages.remove(page)
+	}
+
+	private fun materialize(page: Int, pageSize: Int) {
+		if (!loadingPages.add(page)) return
+
+		val currentGeneration = generation
+		val range = getRange(page, pageSize)
+		ProcessLifecycleOwner.get().lifecycleScope.launch {
+			val result = runCatching {
+				withContext(Dispatchers.IO) {
+					adapter.getPageItems(api, range.first, range.count())
+				}
+			}.onFailure { error ->
+				Timber.w(error, "Failed to load page $page")
+			}.getOrNull()
+
+			if (currentGeneration != generation) return@launch
+			loadingPages.remove(page)
+			// The selection moved away while loading
+			if (result == null || abs(page - selectedPage) > EVICT_DISTANCE) return@launch
+
+			// Match by id in case items were added or removed since the page was loaded
+			val itemsById = result.associateBy { it.id }
+			val currentRange = getRange(page, pageSize)
+			val items = currentRange.map { index ->
+				val item = requireNotNull(adapter.get(index))
+				if (item !is PlaceholderBaseRowItem) return@map item
+				val baseItem = itemsById[item.itemId] ?: return@map item
+
+				BaseItemDtoBaseRowItem(
+					baseItem,
+					item.preferParentThumb,
+					item.staticHeight,
+					item.selectAction,
+					item.preferSeriesPoster,
+				)
+			}
+
+			adapter.setAll(currentRange.first, items)
+			loadedPages.add(page)
+		}
+	}
+
+	private fun getRange(page: Int, pageSize: Int) = (page * pageSize) until minOf((page + 1) * pageSize, adapter.size())
+}
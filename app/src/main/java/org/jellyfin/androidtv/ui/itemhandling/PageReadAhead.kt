@@ -0,0 +1,103 @@
+package org.jellyfin.androidtv.ui.itemhandling
+
+import android.os.SystemClock
+import kotlin.math.abs
+import kotlin.math.roundToInt
+
+/**
+ * Decides how many items an [ItemRowAdapter] should request per page and how far ahead of the selected position pages
+ * are loaded. Both grow when the selection moves quickly compared to the time it takes the server to return a page, so
+ * fast scrolling through large libraries doesn't stall at page boundaries.
+ */
+class PageReadAhead(
+	private val clock: () -> Long = SystemClock::elapsedRealtime,
+) {
+	companion object {
+		// Selection changes further apart than this are considered a new scroll gesture
+		private const val IDLE_TIME_MS = 2_000L
+
+		// Weight of the most recent sample in the moving averages
+		private const val SMOOTHING = 0.3
+
+		// Assumed page load time until the first page was measured
+		private const val DEFAULT_PAGE_LOAD_TIME_MS = 500.0
+
+		private const val MAX_PAGES_AHEAD = 2
+	}
+
+	private var lastPosition = -1
+	private var lastPositionTime = 0L
+	private var pageRequestTime = 0L
+
+	/**
+	 * Selection speed in items per second.
+	 */
+	var velocity = 0.0
+		private set
+
+	/**
+	 * Time it takes to load a page in milliseconds.
+	 */
+	var pageLoadTime = DEFAULT_PAGE_LOAD_TIME_MS
+		private set
+
+	fun onPositionSelected(position: Int) {
+		val now = clock()
+		val elapsed = now - lastPositionTime
+
+		if (lastPosition == -1 || elapsed > IDLE_TIME_MS) {
+			velocity = 0.0
+		} else if (elapsed > 0) {
+			val sample = abs(position - lastPosition) * 1_000.0 / elapsed
+			velocity = SMOOTHING * sample + (1 - SMOOTHING) * velocity
+		}
+
+		lastPosition = position
+		lastPositionTime = now
+	}
+
+	fun onPageRequested() {
+		pageRequestTime = clock()
+	}
+
+	fun onPageLoaded() {
+		if (pageRequestTime == 0L) return
+
+		val sample = (clock() - pageRequestTime).toDouble()
+		pageLoadTime = SMOOTHING * sample + (1 - SMOOTHING) * pageLoadTime
+		pageRequestTime = 0L
+	}
+
+	fun reset() {
+		lastPosition = -1
+		velocity = 0.0
+		pageRequestTime = 0L
+	}
+
+	/**
+	 * Amount of items the selection is expected to move over while a single page is loading.
+	 */
+	private val itemsPerLoad get() = velocity * pageLoadTime / 1_000.0
+
+	/**
+	 * The amount of items to request in the next page. Pages grow in steps of [basePageSize] up to [MAX_PAGES_AHEAD]
+	 * pages, so a page covers the items the selection moves over while it loads twice.
+	 */
+	fun getPageSize(basePageSize: Int): Int {
+		if (basePageSize <= 0) return basePageSize
+
+		val pages = 1 + (itemsPerLoad * 2 / basePageSize).toInt()
+		return basePageSize * pages.coerceAtMost(MAX_PAGES_AHEAD)
+	}
+
+	/**
+	 * The minimum amount of loaded items that should be available after the selected position before the next page is
+	 * requested. This is the distance the selection moves over while two pages load, at least a single page and at most
+	 * [MAX_PAGES_AHEAD] pages.
+	 */
+	fun getItemsAhead(basePageSize: Int): Int {
+		if (basePageSize <= 0) return 0
+
+		return (itemsPerLoad * 2).roundToInt().coerceIn(basePageSize, basePageSize * MAX_PAGES_AHEAD)
+	}
+}
@@ -0,0 +1,273 @@
+package org.jellyfin.androidtv.ui.livetv
+
+import android.content.Context
+import android.util.AttributeSet
+import android.view.View
+import android.view.ViewGroup
+import android.widget.LinearLayout
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import org.jellyfin.androidtv.ui.GuideChannelHeader
+import org.jellyfin.androidtv.ui.ProgramGridCell
+import org.jellyfin.androidtv.util.Utils
+import org.jellyfin.sdk.model.api.BaseItemDto
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.UUID
+
+/**
+ * The program grid of the guide. Channels are recycled rows and programs are only bound while they are in view, so
+ * the guide can scroll through large channel lists. All rows share the same horizontal offset, which follows the
+ * focused program.
+ */
+class GuideGridView @JvmOverloads constructor(
+	context: Context,
+	attrs: AttributeSet? = null,
+) : RecyclerView(context, attrs) {
+	companion object {
+		const val CHANNEL_HEADER_WIDTH_DP = 160
+	}
+
+	fun interface ProgramSource {
+		fun getPrograms(channel: BaseItemDto): List<BaseItemDto>
+	}
+
+	fun interface OnHorizontalScrollListener {
+		fun onHorizontalScroll(offset: Int)
+	}
+
+	fun interface OnVisibleRangeChangedListener {
+		fun onVisibleRangeChanged(first: Int, last: Int)
+	}
+
+	private data class PendingFocus(val position: Int, val atEnd: Boolean)
+
+	private class GuideRowHolder(
+		view: View,
+		val header: GuideChannelHeader,
+		val strip: GuideProgramStrip,
+	) : RecyclerView.ViewHolder(view)
+
+	private val rowHeight = Utils.convertDpToPixel(context, LiveTvGuideFragment.GUIDE_ROW_HEIGHT_DP)
+	private val headerWidth = Utils.convertDpToPixel(context, CHANNEL_HEADER_WIDTH_DP)
+	private val widthPerMinute = Utils.convertDpToPixel(context, LiveTvGuideFragment.GUIDE_ROW_WIDTH_PER_MIN_DP)
+	private val linearLayoutManager = LinearLayoutManager(context)
+	private val cellPool = mutableListOf<ProgramGridCell>()
+
+	private lateinit var guide: LiveTvGuide
+	private lateinit var programSource: ProgramSource
+	private var channels: List<BaseItemDto> = emptyList()
+	private var guideStart = LocalDateTime.now()
+	private var guideEnd = guideStart
+	private var pendingFocus: PendingFocus? = null
+	private var visibleFirst = RecyclerView.NO_POSITION
+	private var visibleLast = RecyclerView.NO_POSITION
+
+	var onHorizontalScrollListener: OnHorizontalScrollListener? = null
+	var onVisibleRangeChangedListener: OnVisibleRangeChangedListener? = null
+
+	private var horizontalOffset = 0
+
+	val channelCount get() = channels.size
+
+	private val viewportWidth get() = (width - paddingLeft - paddingRight - headerWidth).coerceAtLeast(0)
+	private val totalWidth get() = Duration.between(guideStart, guideEnd).toMinutes().toInt() * widthPerMinute
+
+	init {
+		layoutManager = linearLayoutManager
+		adapter = GuideAdapter()
+		itemAnimator = null
+		setHasFixedSize(true)
+
+		addOnScrollListener(object : RecyclerView.OnScrollListener() {
+			override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) = notifyVisibleRange()
+		})
+	}
+
+	fun setup(guide: LiveTvGuide, programSource: ProgramSource) {
+		this.guide = guide
+		this.programSource = programSource
+	}
+
+	/**
+	 * Show [channels] with their programs between [start] and [end].
+	 */
+	fun setChannels(channels: List<BaseItemDto>, start: LocalDateTime, end: LocalDateTime) {
+		this.channels = channels
+		guideStart = start
+		guideEnd = end
+		visibleFirst = RecyclerView.NO_POSITION
+		visibleLast = RecyclerView.NO_POSITION
+		horizontalOffset = 0
+		onHorizontalScrollListener?.onHorizontalScroll(0)
+		@Suppress("NotifyDataSetChanged")
+		adapter?.notifyDataSetChanged()
+	}
+
+	/**
+	 * Rebind the rows of channels whose programs were loaded.
+	 */
+	fun notifyProgramsChanged(start: Int, count: Int) {
+		adapter?.notifyItemRangeChanged(start, count)
+	}
+
+	fun findChannelHeader(channelId: UUID): GuideChannelHeader? {
+		for (i in 0 until childCount) {
+			val holder = getChildViewHolder(getChildAt(i)) as? GuideRowHolder ?: continue
+			if (holder.header.channel?.id == channelId) return holder.header
+		}
+		return null
+	}
+
+	/**
+	 * Scroll to the channel at [position] and focus its program at the start, or the end when [atEnd] is set, of the
+	 * guide.
+	 */
+	fun focusChannel(position: Int, atEnd: Boolean) {
+		if (position !in channels.indices) return
+
+		pendingFocus = PendingFocus(position, atEnd)
+		linearLayoutManager.scrollToPositionWithOffset(position, ((height - rowHeight) / 2).coerceAtLeast(0))
+	}
+
+	override fun onLayout(changed: Boolean, l: Int, t: Int, r: Int, b: Int) {
+		super.onLayout(changed, l, t, r, b)
+
+		val focus = pendingFocus ?: return
+		val holder = findViewHolderForAdapterPosition(focus.position) as? GuideRowHolder ?: return
+		pendingFocus = null
+
+		val strip = holder.strip
+		if (focus.atEnd) {
+			scrollHorizontallyTo(totalWidth)
+			strip.slots.lastIndex.takeIf { it >= 0 }?.let { strip.cellAt(it) }?.requestFocus()
+		} else {
+			strip.cellAt(timeAt(horizontalOffset))?.requestFocus()
+		}
+	}
+
+	override fun focusSearch(focused: View, direction: Int): View? {
+		val row = findContainingItemView(focused)
+		val holder = row?.let { getChildViewHolder(it) } as? GuideRowHolder
+		val position = holder?.bindingAdapterPosition ?: RecyclerView.NO_POSITION
+		if (holder == null || position == RecyclerView.NO_POSITION) return super.focusSearch(focused, direction)
+
+		val next = when (focused) {
+			is ProgramGridCell -> focusSearchFromCell(holder, position, focused, direction)
+			is GuideChannelHeader -> focusSearchFromHeader(holder, position, direction)
+			else -> null
+		}
+
+		return next ?: super.focusSearch(focused, direction)
+	}
+
+	private fun focusSearchFromCell(holder: GuideRowHolder, position: Int, cell: ProgramGridCell, direction: Int): View? {
+		val strip = holder.strip
+		val index = strip.indexOf(cell)
+		if (index < 0) return null
+
+		return when (direction) {
+			View.FOCUS_LEFT -> if (index == 0) holder.header else focusSlot(strip, index - 1, forward = false)
+			// Stay on the last program, the guide offers to load the next hours instead
+			View.FOCUS_RIGHT -> if (index == strip.slots.lastIndex) cell else focusSlot(strip, index + 1, forward = true)
+			View.FOCUS_UP, View.FOCUS_DOWN -> {
+				val target = findRow(if (direction == View.FOCUS_UP) position - 1 else position + 1)
+					?: return if (direction == View.FOCUS_UP) null else cell
+
+				// Continue in the column of the focused program, or the start of the view when it started earlier
+				val start = strip.slots[index].start
+				val viewStart = timeAt(horizontalOffset)
+				target.strip.cellAt(if (start.isAfter(viewStart)) start else viewStart)
+			}
+
+			else -> null
+		}
+	}
+
+	private fun focusSearchFromHeader(holder: GuideRowHolder, position: Int, direction: Int): View? = when (direction) {
+		View.FOCUS_LEFT -> holder.header
+		View.FOCUS_RIGHT -> holder.strip.cellAt(timeAt(horizontalOffset))
+		View.FOCUS_UP -> findRow(position - 1)?.header
+		View.FOCUS_DOWN -> findRow(position + 1)?.header ?: holder.header
+		else -> null
+	}
+
+	private fun findRow(position: Int): GuideRowHolder? {
+		if (position !in channels.indices) return null
+		(findViewHolderForAdapterPosition(position) as? GuideRowHolder)?.let { return it }
+
+		// The row is not laid out yet, scroll it into the viewport so it's bound
+		val first = linearLayoutManager.findFirstVisibleItemPosition()
+		scrollBy(0, if (position < first) -rowHeight else rowHeight)
+		return findViewHolderForAdapterPosition(position) as? GuideRowHolder
+	}
+
+	private fun focusSlot(strip: GuideProgramStrip, index: Int, forward: Boolean): View {
+		val slot = strip.slots[index]
+		val viewport = viewportWidth
+
+		// Show the side of the slot next to the previously focused program when it doesn't fit
+		if (forward && slot.endPx > horizontalOffset + viewport) {
+			scrollHorizontallyTo(minOf(slot.startPx, slot.endPx - viewport))
+		} else if (!forward && slot.startPx < horizontalOffset) {
+			scrollHorizontallyTo(maxOf(slot.startPx, slot.endPx - viewport))
+		}
+
+		return strip.cellAt(index)
+	}
+
+	private fun scrollHorizontallyTo(offset: Int) {
+		val value = offset.coerceIn(0, (totalWidth - viewportWidth).coerceAtLeast(0))
+		if (value == horizontalOffset) return
+
+		horizontalOffset = value
+		for (i in 0 until childCount) {
+			(getChildViewHolder(getChildAt(i)) as? GuideRowHolder)?.strip?.setOffset(value)
+		}
+		onHorizontalScrollListener?.onHorizontalScroll(value)
+	}
+
+	private fun timeAt(offset: Int): LocalDateTime = guideStart.plusMinutes((offset / widthPerMinute).toLong())
+
+	private fun notifyVisibleRange() {
+		val first = linearLayoutManager.findFirstVisibleItemPosition()
+		val last = linearLayoutManager.findLastVisibleItemPosition()
+		if (first == RecyclerView.NO_POSITION || (first == visibleFirst && last == visibleLast)) return
+
+		visibleFirst = first
+		visibleLast = last
+		onVisibleRangeChangedListener?.onVisibleRangeChanged(first, last)
+	}
+
+	private inner class GuideAdapter : RecyclerView.Adapter<GuideRowHolder>() {
+		override fun getItemCount(): Int = channels.size
+
+		override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): GuideRowHolder {
+			val header = GuideChannelHeader(context, guide)
+			val strip = GuideProgramStrip(context, guide, cellPool, rowHeight)
+			val row = LinearLayout(context).apply {
+				orientation = LinearLayout.HORIZONTAL
+				layoutParams = RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, rowHeight)
+				addView(header, LinearLayout.LayoutParams(headerWidth, rowHeight))
+				addView(strip, LinearLayout.LayoutParams(0, rowHeight, 1f))
+			}
+
+			return GuideRowHolder(row, header, strip)
+		}
+
+		override fun onBindViewHolder(holder: GuideRowHolder, position: Int) {
+			val channel = channels[position]
+			holder.header.bind(channel)
+			holder.header.loadImage()
+
+			val programs = programSource.getPrograms(channel)
+			val slots = createGuideSlots(context, channel.id, programs, guideStart, guideEnd, widthPerMinute)
+			holder.strip.bind(slots, horizontalOffset)
+		}
+
+		// Rows kept in the view cache are attached again without binding
+		override fun onViewAttachedToWindow(holder: GuideRowHolder) {
+			holder.strip.setOffset(horizontalOffset)
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package org.jellyfin.androidtv.ui.livetv
+
+import android.content.Context
+import android.util.SparseArray
+import android.view.View
+import android.view.ViewGroup
+import org.jellyfin.androidtv.ui.ProgramGridCell
+import java.time.LocalDateTime
+
+/**
+ * The programs of a single channel in the guide. Only slots in the visible part of the row have a cell, cells that are
+ * scrolled out of view are returned to a pool shared by all rows.
+ */
+class GuideProgramStrip(
+	context: Context,
+	private val guide: LiveTvGuide,
+	private val cellPool: MutableList<ProgramGridCell>,
+	private val rowHeight: Int,
+) : ViewGroup(context) {
+	private companion object {
+		private const val MAX_POOL_SIZE = 100
+	}
+
+	private val cells = SparseArray<ProgramGridCell>()
+	private var offset = 0
+
+	var slots: List<GuideSlot> = emptyList()
+		private set
+
+	fun bind(slots: List<GuideSlot>, offset: Int) {
+		// Keep the focused cell, it shows the program airing at the same time afterwards
+		val focused = focusedChild as? ProgramGridCell
+		val focusedTime = focused?.let { indexOf(it) }?.takeIf { it >= 0 }?.let { this.slots[it].start }
+
+		for (i in 0 until cells.size()) {
+			val cell = cells.valueAt(i)
+			if (cell !== focused) recycle(cell)
+		}
+		cells.clear()
+
+		this.slots = slots
+		this.offset = offset
+
+		if (focused != null) {
+			if (slots.isEmpty()) {
+				recycle(focused)
+			} else {
+				val index = if (focusedTime != null) slots.indexAt(focusedTime) else 0
+				cells.put(index, focused)
+				bindCell(focused, index)
+				guide.setSelectedProgram(focused)
+			}
+		}
+
+		bindVisible()
+	}
+
+	fun setOffset(offset: Int) {
+		if (this.offset == offset) return
+		this.offset = offset
+		bindVisible()
+	}
+
+	/**
+	 * Get the slot index of [cell], or -1 when it's not part of this row.
+	 */
+	fun indexOf(cell: View): Int {
+		val i = cells.indexOfValue(cell as? ProgramGridCell ?: return -1)
+		return if (i < 0) -1 else cells.keyAt(i)
+	}
+
+	/**
+	 * Get the cell for the slot at [index], binding one when the slot is not visible.
+	 */
+	fun cellAt(index: Int): ProgramGridCell {
+		cells[index]?.let { return it }
+
+		val cell = cellPool.removeLastOrNull() ?: ProgramGridCell(context, guide)
+		addViewInLayout(cell, -1, generateDefaultLayoutParams(), true)
+		cells.put(index, cell)
+		bindCell(cell, index)
+		invalidate()
+		return cell
+	}
+
+	/**
+	 * Get the cell of the program airing at [time].
+	 */
+	fun cellAt(time: LocalDateTime): ProgramGridCell? =
+		if (slots.isEmpty()) null else cellAt(slots.indexAt(time))
+
+	private fun bindVisible() {
+		if (width == 0 || slots.isEmpty()) return
+
+		val first = firstVisibleIndex()
+		var last = first
+		while (last < slots.lastIndex && slots[last + 1].startPx < offset + width) last++
+
+		for (i in cells.size() - 1 downTo 0) {
+			val index = cells.keyAt(i)
+			val cell = cells.valueAt(i)
+			if (index in first..last || cell.hasFocus()) continue
+
+			cells.removeAt(i)
+			recycle(cell)
+		}
+
+		for (index in first..last) cellAt(index)
+		for (i in 0 until cells.size()) layoutCell(cells.valueAt(i), slots[cells.keyAt(i)])
+		invalidate()
+	}
+
+	private fun firstVisibleIndex(): Int {
+		var low = 0
+		var high = slots.lastIndex
+		while (low < high) {
+			val mid = (low + high) ushr 1
+			if (slots[mid].endPx > offset) high = mid
+			else low = mid + 1
+		}
+		return low
+	}
+
+	private fun bindCell(cell: ProgramGridCell, index: Int) {
+		val slot = slots[index]
+		cell.bind(slot.program)
+		if (slot.isFirst) cell.setFirst()
+		if (slot.isLast) cell.setLast()
+		layoutCell(cell, slot)
+	}
+
+	private fun layoutCell(cell: ProgramGridCell, slot: GuideSlot) {
+		cell.measure(
+			MeasureSpec.makeMeasureSpec(slot.widthPx, MeasureSpec.EXACTLY),
+			MeasureSpec.makeMeasureSpec(rowHeight, MeasureSpec.EXACTLY),
+		)
+		cell.layout(slot.startPx - offset, 0, slot.endPx - offset, rowHeight)
+	}
+
+	private fun recycle(cell: ProgramGridCell) {
+		removeViewInLayout(cell)
+		if (cellPool.size < MAX_POOL_SIZE) cellPool.add(cell)
+	}
+
+	override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+		setMeasuredDimension(getDefaultSize(suggestedMinimumWidth, widthMeasureSpec), rowHeight)
+	}
+
+	override fun onLayout(changed: Boolean, l: Int, t: Int, r: Int, b: Int) {
+		bindVisible()
+	}
+}
@@ -0,0 +1,87 @@
+package org.jellyfin.androidtv.ui.livetv
+
+import android.content.Context
+import org.jellyfin.sdk.model.api.BaseItemDto
+import java.time.Duration
+import java.time.LocalDateTime
+import java.util.UUID
+
+/**
+ * A program, or a filler without program data, positioned in a row of the guide.
+ */
+class GuideSlot(
+	val program: BaseItemDto,
+	val start: LocalDateTime,
+	val end: LocalDateTime,
+	val startPx: Int,
+	val endPx: Int,
+	val isFirst: Boolean,
+	val isLast: Boolean,
+) {
+	val widthPx get() = endPx - startPx
+}
+
+/**
+ * Lay out [programs] of a channel between [guideStart] and [guideEnd], filling the gaps so every row covers the whole
+ * window and can be navigated.
+ */
+fun createGuideSlots(
+	context: Context,
+	channelId: UUID?,
+	programs: List<BaseItemDto>,
+	guideStart: LocalDateTime,
+	guideEnd: LocalDateTime,
+	widthPerMinutePx: Int,
+): List<GuideSlot> {
+	val slots = mutableListOf<GuideSlot>()
+
+	fun toPx(time: LocalDateTime) = Duration.between(guideStart, time).toMinutes().toInt() * widthPerMinutePx
+
+	fun add(program: BaseItemDto, start: LocalDateTime, end: LocalDateTime) {
+		if (!end.isAfter(start)) return
+		slots.add(GuideSlot(program, start, end, toPx(start), toPx(end), start == guideStart, end == guideEnd))
+	}
+
+	fun addEmpty(start: LocalDateTime, end: LocalDateTime) =
+		add(createNoProgramDataBaseItem(context, channelId, start, end), start, end)
+
+	if (programs.isEmpty()) {
+		var start = guideStart
+		while (start.isBefore(guideEnd)) {
+			val end = start.plusMinutes(30).takeIf { it.isBefore(guideEnd) } ?: guideEnd
+			addEmpty(start, end)
+			start = end
+		}
+		return slots
+	}
+
+	var prevEnd = guideStart
+	for (program in programs) {
+		val start = program.startDate?.takeIf { it.isAfter(guideStart) } ?: guideStart
+		if (start.isBefore(prevEnd)) continue
+		if (!start.isBefore(guideEnd)) break
+		if (start.isAfter(prevEnd)) addEmpty(prevEnd, start)
+
+		val end = program.endDate?.takeIf { it.isBefore(guideEnd) } ?: guideEnd
+		add(program, start, end)
+		prevEnd = if (end.isAfter(start)) end else start
+	}
+
+	if (prevEnd.isBefore(guideEnd)) addEmpty(prevEnd, guideEnd)
+
+	return slots
+}
+
+/**
+ * Find the index of the slot that is airing at [time], or the closest one when [time] is outside of the row.
+ */
+fun List<GuideSlot>.indexAt(time: LocalDateTime): Int {
+	var low = 0
+	var high = lastIndex
+	while (low < high) {
+		val mid = (low + high) ushr 1
+		if (get(mid).end.isAfter(time)) high = mid
+		else low = mid + 1
+	}
+	return low
+}
@@ -3,10 +3,8 @@ package org.jellyfin.androidtv.ui.livetv;
 import static org.koin.java.KoinJavaComponent.inject;
 
 import android.app.AlertDialog;
-import android.content.Context;
 import android.content.DialogInterface;
 import android.graphics.Color;
-import android.os.AsyncTask;
 import android.os.Bundle;
 import android.os.Handler;
 import android.view.KeyEvent;
@@ -32,13 +30,8 @@ import org.jellyfin.androidtv.databinding.LiveTvGuideBinding;
 import org.jellyfin.androidtv.ui.AsyncImageView;
 import org.jellyfin.androidtv.ui.FriendlyDateButton;
 import org.jellyfin.androidtv.ui.GuideChannelHeader;
-import org.jellyfin.androidtv.ui.GuidePagingButton;
-import org.jellyfin.androidtv.ui.HorizontalScrollViewListener;
 import org.jellyfin.androidtv.ui.LiveProgramDetailPopup;
-import org.jellyfin.androidtv.ui.ObservableHorizontalScrollView;
-import org.jellyfin.androidtv.ui.ObservableScrollView;
 import org.jellyfin.androidtv.ui.ProgramGridCell;
-import org.jellyfin.androidtv.ui.ScrollViewListener;
 import org.jellyfin.androidtv.ui.navigation.ActivityDestinations;
 import org.jellyfin.androidtv.ui.navigation.NavigationRepository;
 import org.jellyfin.androidtv.util.CoroutineUtils;
@@ -46,15 +39,16 @@ import org.jellyfin.androidtv.util.DateTimeExtensionsKt;
 import org.jellyfin.androidtv.util.ImageHelper;
 import org.jellyfin.androidtv.util.InfoLayoutHelper;
 import org.jellyfin.androidtv.util.PlaybackHelper;
-import org.jellyfin.androidtv.util.TextUtilsKt;
 import org.jellyfin.androidtv.util.TimeUtils;
 import org.jellyfin.androidtv.util.Utils;
 import org.jellyfin.androidtv.util.apiclient.EmptyResponse;
 import org.jellyfin.sdk.model.api.BaseItemDto;
 
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import kotlin.Lazy;
@@ -74,10 +68,8 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     private TextView mSummary;
     private AsyncImageView mImage;
     private LinearLayout mInfoRow;
-    private LinearLayout mChannels;
     private LinearLayout mTimeline;
-    private LinearLayout mProgramRows;
-    private ObservableScrollView mChannelScroller;
+    private GuideGridView mGrid;
     private HorizontalScrollView mTimelineScroller;
     private View mSpinner;
     private View mResetButton;
@@ -86,16 +78,19 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     RelativeLayout mSelectedProgramView;
 
     private List<BaseItemDto> mAllChannels;
+    private List<BaseItemDto> mGuideChannels = new ArrayList<>();
+    // Pages of channels for which programs are loaded or loading, reset when the guide is rebuilt
+    private final Set<Integer> mLoadedPages = new HashSet<>();
+    private int mGuideGeneration = 0;
+    // filters and options only change how the guide is shown, the stored programs remain valid
+    private boolean mReloadOnResume = false;
     private UUID mFirstFocusChannelId;
     private boolean focusAtEnd;
     private GuideFilters mFilters = new GuideFilters();
 
     private LocalDateTime mCurrentGuideStart = LocalDateTime.now();
     private LocalDateTime mCurrentGuideEnd;
-    private int mCurrentDisplayChannelStartNdx = 0;
-    private int mCurrentDisplayChannelEndNdx = 0;
 
-    private int guideRowHeightPx;
     private int guideRowWidthPerMinPx;
 
     private Handler mHandler = new Handler();
@@ -108,7 +103,6 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
-        guideRowHeightPx = Utils.convertDpToPixel(requireContext(), GUIDE_ROW_HEIGHT_DP);
         guideRowWidthPerMinPx = Utils.convertDpToPixel(requireContext(), GUIDE_ROW_WIDTH_PER_MIN_DP);
 
         LiveTvGuideBinding binding = LiveTvGuideBinding.inflate(getLayoutInflater(), container, false);
@@ -122,9 +116,8 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
         mFilterStatus.setTextColor(Color.GRAY);
         mInfoRow = binding.infoRow;
         mImage = binding.programImage;
-        mChannels = binding.channels;
         mTimeline = binding.timeline;
-        mProgramRows = binding.programRows;
+        mGrid = binding.programGrid;
         mSpinner = binding.spinner;
         mSpinner.setVisibility(View.VISIBLE);
 
@@ -163,42 +156,15 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
             }
         });
 
-        mProgramRows.setFocusable(false);
-        mChannelScroller = binding.channelScroller;
-        ObservableScrollView programVScroller = binding.programVScroller;
-        programVScroller.setScrollViewListener(new ScrollViewListener() {
-            @Override
-            public void onScrollChanged(ObservableScrollView scrollView, int x, int y, int oldx, int oldy) {
-                mChannelScroller.scrollTo(x, y);
-            }
-        });
-        mChannelScroller.setScrollViewListener(new ScrollViewListener() {
-            @Override
-            public void onScrollChanged(ObservableScrollView scrollView, int x, int y, int oldx, int oldy) {
-                programVScroller.scrollTo(x, y);
-            }
-        });
-
         mTimelineScroller = binding.timelineHScroller;
         mTimelineScroller.setFocusable(false);
         mTimelineScroller.setFocusableInTouchMode(false);
         mTimeline.setFocusable(false);
         mTimeline.setFocusableInTouchMode(false);
-        mChannelScroller.setFocusable(false);
-        mChannelScroller.setFocusableInTouchMode(false);
-        ObservableHorizontalScrollView programHScroller = binding.programHScroller;
-        programHScroller.setScrollViewListener(new HorizontalScrollViewListener() {
-            @Override
-            public void onScrollChanged(ObservableHorizontalScrollView scrollView, int x, int y, int oldx, int oldy) {
-                mTimelineScroller.scrollTo(x, y);
-            }
-        });
 
-        programHScroller.setFocusable(false);
-        programHScroller.setFocusableInTouchMode(false);
-
-        mChannels.setFocusable(false);
-        mChannelScroller.setFocusable(false);
+        mGrid.setup(this, channel -> TvManager.getProgramsForChannel(channel.getId(), mCurrentGuideStart, mCurrentGuideEnd, mFilters));
+        mGrid.setOnHorizontalScrollListener(offset -> mTimelineScroller.scrollTo(offset, 0));
+        mGrid.setOnVisibleRangeChangedListener(this::loadVisiblePrograms);
 
         // Register to receive message from popup
         CoroutineUtils.readCustomMessagesOnLifecycle(getLifecycle(), customMessageRepository.getValue(), message -> {
@@ -216,16 +182,9 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     private void load() {
         fillTimeLine(mCurrentGuideStart, getGuideHours());
         TvManager.loadAllChannels(this, ndx -> {
-            if (ndx >= PAGE_SIZE) {
-                // last channel is not in first page so grab a set where it will be in the middle
-                ndx = ndx - (PAGE_SIZE / 2);
-            } else {
-                ndx = 0; // just start at beginning
-            }
-
             mAllChannels = TvManager.getAllChannels();
             if (!mAllChannels.isEmpty()) {
-                displayChannels(ndx, PAGE_SIZE);
+                loadProgramData();
             } else {
                 mSpinner.setVisibility(View.GONE);
             }
@@ -234,13 +193,8 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     }
 
     public void refreshFavorite(UUID channelId){
-        for (int i = 0; i < mChannels.getChildCount(); i++) {
-            View child = mChannels.getChildAt(i);
-            if (!(child instanceof GuideChannelHeader)) continue;
-            GuideChannelHeader gch = (GuideChannelHeader) child;
-            if (gch.getChannel().getId().equals(channelId.toString()))
-                gch.refreshFavorite();
-        }
+        GuideChannelHeader gch = mGrid.findChannelHeader(channelId);
+        if (gch != null) gch.refreshFavorite();
     }
 
     @Override
@@ -252,7 +206,8 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     }
 
     protected void doLoad() {
-        if (TvManager.shouldForceReload() || mCurrentGuideStart.plusMinutes(30).isBefore(LocalDateTime.now()) || mChannels.getChildCount() == 0) {
+        if (mReloadOnResume || TvManager.shouldForceReload() || mCurrentGuideStart.plusMinutes(30).isBefore(LocalDateTime.now()) || mGrid.getChannelCount() == 0) {
+            mReloadOnResume = false;
             load();
 
             mFirstFocusChannelId = TvManager.getLastLiveTvChannel();
@@ -263,23 +218,11 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     public void onPause() {
         super.onPause();
 
-        if (mDisplayProgramsTask != null) {
-            mDisplayProgramsTask.cancel(true);
-        }
         if (mDetailPopup != null) {
             mDetailPopup.dismiss();
         }
     }
 
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-
-        if (mCurrentGuideStart.isAfter(LocalDateTime.now())) {
-            TvManager.forceReload(); //we paged ahead - force a re-load if we come back in
-        }
-    }
-
     @Override
     public boolean onKey(View v, int keyCode, KeyEvent event) {
         if (event.getAction() == KeyEvent.ACTION_UP) return onKeyUp(keyCode, event);
@@ -407,7 +350,6 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
     private void pageGuideTo(LocalDateTime startTime) {
         if (startTime.isBefore(LocalDateTime.now())) startTime = LocalDateTime.now();
         Timber.i("page to %s", startTime);
-        TvManager.forceReload(); // don't allow cache
         if (mSelectedProgram != null) {
             mFirstFocusChannelId = mSelectedProgram.getChannelId();
         }
@@ -440,259 +382,102 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
 
     public void showFilterOptions() {
         startActivity(ActivityDestinations.INSTANCE.liveTvGuideFilterPreferences(getContext()));
-        TvManager.forceReload();
+        mReloadOnResume = true;
     }
 
     public void showOptions() {
         startActivity(ActivityDestinations.INSTANCE.liveTvGuideOptionPreferences(getContext()));
-        TvManager.forceReload();
+        mReloadOnResume = true;
     }
 
     public void displayChannels(int start, int max) {
-        int end = start + max;
-        if (end > mAllChannels.size()) {
-            end = mAllChannels.size();
-        }
-
-        if (mFilters.any()) {
-            // if we are filtered, then we need to get programs for all channels
-            mCurrentDisplayChannelStartNdx = 0;
-            mCurrentDisplayChannelEndNdx = mAllChannels.size()-1;
-        } else {
-            mCurrentDisplayChannelStartNdx = start;
-            mCurrentDisplayChannelEndNdx = end - 1;
-        }
-        Timber.d("*** Display channels pre-execute");
-        mSpinner.setVisibility(View.VISIBLE);
-
-        loadProgramData();
+        mGrid.focusChannel(start, false);
     }
 
     private void loadProgramData() {
-        mProgramRows.removeAllViews();
-        mChannels.removeAllViews();
         mChannelStatus.setText("");
         mFilterStatus.setText("");
-        TvManager.getProgramsAsync(this, mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx, mCurrentGuideStart, mCurrentGuideEnd, new EmptyResponse() {
-            @Override
-            public void onResponse() {
-                Timber.d("*** Programs response");
-                if (mDisplayProgramsTask != null) mDisplayProgramsTask.cancel(true);
-                mDisplayProgramsTask = new DisplayProgramsTask();
-                mDisplayProgramsTask.execute(mCurrentDisplayChannelStartNdx, mCurrentDisplayChannelEndNdx);
-            }
-        });
-    }
+        mLoadedPages.clear();
+        final int generation = ++mGuideGeneration;
 
-    DisplayProgramsTask mDisplayProgramsTask;
-    class DisplayProgramsTask extends AsyncTask<Integer, Integer, Void> {
-
-        View firstFocusView;
-        int displayedChannels = 0;
+        if (mFilters.any()) {
+            // if we are filtered, then we need to get programs for all channels
+            mSpinner.setVisibility(View.VISIBLE);
+            TvManager.getProgramsAsync(this, 0, mAllChannels.size() - 1, mCurrentGuideStart, mCurrentGuideEnd, new EmptyResponse() {
+                @Override
+                public void onResponse() {
+                    if (generation != mGuideGeneration || !getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) return;
 
-        @Override
-        protected void onPreExecute() {
-            Timber.d("*** Display programs pre-execute");
-            mChannels.removeAllViews();
-            mProgramRows.removeAllViews();
-
-            if (mCurrentDisplayChannelStartNdx > 0) {
-                // Show a paging row for channels above
-                int pageUpStart = mCurrentDisplayChannelStartNdx - PAGE_SIZE;
-                if (pageUpStart < 0) {
-                    pageUpStart = 0;
+                    // don't show rows with no program data
+                    List<BaseItemDto> channels = new ArrayList<>();
+                    for (BaseItemDto channel : mAllChannels) {
+                        if (!TvManager.getProgramsForChannel(channel.getId(), mCurrentGuideStart, mCurrentGuideEnd, mFilters).isEmpty()) channels.add(channel);
+                    }
+                    displayGuide(channels);
+                    mSpinner.setVisibility(View.GONE);
                 }
-
-                TextView placeHolder = new TextView(requireContext());
-                placeHolder.setHeight(guideRowHeightPx);
-                mChannels.addView(placeHolder);
-                displayedChannels = 0;
-
-                String label = TextUtilsKt.getLoadChannelsLabel(requireContext(), mAllChannels.get(pageUpStart).getNumber(), mAllChannels.get(mCurrentDisplayChannelStartNdx - 1).getNumber());
-                mProgramRows.addView(new GuidePagingButton(requireContext(), LiveTvGuideFragment.this, pageUpStart, label));
-            }
+            });
+        } else {
+            // programs are loaded a page at a time while scrolling, see loadVisiblePrograms
+            displayGuide(mAllChannels);
         }
+    }
 
-        @Override
-        protected Void doInBackground(Integer... params) {
-            int start = params[0];
-            int end = params[1];
-            boolean first = true;
-
-            Timber.d("*** About to iterate programs");
-            LinearLayout prevRow = null;
-            for (int i = start; i <= end; i++) {
-                if (isCancelled()) return null;
-                final BaseItemDto channel = TvManager.getChannel(i);
-                List<BaseItemDto> programs = TvManager.getProgramsForChannel(channel.getId(), mFilters);
-                final LinearLayout row = getProgramRow(programs, channel.getId());
-                if (row == null) continue; // no row to show
-
-                if (first) {
-                    first = false;
-                    firstFocusView = row;
-                }
-
-                // set focus parameters if we are not on first row
-                // this makes focus movements more predictable for the grid view
-                if (prevRow != null) {
-                    TvManager.setFocusParams(row, prevRow, true);
-                    TvManager.setFocusParams(prevRow, row, false);
+    private void displayGuide(List<BaseItemDto> channels) {
+        Timber.d("*** Display guide with %d channels", channels.size());
+        mGuideChannels = channels;
+        mGrid.setChannels(channels, mCurrentGuideStart, mCurrentGuideEnd);
+
+        // put focus on the last tuned channel
+        int focusNdx = 0;
+        if (mFirstFocusChannelId != null) {
+            for (int i = 0; i < channels.size(); i++) {
+                if (channels.get(i).getId().equals(mFirstFocusChannelId)) {
+                    focusNdx = i;
+                    break;
                 }
-                prevRow = row;
-
-                requireActivity().runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        if (!getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) return;
-
-                        GuideChannelHeader header = getChannelHeader(requireContext(), channel);
-                        mChannels.addView(header);
-                        header.loadImage();
-                        mProgramRows.addView(row);
-                        // put focus on the last tuned channel
-                        if (channel.getId().equals(mFirstFocusChannelId)) {
-                            firstFocusView = focusAtEnd ? row.getChildAt(row.getChildCount()-1) : row;
-                            focusAtEnd = false;
-                            mFirstFocusChannelId = null;
-                        }
-
-                    }
-                });
-
-                displayedChannels++;
             }
-            return null;
         }
+        mGrid.focusChannel(focusNdx, focusAtEnd);
+        mFirstFocusChannelId = null;
+        focusAtEnd = false;
 
-        @Override
-        protected void onPostExecute(Void aVoid) {
-            Timber.d("*** Display programs post execute");
-            if (mCurrentDisplayChannelEndNdx < mAllChannels.size()-1 && !mFilters.any()) {
-                // Show a paging row for channels below
-                int pageDnEnd = mCurrentDisplayChannelEndNdx + PAGE_SIZE;
-                if (pageDnEnd >= mAllChannels.size()) pageDnEnd = mAllChannels.size()-1;
-
-                TextView placeHolder = new TextView(requireContext());
-                placeHolder.setHeight(guideRowHeightPx);
-                mChannels.addView(placeHolder);
-
-                String label = TextUtilsKt.getLoadChannelsLabel(requireContext(), mAllChannels.get(mCurrentDisplayChannelEndNdx + 1).getNumber(), mAllChannels.get(pageDnEnd).getNumber());
-                mProgramRows.addView(new GuidePagingButton(requireContext(), LiveTvGuideFragment.this, mCurrentDisplayChannelEndNdx + 1, label));
-            }
-
-            mChannelStatus.setText(displayedChannels+" of "+mAllChannels.size()+" channels");
-            mFilterStatus.setText(mFilters.toString() + " for "+getGuideHours()+" hours");
-            mFilterStatus.setTextColor(mFilters.any() ? Color.WHITE : Color.GRAY);
+        mChannelStatus.setText(channels.size()+" of "+mAllChannels.size()+" channels");
+        mFilterStatus.setText(mFilters.toString() + " for "+getGuideHours()+" hours");
+        mFilterStatus.setTextColor(mFilters.any() ? Color.WHITE : Color.GRAY);
 
-            mResetButton.setVisibility(mCurrentGuideStart.isAfter(LocalDateTime.now()) ? View.VISIBLE : View.GONE); // show reset button if paged ahead
+        mResetButton.setVisibility(mCurrentGuideStart.isAfter(LocalDateTime.now()) ? View.VISIBLE : View.GONE); // show reset button if paged ahead
 
-            mSpinner.setVisibility(View.GONE);
-            if (firstFocusView != null) {
-                firstFocusView.requestFocus();
-            }
-        }
+        if (channels.isEmpty()) mSpinner.setVisibility(View.GONE);
     }
 
-    private int currentCellId = 0;
+    private void loadVisiblePrograms(int first, int last) {
+        if (mFilters.any()) return; // all programs are loaded up front
 
-    private GuideChannelHeader getChannelHeader(Context context, org.jellyfin.sdk.model.api.BaseItemDto channel){
-        return new GuideChannelHeader(context, this, channel);
-    }
-
-    private LinearLayout getProgramRow(List<BaseItemDto> programs, UUID channelId) {
-
-        LinearLayout programRow = new LinearLayout(requireContext());
-
-        if (programs.size() == 0) {
-            if (mFilters.any()) return null; // don't show rows with no program data
-
-            int minutes = ((Long) ((mCurrentGuideEnd.toInstant(ZoneOffset.UTC).toEpochMilli() - mCurrentGuideStart.toInstant(ZoneOffset.UTC).toEpochMilli()) / 60000)).intValue();
-            int slot = 0;
-            do {
-                BaseItemDto empty = LiveTvGuideFragmentHelperKt.createNoProgramDataBaseItem(
-                        getContext(),
-                        channelId,
-                        mCurrentGuideStart.plusMinutes(30l * slot),
-                        mCurrentGuideEnd.plusMinutes(30l * (slot + 1))
-                );
-
-                ProgramGridCell cell = new ProgramGridCell(requireContext(), this, empty, false);
-                cell.setId(currentCellId++);
-                cell.setLayoutParams(new ViewGroup.LayoutParams(30 * guideRowWidthPerMinPx, guideRowHeightPx));
-                programRow.addView(cell);
-                if (slot == 0)
-                    cell.setFirst();
-                if (slot == (minutes / 30) - 1)
-                    cell.setLast();
-                slot++;
-            } while((30*slot) < minutes);
-            return programRow;
+        // include part of the neighbouring pages so they are ready before they scroll into view
+        int firstPage = Math.max(first - PAGE_SIZE / 3, 0) / PAGE_SIZE;
+        int lastPage = Math.min(last + PAGE_SIZE / 3, mGuideChannels.size() - 1) / PAGE_SIZE;
+        for (int page = firstPage; page <= lastPage; page++) {
+            loadProgramPage(page);
         }
+    }
 
-        LocalDateTime prevEnd = getCurrentLocalStartDate();
-        for (BaseItemDto item : programs) {
-            LocalDateTime start = item.getStartDate() != null ? item.getStartDate() : getCurrentLocalStartDate();
-            if (start.isBefore(getCurrentLocalStartDate())) {
-                start = getCurrentLocalStartDate();
-            }
+    private void loadProgramPage(int page) {
+        if (!mLoadedPages.add(page)) return;
 
-            if (start.isBefore(prevEnd))
-                continue;
-
-            if (start.isAfter(prevEnd)) {
-                // fill empty time slot
-                BaseItemDto empty = LiveTvGuideFragmentHelperKt.createNoProgramDataBaseItem(
-                        getContext(),
-                        channelId,
-                        prevEnd,
-                        start
-                );
-
-                ProgramGridCell cell = new ProgramGridCell(requireContext(), this, empty, false);
-                cell.setId(currentCellId++);
-                cell.setLayoutParams(new ViewGroup.LayoutParams(((Long) ((start.toInstant(ZoneOffset.UTC).toEpochMilli() - prevEnd.toInstant(ZoneOffset.UTC).toEpochMilli()) / 60000)).intValue() * guideRowWidthPerMinPx, guideRowHeightPx));
-                if (prevEnd == mCurrentGuideStart) {
-                    cell.setFirst();
-                }
-                programRow.addView(cell);
-            }
-            LocalDateTime end = item.getEndDate() != null ? item.getEndDate() : getCurrentLocalEndDate();
-            if (end.isAfter(getCurrentLocalEndDate())) end = getCurrentLocalEndDate();
-            prevEnd = end;
-            Long duration = (end.toInstant(ZoneOffset.UTC).toEpochMilli() - start.toInstant(ZoneOffset.UTC).toEpochMilli()) / 60000;
-            if (duration > 0) {
-                ProgramGridCell program = new ProgramGridCell(requireContext(), this, item, false);
-                program.setId(currentCellId++);
-                program.setLayoutParams(new ViewGroup.LayoutParams(duration.intValue() * guideRowWidthPerMinPx, guideRowHeightPx));
-                if (start == mCurrentGuideStart) {
-                    program.setFirst();
-                }
-                if (end == mCurrentGuideEnd) {
-                    program.setLast();
-                }
+        final int generation = mGuideGeneration;
+        final int start = page * PAGE_SIZE;
+        final int end = Math.min(start + PAGE_SIZE, mGuideChannels.size()) - 1;
+        TvManager.getProgramsAsync(this, start, end, mCurrentGuideStart, mCurrentGuideEnd, new EmptyResponse() {
+            @Override
+            public void onResponse() {
+                Timber.d("*** Programs response for channels %d-%d", start, end);
+                if (generation != mGuideGeneration || !getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) return;
 
-                programRow.addView(program);
+                mGrid.notifyProgramsChanged(start, end - start + 1);
+                mSpinner.setVisibility(View.GONE);
             }
-        }
-
-        //If not at end of time period - fill in the rest
-        if (prevEnd.isBefore(mCurrentGuideEnd)) {
-            // fill empty time slot
-            BaseItemDto empty = LiveTvGuideFragmentHelperKt.createNoProgramDataBaseItem(
-                    getContext(),
-                    channelId,
-                    prevEnd,
-                    mCurrentGuideEnd
-            );
-
-            ProgramGridCell cell = new ProgramGridCell(requireContext(), this, empty, false);
-            cell.setId(currentCellId++);
-            cell.setLayoutParams(new ViewGroup.LayoutParams(((Long)((mCurrentGuideEnd.toInstant(ZoneOffset.UTC).toEpochMilli() - prevEnd.toInstant(ZoneOffset.UTC).toEpochMilli()) / 60000)).intValue() * guideRowWidthPerMinPx, guideRowHeightPx));
-            programRow.addView(cell);
-        }
-
-        return programRow;
+        });
     }
 
     private void fillTimeLine(LocalDateTime start, int hours) {
@@ -758,22 +543,16 @@ public class LiveTvGuideFragment extends Fragment implements LiveTvGuide, View.O
             mHandler.removeCallbacks(detailUpdateTask);
             mHandler.postDelayed(detailUpdateTask, 500);
         } else if (mSelectedProgramView instanceof GuideChannelHeader) {
-            for (int i = 0; i < mChannels.getChildCount(); i++) {
-                if (mSelectedProgramView == mChannels.getChildAt(i)) {
-                    LinearLayout programRow = (LinearLayout)mProgramRows.getChildAt(i);
-                    if (programRow == null)
-                        return;
-                    for (int ii = 0; ii < programRow.getChildCount(); ii++) {
-                        ProgramGridCell prog = (ProgramGridCell)programRow.getChildAt(ii);
-                        if (prog.getProgram() != null && prog.getProgram().getStartDate().isBefore(LocalDateTime.now()) && prog.getProgram().getEndDate().isAfter(LocalDateTime.now())) {
-                            mSelectedProgram = prog.getProgram();
-                            if (mSelectedProgram != null) {
-                                mHandler.removeCallbacks(detailUpdateTask);
-                                mHandler.postDelayed(detailUpdateTask, 500);
-                            }
-                            return;
-                        }
-                    }
+            BaseItemDto channel = ((GuideChannelHeader) mSelectedProgramView).getChannel();
+            if (channel == null) return;
+
+            LocalDateTime now = LocalDateTime.now();
+            for (BaseItemDto prog : TvManager.getProgramsForChannel(channel.getId(), mCurrentGuideStart, mCurrentGuideEnd)) {
+                if (prog.getStartDate() != null && prog.getEndDate() != null && prog.getStartDate().isBefore(now) && prog.getEndDate().isAfter(now)) {
+                    mSelectedProgram = prog;
+                    mHandler.removeCallbacks(detailUpdateTask);
+                    mHandler.postDelayed(detailUpdateTask, 500);
+                    return;
                 }
             }
         }
@@ -13,6 +13,7 @@ import androidx.leanback.widget.Presenter;
 import androidx.leanback.widget.Row;
 
 import org.jellyfin.androidtv.R;
+import org.jellyfin.androidtv.data.repository.ProgramGuideRepository;
 import org.jellyfin.androidtv.preference.SystemPreferences;
 import org.jellyfin.androidtv.ui.ProgramGridCell;
 import org.jellyfin.androidtv.ui.itemhandling.ItemRowAdapter;
@@ -30,7 +31,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,8 +42,7 @@ import timber.log.Timber;
 public class TvManager {
     private static List<BaseItemDto> allChannels;
     private static UUID[] channelIds;
-    private static HashMap<UUID, ArrayList<BaseItemDto>> mProgramsDict = new HashMap<>();
-    private static LocalDateTime needLoadTime;
+    private static Map<UUID, Integer> channelIndexes = new HashMap<>();
     private static boolean forceReload;
 
     public static UUID getLastLiveTvChannel() {
@@ -55,7 +54,6 @@ public class TvManager {
         systemPreferences.set(SystemPreferences.Companion.getLiveTvPrevChannel(), systemPreferences.get(SystemPreferences.Companion.getLiveTvLastChannel()));
         systemPreferences.set(SystemPreferences.Companion.getLiveTvLastChannel(), id.toString());
         updateLastPlayedDate(id);
-        fillChannelIds();
     }
 
     public static UUID getPrevLiveTvChannel() {
@@ -73,11 +71,19 @@ public class TvManager {
     public static boolean shouldForceReload() { return forceReload; }
 
     public static int getAllChannelsIndex(UUID id) {
-        if (allChannels == null) return -1;
-        for (int i = 0; i < allChannels.size(); i++) {
-            if (allChannels.get(i).getId().equals(id)) return i;
-        }
-        return -1;
+        if (allChannels == null || id == null) return -1;
+        Integer ndx = channelIndexes.get(id);
+        return ndx != null ? ndx : -1;
+    }
+
+    /**
+     * Get the channel that is offset channels away from id in the channel list, wrapping around at either end like the
+     * channel keys of a TV remote.
+     */
+    public static UUID getAdjacentChannel(UUID id, int offset) {
+        int ndx = getAllChannelsIndex(id);
+        if (ndx < 0) return null;
+        return allChannels.get(Math.floorMod(ndx + offset, allChannels.size())).getId();
     }
 
     public static BaseItemDto getChannel(int ndx) {
@@ -109,12 +115,13 @@ public class TvManager {
         int ndx = 0;
         if (allChannels != null) {
             channelIds = new UUID[allChannels.size()];
+            channelIndexes = new HashMap<>(allChannels.size() * 2);
             UUID last = getLastLiveTvChannel();
-            if (last == null) return ndx;
             int i = 0;
             for (BaseItemDto channel : allChannels) {
+                if (channel.getId().equals(last)) ndx = i;
+                channelIndexes.put(channel.getId(), i);
                 channelIds[i++] = channel.getId();
-                if (channel.getId().equals(last.toString())) ndx = i;
             }
         }
 
@@ -123,48 +130,24 @@ public class TvManager {
 
     public static void getProgramsAsync(Fragment fragment, int startNdx, int endNdx, final LocalDateTime startTime, LocalDateTime endTime, final EmptyResponse outerResponse) {
         LocalDateTime startTimeRounded = startTime.withMinute(startTime.getMinute() >= 30 ? 30 : 0).withSecond(0).withNano(0);
-        LocalDateTime endTimeRounded = endTime.minusSeconds(1);
 
-        if (forceReload || needLoadTime == null || startTimeRounded.isAfter(needLoadTime) || !mProgramsDict.containsKey(channelIds[startNdx]) || !mProgramsDict.containsKey(channelIds[endNdx])) {
+        if (forceReload) {
             forceReload = false;
+            getProgramGuideRepository().invalidate();
+        }
 
-            endNdx = endNdx > channelIds.length ? channelIds.length : endNdx+1; //array copy range final ndx is exclusive
-
-            TvManagerHelperKt.getPrograms(fragment, Arrays.copyOfRange(channelIds, startNdx, endNdx), startTimeRounded, endTimeRounded, programs -> {
-                if (programs != null) {
-                    Timber.d("*** About to build dictionary");
-                    buildProgramsDict(programs, startTimeRounded);
-                    Timber.d("*** Programs retrieval finished");
-
-                    outerResponse.onResponse();
-                } else {
-                    outerResponse.onResponse();
-                }
-
-                return null;
-            });
+        endNdx = endNdx > channelIds.length ? channelIds.length : endNdx+1; //array copy range final ndx is exclusive
 
-            Timber.d("*** About to get programs");
-        } else {
+        // Only the programs that are not stored yet are retrieved from the server
+        TvManagerHelperKt.getPrograms(fragment, Arrays.copyOfRange(channelIds, startNdx, endNdx), startTimeRounded, endTime, success -> {
+            if (!success) Timber.w("Unable to retrieve all programs");
             outerResponse.onResponse();
-        }
-    }
-
-    private static void buildProgramsDict(Collection<BaseItemDto> programs, LocalDateTime startTime) {
-        mProgramsDict = new HashMap<>();
-        for (BaseItemDto program : programs) {
-            UUID id = program.getChannelId();
-            if (!mProgramsDict.containsKey(id)) mProgramsDict.put(id, new ArrayList<BaseItemDto>());
-            if (program.getEndDate().isAfter(startTime))
-                mProgramsDict.get(id).add(program);
-        }
-        needLoadTime = startTime.plusMinutes(29);
+            return null;
+        });
     }
 
-    public static List<BaseItemDto> getProgramsForChannel(UUID channelId, GuideFilters filters) {
-        if (!mProgramsDict.containsKey(channelId)) return new ArrayList<>();
-
-        List<BaseItemDto> results = mProgramsDict.get(channelId);
+    public static List<BaseItemDto> getProgramsForChannel(UUID channelId, LocalDateTime startTime, LocalDateTime endTime, GuideFilters filters) {
+        List<BaseItemDto> results = getProgramsForChannel(channelId, startTime, endTime);
         boolean passes = filters == null || !filters.any();
         if (passes) return results;
 
@@ -176,8 +159,12 @@ public class TvManager {
         return passes ? results : new ArrayList<BaseItemDto>();
     }
 
-    public static List<BaseItemDto> getProgramsForChannel(UUID channelId) {
-        return !mProgramsDict.containsKey(channelId) ? new ArrayList<BaseItemDto>() : mProgramsDict.get(channelId);
+    public static List<BaseItemDto> getProgramsForChannel(UUID channelId, LocalDateTime startTime, LocalDateTime endTime) {
+        return getProgramGuideRepository().getPrograms(channelId, startTime, endTime);
+    }
+
+    private static ProgramGuideRepository getProgramGuideRepository() {
+        return KoinJavaComponent.<ProgramGuideRepository>get(ProgramGuideRepository.class);
     }
 
     public static void setTimelineRow(Context context, LinearLayout timelineRow, BaseItemDto program) {
@@ -5,6 +5,7 @@ import androidx.lifecycle.lifecycleScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.repository.ProgramGuideRepository
 import org.jellyfin.androidtv.preference.LiveTvPreferences
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.extensions.liveTvApi
@@ -57,25 +58,13 @@ fun getPrograms(
 	channelIds: Array<UUID>,
 	startTime: LocalDateTime,
 	endTime: LocalDateTime,
-	callback: (programs: Collection<BaseItemDto>?) -> Unit,
+	callback: (success: Boolean) -> Unit,
 ) {
-	val api by fragment.inject<ApiClient>()
+	val programGuideRepository by fragment.inject<ProgramGuideRepository>()
 
 	fragment.lifecycleScope.launch {
-		runCatching {
-			withContext(Dispatchers.IO) {
-				api.liveTvApi.getLiveTvPrograms(
-					channelIds = channelIds.toList(),
-					enableImages = false,
-					sortBy = setOf(ItemSortBy.START_DATE),
-					maxStartDate = endTime,
-					minEndDate = startTime,
-				).content.items
-			}
-		}.fold(
-			onSuccess = { programs -> callback(programs) },
-			onFailure = { callback(null) },
-		)
+		programGuideRepository.load()
+		callback(programGuideRepository.retrieve(channelIds.toList(), startTime, endTime))
 	}
 }
 
@@ -10,10 +10,10 @@ import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.data.repository.ItemRepository
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.extensions.itemsApi
-import org.jellyfin.sdk.api.client.extensions.userLibraryApi
 import org.jellyfin.sdk.model.api.BaseItemDto
 import org.jellyfin.sdk.model.api.BaseItemKind
 import org.jellyfin.sdk.model.api.ItemSortBy
@@ -21,7 +21,10 @@ import org.jellyfin.sdk.model.api.SortOrder
 import java.util.UUID
 import kotlin.time.Duration.Companion.seconds
 
-class PictureViewerViewModel(private val api: ApiClient) : ViewModel() {
+class PictureViewerViewModel(
+	private val api: ApiClient,
+	private val itemCacheRepository: ItemCacheRepository,
+) : ViewModel() {
 	private var album: List<BaseItemDto> = emptyList()
 	private var albumIndex = -1
 
@@ -30,16 +33,14 @@ class PictureViewerViewModel(private val api: ApiClient) : ViewModel() {
 
 	suspend fun loadItem(id: UUID, sortBy: Collection<ItemSortBy>, sortOrder: SortOrder) {
 		// Load requested item
-		val itemResponse =withContext(Dispatchers.IO) {
-			api.userLibraryApi.getItem(itemId = id).content
-		}
+		val itemResponse = itemCacheRepository.getItem(id)
 		_currentItem.value = itemResponse
 
 		val albumResponse =withContext(Dispatchers.IO) {
 			api.itemsApi.getItems(
 				parentId = itemResponse.parentId,
 				includeItemTypes = setOf(BaseItemKind.PHOTO),
-				fields = ItemRepository.itemFields,
+				fields = ItemRepository.cardFields,
 				sortBy = sortBy,
 				sortOrder = listOf(sortOrder),
 			).content
@@ -521,6 +521,11 @@ public class CustomPlaybackOverlayFragment extends Fragment implements LiveTvGui
                     }
                 }
 
+                if (playbackControllerContainer.getValue().getPlaybackController().isLiveTv() && !mGuideVisible && (keyCode == KeyEvent.KEYCODE_CHANNEL_UP || keyCode == KeyEvent.KEYCODE_CHANNEL_DOWN || keyCode == KeyEvent.KEYCODE_LAST_CHANNEL)) {
+                    zapChannel(keyCode);
+                    return true;
+                }
+
                 if (mPopupPanelVisible && !mGuideVisible && keyCode == KeyEvent.KEYCODE_DPAD_LEFT && mPopupRowPresenter.getPosition() == 0) {
                     mPopupRowsFragment.requireView().requestFocus();
                     mPopupRowPresenter.setPosition(0);
@@ -643,6 +648,17 @@ public class CustomPlaybackOverlayFragment extends Fragment implements LiveTvGui
         }
     }
 
+    private void zapChannel(int keyCode) {
+        UUID current = playbackControllerContainer.getValue().getPlaybackController().getCurrentlyPlayingItem().getId();
+        UUID target;
+        if (keyCode == KeyEvent.KEYCODE_LAST_CHANNEL) target = TvManager.getPrevLiveTvChannel();
+        else target = TvManager.getAdjacentChannel(current, keyCode == KeyEvent.KEYCODE_CHANNEL_UP ? 1 : -1);
+
+        if (target == null) return;
+        if (mPopupPanelVisible) hidePopupPanel();
+        switchChannel(target, false);
+    }
+
     private void startFadeTimer() {
         mFadeEnabled = true;
         mHandler.removeCallbacks(mHideTask);
@@ -854,7 +870,7 @@ public class CustomPlaybackOverlayFragment extends Fragment implements LiveTvGui
             for (int i = start; i <= end; i++) {
                 if (isCancelled()) return null;
                 final BaseItemDto channel = TvManager.getChannel(i);
-                List<BaseItemDto> programs = TvManager.getProgramsForChannel(channel.getId());
+                List<BaseItemDto> programs = TvManager.getProgramsForChannel(channel.getId(), mCurrentGuideStart, mCurrentGuideEnd);
                 final LinearLayout row = getProgramRow(programs, channel.getId());
                 if (first) {
                     first = false;
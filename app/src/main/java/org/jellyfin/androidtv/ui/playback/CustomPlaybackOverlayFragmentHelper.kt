@@ -65,9 +65,11 @@ fun CustomPlaybackOverlayFragment.playChannel(id: UUID) {
 	val api by inject<ApiClient>()
 	val playbackControllerContainer by inject<PlaybackControllerContainer>()
 
+	val liveTvZapper by inject<LiveTvZapper>()
+
 	lifecycleScope.launch {
 		runCatching {
-			withContext(Dispatchers.IO) {
+			liveTvZapper.takeChannel(id) ?: withContext(Dispatchers.IO) {
 				api.userLibraryApi.getItem(id).content
 			}
 		}.fold(
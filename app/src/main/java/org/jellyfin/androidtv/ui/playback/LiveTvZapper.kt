@@ -0,0 +1,190 @@
+package org.jellyfin.androidtv.ui.playback
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.compat.VideoOptions
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepository
+import org.jellyfin.androidtv.preference.UserPreferences
+import org.jellyfin.androidtv.ui.livetv.TvManager
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.api.client.extensions.mediaInfoApi
+import org.jellyfin.sdk.api.client.extensions.userLibraryApi
+import org.jellyfin.sdk.model.api.BaseItemDto
+import org.jellyfin.sdk.model.api.PlaybackInfoDto
+import org.jellyfin.sdk.model.api.PlaybackInfoResponse
+import timber.log.Timber
+import java.util.UUID
+
+/**
+ * Prepares the channels that are likely to be switched to while watching live TV: the last watched channel and the
+ * channels next to the playing one. Their items are retrieved in the background and, when enabled, their live streams
+ * are opened so switching doesn't wait for the server to tune. Every opened stream occupies a tuner, so their number is
+ * capped and they are closed once the channel is no longer a neighbor of the playing channel.
+ */
+class LiveTvZapper(
+	private val api: ApiClient,
+	private val userPreferences: UserPreferences,
+	private val deviceProfileRepository: DeviceProfileRepository,
+) {
+	private companion object {
+		// Tuners besides the one of the playing channel, most servers only have a few
+		private const val MAX_OPEN_STREAMS = 2
+	}
+
+	private class OpenedStream(
+		val response: Deferred<PlaybackInfoResponse>,
+		val request: PlaybackInfoDto,
+	)
+
+	private class PreparedChannel(
+		val item: Deferred<BaseItemDto>,
+		var stream: OpenedStream? = null,
+	)
+
+	private val coroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val channels = LinkedHashMap<UUID, PreparedChannel>()
+
+	/**
+	 * Prepare the neighbors of [channelId] after it started playing. Channels that are not a neighbor anymore are
+	 * released.
+	 */
+	fun prepare(channelId: UUID) {
+		// Ordered by the chance of switching to them, streams are opened for the first ones
+		val neighbors = listOfNotNull(
+			TvManager.getPrevLiveTvChannel(),
+			TvManager.getAdjacentChannel(channelId, 1),
+			TvManager.getAdjacentChannel(channelId, -1),
+		).distinct().filter { it != channelId }
+		val openStreams = userPreferences[UserPreferences.liveTvPreTuneChannels]
+
+		synchronized(channels) {
+			val iterator = channels.iterator()
+			while (iterator.hasNext()) {
+				val (id, channel) = iterator.next()
+				if (id in neighbors) continue
+
+				iterator.remove()
+				channel.item.cancel()
+				channel.stream?.let(::close)
+			}
+
+			neighbors.forEachIndexed { index, id ->
+				val channel = channels.getOrPut(id) {
+					PreparedChannel(coroutineScope.async { api.userLibraryApi.getItem(id).content })
+				}
+
+				if (openStreams && index < MAX_OPEN_STREAMS) {
+					if (channel.stream == null) channel.stream = open(id)
+				} else {
+					channel.stream?.let(::close)
+					channel.stream = null
+				}
+			}
+		}
+
+		Timber.d("Prepared ${neighbors.size} channels next to $channelId")
+	}
+
+	/**
+	 * Take the prepared item of [channelId], or null when it's not prepared.
+	 */
+	suspend fun takeChannel(channelId: UUID): BaseItemDto? {
+		val item = synchronized(channels) { channels[channelId]?.item } ?: return null
+
+		return runCatching {
+			item.await()
+		}.onFailure {
+			Timber.w(it, "Preparing channel $channelId failed")
+		}.getOrNull()
+	}
+
+	/**
+	 * Take the opened stream of the channel in [options] when it was opened with the same options. Otherwise all opened
+	 * streams are closed first, so the server has a tuner available for the stream the caller opens instead.
+	 */
+	suspend fun takeStream(options: VideoOptions): PlaybackInfoResponse? {
+		val itemId = options.itemId
+		// The start position doesn't apply to live streams
+		val request = options.toPlaybackInfoDto(startTimeTicks = null)
+		val stream = synchronized(channels) {
+			val channel = itemId?.let { channels[it] }
+			channel?.stream?.takeIf { stream -> stream.request == request }?.also { channel.stream = null }
+		}
+
+		val response = stream?.let {
+			runCatching { it.response.await() }
+				.onFailure { Timber.w(it, "Opening stream of $itemId failed") }
+				.getOrNull()
+		}
+
+		if (response == null || response.errorCode != null) {
+			closeStreams()
+			return null
+		}
+
+		Timber.d("Using opened stream of $itemId")
+		return response
+	}
+
+	/**
+	 * Release all prepared channels, for example when playback ends.
+	 */
+	fun release() {
+		synchronized(channels) {
+			for (channel in channels.values) {
+				channel.item.cancel()
+				channel.stream?.let(::close)
+			}
+			channels.clear()
+		}
+	}
+
+	private fun open(channelId: UUID): OpenedStream {
+		// Same options as the PlaybackController uses for the first attempt to play a channel
+		val options = VideoOptions().apply {
+			itemId = channelId
+			enableDirectStream = userPreferences[UserPreferences.liveTvDirectPlayEnabled]
+			profile = deviceProfileRepository.getDeviceProfile(!enableDirectStream)
+		}
+		val request = options.toPlaybackInfoDto(startTimeTicks = null)
+
+		Timber.d("Opening stream of channel $channelId")
+		val response = coroutineScope.async {
+			api.mediaInfoApi.getPostedPlaybackInfo(itemId = channelId, data = request).content
+		}
+
+		return OpenedStream(response, request)
+	}
+
+	private suspend fun closeStreams() {
+		val streams = synchronized(channels) {
+			channels.values.mapNotNull { channel -> channel.stream.also { channel.stream = null } }
+		}
+
+		// Wait for the tuners to be released
+		withContext(Dispatchers.IO) {
+			for (stream in streams) closeStream(stream)
+		}
+	}
+
+	private fun close(stream: OpenedStream) {
+		coroutineScope.launch { closeStream(stream) }
+	}
+
+	private suspend fun closeStream(stream: OpenedStream) {
+		// The stream is opened by the server even when the request is no longer awaited, let it finish to close it
+		val response = runCatching { stream.response.await() }.getOrNull() ?: return
+		val liveStreamId = response.mediaSources.firstNotNullOfOrNull { it.liveStreamId } ?: return
+
+		runCatching {
+			api.mediaInfoApi.closeLiveStream(liveStreamId)
+		}.onFailure {
+			Timber.w(it, "Unable to close live stream $liveStreamId")
+		}
+	}
+}
@@ -20,6 +20,7 @@ import org.jellyfin.androidtv.data.compat.PlaybackException;
 import org.jellyfin.androidtv.data.compat.StreamInfo;
 import org.jellyfin.androidtv.data.compat.VideoOptions;
 import org.jellyfin.androidtv.data.model.DataRefreshService;
+import org.jellyfin.androidtv.data.repository.DeviceProfileRepository;
 import org.jellyfin.androidtv.preference.UserPreferences;
 import org.jellyfin.androidtv.preference.UserSettingPreferences;
 import org.jellyfin.androidtv.preference.constant.AudioLanguage;
@@ -32,14 +33,16 @@ import org.jellyfin.androidtv.util.TimeUtils;
 import org.jellyfin.androidtv.util.Utils;
 import org.jellyfin.androidtv.util.apiclient.ReportingHelper;
 import org.jellyfin.androidtv.util.apiclient.Response;
-import org.jellyfin.androidtv.util.profile.DeviceProfileKt;
 import org.jellyfin.androidtv.util.sdk.compat.JavaCompat;
+import org.jellyfin.playback.media3.exoplayer.buffer.AdaptiveLoadControl;
+import org.jellyfin.playback.media3.exoplayer.diagnostics.PlaybackDiagnostics;
 import org.jellyfin.sdk.model.api.BaseItemDto;
 import org.jellyfin.sdk.model.api.BaseItemKind;
 import org.jellyfin.sdk.model.api.DeviceProfile;
 import org.jellyfin.sdk.model.api.LocationType;
 import org.jellyfin.sdk.model.api.MediaSourceInfo;
 import org.jellyfin.sdk.model.api.MediaStream;
+import org.jellyfin.sdk.model.api.MediaStreamProtocol;
 import org.jellyfin.sdk.model.api.MediaStreamType;
 import org.jellyfin.sdk.model.api.PlayMethod;
 import org.jellyfin.sdk.model.api.SubtitleDeliveryMethod;
@@ -63,7 +66,9 @@ public class PlaybackController implements PlaybackControllerNotifiable {
     private static final long PROGRESS_REPORTING_PAUSE_INTERVAL = TimeUtils.secondsToMillis(15);
 
     private Lazy<PlaybackManager> playbackManager = inject(PlaybackManager.class);
+    private Lazy<LiveTvZapper> liveTvZapper = inject(LiveTvZapper.class);
     private Lazy<UserPreferences> userPreferences = inject(UserPreferences.class);
+    private Lazy<DeviceProfileRepository> deviceProfileRepository = inject(DeviceProfileRepository.class);
     private Lazy<VideoQueueManager> videoQueueManager = inject(VideoQueueManager.class);
     private Lazy<org.jellyfin.sdk.api.client.ApiClient> api = inject(org.jellyfin.sdk.api.client.ApiClient.class);
     private Lazy<DataRefreshService> dataRefreshService = inject(DataRefreshService.class);
@@ -88,6 +93,7 @@ public class PlaybackController implements PlaybackControllerNotifiable {
 
     private Runnable mReportLoop;
     private Handler mHandler;
+    private TranscodeSeekScheduler mSeekScheduler;
 
     private long mStartPosition = 0;
 
@@ -119,6 +125,10 @@ public class PlaybackController implements PlaybackControllerNotifiable {
         }
         mFragment = fragment;
         mHandler = new Handler();
+        mSeekScheduler = new TranscodeSeekScheduler(mHandler, position -> {
+            restartStreamAt(position);
+            return null;
+        });
 
         refreshRateSwitchingBehavior = userPreferences.getValue().get(UserPreferences.Companion.getRefreshRateSwitchingBehavior());
         if (refreshRateSwitchingBehavior != RefreshRateSwitchingBehavior.DISABLED)
@@ -171,6 +181,16 @@ public class PlaybackController implements PlaybackControllerNotifiable {
         return mVideoManager != null && mVideoManager.isInitialized();
     }
 
+    @Nullable
+    public AdaptiveLoadControl getLoadControl() {
+        return hasInitializedVideoManager() ? mVideoManager.getLoadControl() : null;
+    }
+
+    @Nullable
+    public PlaybackDiagnostics getDiagnostics() {
+        return hasInitializedVideoManager() ? mVideoManager.getDiagnostics() : null;
+    }
+
     public org.jellyfin.sdk.model.api.MediaSourceInfo getCurrentMediaSource() {
         if (mCurrentStreamInfo != null && mCurrentStreamInfo.getMediaSource() != null) {
             return mCurrentStreamInfo.getMediaSource();
@@ -625,10 +645,7 @@ public class PlaybackController implements PlaybackControllerNotifiable {
             }
         }
 
-        DeviceProfile internalProfile = DeviceProfileKt.createDeviceProfile(
-                userPreferences.getValue(),
-                !internalOptions.getEnableDirectStream()
-        );
+        DeviceProfile internalProfile = deviceProfileRepository.getValue().getDeviceProfile(!internalOptions.getEnableDirectStream());
         internalOptions.setProfile(internalProfile);
         return internalOptions;
     }
@@ -646,6 +663,8 @@ public class PlaybackController implements PlaybackControllerNotifiable {
                         return;
                     mCurrentOptions = internalOptions;
                     startItem(item, position, response);
+                    // Prepare the channels that are likely next while this one is playing
+                    liveTvZapper.getValue().prepare(item.getId());
                 }
 
                 @Override
@@ -964,6 +983,7 @@ public class PlaybackController implements PlaybackControllerNotifiable {
         refreshCurrentPosition();
         Timber.d("stop called at %s", mCurrentPosition);
         stopReportLoop();
+        mSeekScheduler.cancel();
         if (mPlaybackState != PlaybackState.IDLE && mPlaybackState != PlaybackState.UNDEFINED) {
             mPlaybackState = PlaybackState.IDLE;
 
@@ -989,6 +1009,7 @@ public class PlaybackController implements PlaybackControllerNotifiable {
         stop();
         if (mVideoManager != null)
             mVideoManager.destroy();
+        liveTvZapper.getValue().release();
         mFragment = null;
         mVideoManager = null;
         resetPlayerErrors();
@@ -1061,7 +1082,10 @@ public class PlaybackController implements PlaybackControllerNotifiable {
             return;
         }
 
-        if (wasSeeking) {
+        // HLS transcodes are split in segments the server can start at any position, seek those in place like direct play
+        boolean seekInPlace = mVideoManager.isSeekable() || isHlsTranscode();
+
+        if (wasSeeking && seekInPlace) {
             Timber.d("Previous seek has not finished - cancelling seek from %s to %d", mCurrentPosition, pos);
             if (isPaused()) {
                 refreshCurrentPosition();
@@ -1092,37 +1116,14 @@ public class PlaybackController implements PlaybackControllerNotifiable {
 
         // rebuild the stream
         // if an older device uses exoplayer to play a transcoded stream but falls back to the generic http stream instead of hls, rebuild the stream
-        if (!mVideoManager.isSeekable()) {
+        if (!seekInPlace) {
             Timber.d("Seek method - rebuilding the stream");
-            //mkv transcodes require re-start of stream for seek
-            mVideoManager.stopPlayback();
-            mPlaybackState = PlaybackState.BUFFERING;
-
-            playbackManager.getValue().changeVideoStream(mFragment, mCurrentStreamInfo, mCurrentOptions, pos * 10000, new Response<StreamInfo>() {
-                @Override
-                public void onResponse(StreamInfo response) {
-                    mCurrentStreamInfo = response;
-                    if (mVideoManager != null) {
-                        mVideoManager.setMediaStreamInfo(api.getValue(), response);
-                        mVideoManager.start();
-                        mPlaybackState = PlaybackState.PLAYING;
-                        if (mFragment != null) {
-                            mFragment.setFadingEnabled(true);
-                            mFragment.setPlayPauseActionState(1);
-                        }
-                        startReportLoop();
-                    }
-                }
-
-                @Override
-                public void onError(Exception exception) {
-                    if (mFragment != null)
-                        Utils.showToast(mFragment.getContext(), R.string.msg_video_playback_error);
-                    Timber.e(exception, "Error trying to seek transcoded stream");
-                    // call stop so playback can be retried by the user
-                    stop();
-                }
-            });
+            //mkv transcodes require re-start of stream for seek, wait for the user to stop seeking before restarting it
+            if (mPlaybackState != PlaybackState.BUFFERING) {
+                mVideoManager.stopPlayback();
+                mPlaybackState = PlaybackState.BUFFERING;
+            }
+            mSeekScheduler.request(pos);
         } else {
             // use the same approach to directplay seeking as setOnProgressListener
             // set state to SEEKING
@@ -1146,16 +1147,74 @@ public class PlaybackController implements PlaybackControllerNotifiable {
         }
     }
 
+    private boolean isHlsTranscode() {
+        MediaSourceInfo mediaSource = getCurrentMediaSource();
+        return mCurrentStreamInfo != null
+                && mCurrentStreamInfo.getPlayMethod() == PlayMethod.TRANSCODE
+                && mediaSource != null
+                && mediaSource.getTranscodingSubProtocol() == MediaStreamProtocol.HLS;
+    }
+
+    private void restartStreamAt(long pos) {
+        if (mCurrentStreamInfo == null || mFragment == null) {
+            mSeekScheduler.cancel();
+            return;
+        }
+
+        playbackManager.getValue().changeVideoStream(mFragment, mCurrentStreamInfo, mCurrentOptions, pos * 10000, new Response<StreamInfo>() {
+            @Override
+            public void onResponse(StreamInfo response) {
+                // Playback stopped while restarting
+                if (!mSeekScheduler.isSeeking()) return;
+                mCurrentStreamInfo = response;
+                // Another seek was requested while restarting, the stream is restarted again at that position
+                if (!mSeekScheduler.onRestartFinished()) return;
+
+                if (mVideoManager != null) {
+                    mVideoManager.setMediaStreamInfo(api.getValue(), response);
+                    mVideoManager.start();
+                    mPlaybackState = PlaybackState.PLAYING;
+                    if (mFragment != null) {
+                        mFragment.setFadingEnabled(true);
+                        mFragment.setPlayPauseActionState(1);
+                    }
+                    startReportLoop();
+                }
+            }
+
+            @Override
+            public void onError(Exception exception) {
+                if (!mSeekScheduler.isSeeking()) return;
+                mSeekScheduler.cancel();
+
+                if (mFragment != null)
+                    Utils.showToast(mFragment.getContext(), R.string.msg_video_playback_error);
+                Timber.e(exception, "Error trying to seek transcoded stream");
+                // call stop so playback can be retried by the user
+                stop();
+            }
+        });
+    }
+
+    /**
+     * The amount of transcode restarts avoided by coalescing seeks in the current stream.
+     */
+    public int getAvoidedTranscodeRestarts() {
+        return mSeekScheduler.getAvoidedRestarts();
+    }
+
     private long currentSkipPos = 0;
     private final Runnable skipRunnable = () -> {
-        if (!(isPlaying() || isPaused())) return; // in case we completed since this was requested
+        if (!(isPlaying() || isPaused() || mSeekScheduler.isSeeking())) return; // in case we completed since this was requested
 
         seek(currentSkipPos);
         currentSkipPos = 0;
     };
 
     private void skip(int msec) {
-        if (hasInitializedVideoManager() && (isPlaying() || isPaused()) && spinnerOff && mVideoManager.getCurrentPosition() > 0) { //guard against skipping before playback has truly begun
+        // keep skipping from the target of a transcode restart that is not applied yet
+        boolean restartPending = mSeekScheduler.isSeeking();
+        if (hasInitializedVideoManager() && (restartPending || ((isPlaying() || isPaused()) && spinnerOff && mVideoManager.getCurrentPosition() > 0))) { //guard against skipping before playback has truly begun
             mHandler.removeCallbacks(skipRunnable);
             refreshCurrentPosition();
             currentSkipPos = Utils.getSafeSeekPosition((currentSkipPos == 0 ? mCurrentPosition : currentSkipPos) + msec, getDuration());
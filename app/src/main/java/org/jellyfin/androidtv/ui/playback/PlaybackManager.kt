@@ -9,6 +9,7 @@ import org.jellyfin.androidtv.data.compat.PlaybackException
 import org.jellyfin.androidtv.data.compat.StreamInfo
 import org.jellyfin.androidtv.data.compat.VideoOptions
 import org.jellyfin.androidtv.util.apiclient.Response
+import org.jellyfin.playback.jellyfin.mediastream.PlaybackInfoCache
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.extensions.hlsSegmentApi
 import org.jellyfin.sdk.api.client.extensions.mediaInfoApi
@@ -17,6 +18,23 @@ import org.jellyfin.sdk.model.api.PlayMethod
 import org.jellyfin.sdk.model.api.PlaybackInfoDto
 import org.jellyfin.sdk.model.api.PlaybackInfoResponse
 
+/**
+ * The playback info request for [options]. Also used by the [LiveTvZapper] to open streams with the same request.
+ */
+internal fun VideoOptions.toPlaybackInfoDto(startTimeTicks: Long?) = PlaybackInfoDto(
+	mediaSourceId = mediaSourceId,
+	startTimeTicks = startTimeTicks,
+	deviceProfile = profile,
+	enableDirectStream = enableDirectStream,
+	enableDirectPlay = enableDirectPlay,
+	maxAudioChannels = maxAudioChannels,
+	audioStreamIndex = audioStreamIndex.takeIf { it != null && it >= 0 },
+	subtitleStreamIndex = subtitleStreamIndex,
+	allowVideoStreamCopy = true,
+	allowAudioStreamCopy = true,
+	autoOpenLiveStream = true,
+)
+
 private fun createStreamInfo(
 	api: ApiClient,
 	options: VideoOptions,
@@ -54,7 +72,9 @@ private fun createStreamInfo(
 }
 
 class PlaybackManager(
-	private val api: ApiClient
+	private val api: ApiClient,
+	private val playbackInfoCache: PlaybackInfoCache,
+	private val liveTvZapper: LiveTvZapper,
 ) {
 	fun getVideoStreamInfo(
 		lifecycleOwner: LifecycleOwner,
@@ -62,7 +82,7 @@ class PlaybackManager(
 		startTimeTicks: Long,
 		callback: Response<StreamInfo>,
 	) = lifecycleOwner.lifecycleScope.launch {
-		getVideoStreamInfoInternal(options, startTimeTicks).fold(
+		getVideoStreamInfoInternal(options, startTimeTicks, useOpenedStream = true).fold(
 			onSuccess = { callback.onResponse(it) },
 			onFailure = { callback.onError(Exception(it)) },
 		)
@@ -81,7 +101,7 @@ class PlaybackManager(
 			}
 		}
 
-		getVideoStreamInfoInternal(options, startTimeTicks).fold(
+		getVideoStreamInfoInternal(options, startTimeTicks, useOpenedStream = false).fold(
 			onSuccess = { callback.onResponse(it) },
 			onFailure = { callback.onError(Exception(it)) },
 		)
@@ -89,24 +109,15 @@ class PlaybackManager(
 
 	private suspend fun getVideoStreamInfoInternal(
 		options: VideoOptions,
-		startTimeTicks: Long
+		startTimeTicks: Long,
+		useOpenedStream: Boolean,
 	) = runCatching {
-		val response =withContext(Dispatchers.IO) {
+		val prepared = getPrefetchedPlaybackInfo(options)
+			?: if (useOpenedStream) liveTvZapper.takeStream(options) else null
+		val response = prepared ?: withContext(Dispatchers.IO) {
 			api.mediaInfoApi.getPostedPlaybackInfo(
 				itemId = requireNotNull(options.itemId) { "Item id cannot be null" },
-				data = PlaybackInfoDto(
-					mediaSourceId = options.mediaSourceId,
-					startTimeTicks = startTimeTicks,
-					deviceProfile = options.profile,
-					enableDirectStream = options.enableDirectStream,
-					enableDirectPlay = options.enableDirectPlay,
-					maxAudioChannels = options.maxAudioChannels,
-					audioStreamIndex = options.audioStreamIndex.takeIf { it != null && it >= 0 },
-					subtitleStreamIndex = options.subtitleStreamIndex,
-					allowVideoStreamCopy = true,
-					allowAudioStreamCopy = true,
-					autoOpenLiveStream = true,
-				)
+				data = options.toPlaybackInfoDto(startTimeTicks),
 			).content
 		}
 
@@ -118,4 +129,20 @@ class PlaybackManager(
 
 		createStreamInfo(api, options, response)
 	}
+
+	/**
+	 * Use the prefetched playback info when it results in direct play. Other play methods depend on the selected
+	 * streams and start position, which are not known when prefetching.
+	 */
+	private suspend fun getPrefetchedPlaybackInfo(options: VideoOptions): PlaybackInfoResponse? {
+		val itemId = options.itemId ?: return null
+		val profile = options.profile ?: return null
+		if (!options.enableDirectPlay || options.audioStreamIndex != null || options.subtitleStreamIndex != null) return null
+
+		val response = playbackInfoCache.take(itemId, options.mediaSourceId, profile) ?: return null
+		val source = response.mediaSources.firstOrNull { it.id == options.mediaSourceId }
+			?: response.mediaSources.firstOrNull()
+
+		return response.takeIf { source?.supportsDirectPlay == true }
+	}
 }
@@ -0,0 +1,84 @@
+package org.jellyfin.androidtv.ui.playback
+
+import android.os.Handler
+import timber.log.Timber
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * Schedules seeks in streams that can't seek in place, where every seek restarts the transcode on the server. Seeks
+ * requested in quick succession, like repeated skips or remote seek commands, are coalesced into a single restart at the
+ * last requested position once no new seek is requested for a moment. Seeks requested while a restart is in progress
+ * are applied as soon as it finishes instead of being dropped.
+ */
+class TranscodeSeekScheduler(
+	private val handler: Handler,
+	private val restart: (position: Long) -> Unit,
+) {
+	private companion object {
+		private val QUIET_PERIOD = 600.milliseconds
+	}
+
+	private var pendingPosition: Long? = null
+	private var isRestarting = false
+	private var requests = 0
+	private var restarts = 0
+
+	private val applyRunnable = Runnable { apply() }
+
+	/**
+	 * Whether a seek is waiting to be applied or a restart is in progress.
+	 */
+	val isSeeking get() = pendingPosition != null || isRestarting
+
+	/**
+	 * The amount of transcode restarts avoided by coalescing seeks.
+	 */
+	val avoidedRestarts get() = (requests - restarts).coerceAtLeast(0)
+
+	/**
+	 * Request a seek to [position] in milliseconds, replacing the position of a seek that is not applied yet.
+	 */
+	fun request(position: Long) {
+		requests++
+		pendingPosition = position
+
+		handler.removeCallbacks(applyRunnable)
+		if (!isRestarting) handler.postDelayed(applyRunnable, QUIET_PERIOD.inWholeMilliseconds)
+	}
+
+	/**
+	 * Notify the scheduler that the restarted stream is ready. Returns false when a seek was requested while restarting,
+	 * the transcode is then restarted at that position right away and the ready stream should not be started.
+	 */
+	fun onRestartFinished(): Boolean {
+		isRestarting = false
+		if (pendingPosition == null) return true
+
+		handler.removeCallbacks(applyRunnable)
+		apply()
+		return false
+	}
+
+	/**
+	 * Drop the pending seek when playback of the stream stops and log the amount of avoided restarts.
+	 */
+	fun cancel() {
+		handler.removeCallbacks(applyRunnable)
+		pendingPosition = null
+		isRestarting = false
+
+		if (requests > 0) Timber.i("Coalesced $requests seeks into $restarts transcode restarts, avoided $avoidedRestarts restarts")
+		requests = 0
+		restarts = 0
+	}
+
+	private fun apply() {
+		val position = pendingPosition ?: return
+		pendingPosition = null
+		isRestarting = true
+		restarts++
+
+		Timber.d("Restarting transcode at $position after $requests seeks")
+		restart(position)
+	}
+}
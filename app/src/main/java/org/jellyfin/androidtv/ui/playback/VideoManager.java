@@ -35,6 +35,7 @@ import androidx.media3.exoplayer.ExoPlayer;
 import androidx.media3.exoplayer.analytics.AnalyticsListener;
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
 import androidx.media3.exoplayer.trackselection.DefaultTrackSelector;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
 import androidx.media3.exoplayer.util.EventLogger;
 import androidx.media3.extractor.DefaultExtractorsFactory;
 import androidx.media3.extractor.ExtractorsFactory;
@@ -48,6 +49,9 @@ import org.jellyfin.androidtv.R;
 import org.jellyfin.androidtv.data.compat.StreamInfo;
 import org.jellyfin.androidtv.preference.UserPreferences;
 import org.jellyfin.androidtv.preference.constant.ZoomMode;
+import org.jellyfin.playback.media3.exoplayer.buffer.AdaptiveLoadControl;
+import org.jellyfin.playback.media3.exoplayer.buffer.BufferPolicy;
+import org.jellyfin.playback.media3.exoplayer.diagnostics.PlaybackDiagnostics;
 import org.jellyfin.sdk.api.client.ApiClient;
 import org.jellyfin.sdk.model.api.MediaStream;
 import org.jellyfin.sdk.model.api.MediaStreamType;
@@ -77,6 +81,8 @@ public class VideoManager {
     private PlaybackControllerNotifiable mPlaybackControllerNotifiable;
     private PlaybackOverlayFragmentHelper _helper;
     public ExoPlayer mExoPlayer;
+    private AdaptiveLoadControl mLoadControl;
+    private final PlaybackDiagnostics mDiagnostics = new PlaybackDiagnostics();
     private PlayerView mExoPlayerView;
     private Handler mHandler = new Handler();
 
@@ -97,7 +103,9 @@ public class VideoManager {
         boolean assDirectPlay = userPreferences.get(UserPreferences.Companion.getAssDirectPlay());
         AssHandler assHandler = assDirectPlay ? new AssHandler(AssRenderType.OVERLAY) : null;
 
+        mLoadControl = new AdaptiveLoadControl(BufferPolicy.create(activity), DefaultBandwidthMeter.getSingletonInstance(activity));
         mExoPlayer = configureExoplayerBuilder(activity, assHandler).build();
+        mDiagnostics.attach(mExoPlayer);
 
         if (userPreferences.get(UserPreferences.Companion.getDebuggingEnabled())) {
             mExoPlayer.addAnalyticsListener(new EventLogger());
@@ -226,11 +234,14 @@ public class VideoManager {
                 .build()
         );
         exoPlayerBuilder.setTrackSelector(trackSelector);
+        exoPlayerBuilder.setLoadControl(mLoadControl);
 
         DefaultExtractorsFactory extractorsFactory = new DefaultExtractorsFactory().setTsExtractorTimestampSearchBytes(TsExtractor.DEFAULT_TIMESTAMP_SEARCH_BYTES * 3);
         extractorsFactory.setConstantBitrateSeekingEnabled(true);
         extractorsFactory.setConstantBitrateSeekingAlwaysEnabled(true);
         DefaultDataSource.Factory dataSourceFactory = new DefaultDataSource.Factory(context, exoPlayerHttpDataSourceFactory);
+        // Count the bytes of the stream for the diagnostics
+        dataSourceFactory.setTransferListener(mDiagnostics);
         if (assHandler != null) {
             AssSubtitleParserFactory assSubtitleParserFactory = new AssSubtitleParserFactory(assHandler);
             ExtractorsFactory assExtractorsFactory = AssPlayerKt.withAssMkvSupport(extractorsFactory, assSubtitleParserFactory, assHandler);
@@ -250,6 +261,14 @@ public class VideoManager {
         return mExoPlayer != null;
     }
 
+    public @NonNull AdaptiveLoadControl getLoadControl() {
+        return mLoadControl;
+    }
+
+    public @NonNull PlaybackDiagnostics getDiagnostics() {
+        return mDiagnostics;
+    }
+
     public @NonNull ZoomMode getZoomMode() {
         return mZoomMode;
     }
@@ -369,6 +388,9 @@ public class VideoManager {
         }
         Timber.i("Video path set to: %s", path);
 
+        // Select the buffer profile before the new stream starts loading
+        mLoadControl.setStreamBitrate(streamInfo.getMediaSource().getBitrate());
+
         try {
             // Add external subtitles
             List<MediaItem.SubtitleConfiguration> subtitleConfigurations = new ArrayList<>();
@@ -588,6 +610,7 @@ public class VideoManager {
 
     private void releasePlayer() {
         if (mExoPlayer != null) {
+            mDiagnostics.detach();
             mExoPlayerView.setPlayer(null);
             mExoPlayer.release();
             mExoPlayer = null;
@@ -8,20 +8,21 @@ import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import org.jellyfin.androidtv.data.repository.ItemCacheRepository
 import org.jellyfin.androidtv.preference.UserPreferences
 import org.jellyfin.androidtv.preference.constant.NextUpBehavior
 import org.jellyfin.androidtv.util.apiclient.itemImages
 import org.jellyfin.androidtv.util.apiclient.parentImages
 import org.jellyfin.androidtv.util.sdk.getDisplayName
-import org.jellyfin.sdk.api.client.ApiClient
-import org.jellyfin.sdk.api.client.extensions.userLibraryApi
+import org.jellyfin.playback.jellyfin.mediastream.PlaybackInfoCache
 import org.jellyfin.sdk.model.UUID
 import org.jellyfin.sdk.model.api.ImageType
 
 class NextUpViewModel(
 	private val context: Context,
-	private val api: ApiClient,
 	private val userPreferences: UserPreferences,
+	private val itemCacheRepository: ItemCacheRepository,
+	private val playbackInfoCache: PlaybackInfoCache,
 ) : ViewModel() {
 	private val _item = MutableStateFlow<NextUpItemData?>(null)
 	val item: StateFlow<NextUpItemData?> = _item
@@ -46,7 +47,9 @@ class NextUpViewModel(
 	}
 
 	private suspend fun loadItemData(id: UUID) = withContext(Dispatchers.IO) {
-		val item by api.userLibraryApi.getItem(itemId = id)
+		val item = itemCacheRepository.getItem(id)
+		// The next item is likely to be played
+		playbackInfoCache.prefetch(item.id)
 
 		val thumbnail = item.itemImages[ImageType.PRIMARY]
 			.takeIf { userPreferences[UserPreferences.nextUpBehavior] == NextUpBehavior.EXTENDED }
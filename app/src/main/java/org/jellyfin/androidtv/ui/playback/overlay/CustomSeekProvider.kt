@@ -4,13 +4,6 @@ import android.content.Context
 import androidx.leanback.widget.PlaybackSeekDataProvider
 import coil3.ImageLoader
 import coil3.network.NetworkHeaders
-import coil3.network.httpHeaders
-import coil3.request.Disposable
-import coil3.request.ImageRequest
-import coil3.request.transformations
-import coil3.size.Size
-import coil3.toBitmap
-import org.jellyfin.androidtv.util.coil.SubsetTransformation
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.extensions.trickplayApi
 import org.jellyfin.sdk.api.client.util.AuthorizationHeaderBuilder
@@ -26,7 +19,8 @@ class CustomSeekProvider(
 	private val trickPlayEnabled: Boolean,
 	private val forwardTime: Long
 ) : PlaybackSeekDataProvider() {
-	private val imageRequests = mutableMapOf<Int, Disposable>()
+	private val sheetCache by lazy { TrickplaySheetCache(imageLoader, context) }
+	private var lastIndex = -1
 
 	override fun getSeekPositions(): LongArray {
 		if (!videoPlayerAdapter.canSeek()) return LongArray(0)
@@ -39,9 +33,6 @@ class CustomSeekProvider(
 	override fun getThumbnail(index: Int, callback: ResultCallback) {
 		if (!trickPlayEnabled) return
 
-		val currentRequest = imageRequests[index]
-		if (currentRequest?.isDisposed == false) currentRequest.dispose()
-
 		val item = videoPlayerAdapter.currentlyPlayingItem
 		val mediaSource = videoPlayerAdapter.currentMediaSource
 		val mediaSourceId = mediaSource?.id?.toUUIDOrNull()
@@ -63,44 +54,48 @@ class CustomSeekProvider(
 		val offsetX = tileOffsetX * trickPlayInfo.width
 		val offsetY = tileOffsetY * trickPlayInfo.height
 
-		val url = api.trickplayApi.getTrickplayTileImageUrl(
+		fun getTileUrl(index: Int) = api.trickplayApi.getTrickplayTileImageUrl(
 			itemId = item.id,
 			width = trickPlayInfo.width,
-			index = tileIndex,
+			index = index,
 			mediaSourceId = mediaSourceId,
 		)
 
-		imageRequests[index] = imageLoader.enqueue(ImageRequest.Builder(context).apply {
-			data(url)
-			size(Size.ORIGINAL)
-			httpHeaders(NetworkHeaders.Builder().apply {
-				set(
-					key = "Authorization",
-					value = AuthorizationHeaderBuilder.buildHeader(
-						api.clientInfo.name,
-						api.clientInfo.version,
-						api.deviceInfo.id,
-						api.deviceInfo.name,
-						api.accessToken
-					)
+		val headers = NetworkHeaders.Builder().apply {
+			set(
+				key = "Authorization",
+				value = AuthorizationHeaderBuilder.buildHeader(
+					api.clientInfo.name,
+					api.clientInfo.version,
+					api.deviceInfo.id,
+					api.deviceInfo.name,
+					api.accessToken
 				)
-			}.build())
+			)
+		}.build()
 
-			transformations(SubsetTransformation(offsetX, offsetY, trickPlayInfo.width, trickPlayInfo.height))
+		sheetCache.getTile(
+			url = getTileUrl(tileIndex),
+			headers = headers,
+			x = offsetX,
+			y = offsetY,
+			width = trickPlayInfo.width,
+			height = trickPlayInfo.height,
+		) { tile ->
+			callback.onThumbnailLoaded(tile, index)
+		}
 
-			target(
-				onSuccess = { image ->
-					val bitmap = image.toBitmap()
-					callback.onThumbnailLoaded(bitmap, index)
-				}
-			)
-		}.build())
+		// Load the neighboring sheets, starting with the one in the scrub direction
+		val sheetCount = ceil(trickPlayInfo.thumbnailCount.toDouble() / tileSize).toInt()
+		val direction = if (index < lastIndex) -1 else 1
+		lastIndex = index
+		for (neighbor in listOf(tileIndex + direction, tileIndex - direction)) {
+			if (neighbor in 0 until sheetCount) sheetCache.prefetch(getTileUrl(neighbor), headers)
+		}
 	}
 
 	override fun reset() {
-		for (request in imageRequests.values) {
-			if (!request.isDisposed) request.dispose()
-		}
-		imageRequests.clear()
+		sheetCache.clear()
+		lastIndex = -1
 	}
 }
@@ -0,0 +1,145 @@
+package org.jellyfin.androidtv.ui.playback.overlay
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Rect
+import android.util.LruCache
+import coil3.ImageLoader
+import coil3.network.NetworkHeaders
+import coil3.network.httpHeaders
+import coil3.request.CachePolicy
+import coil3.request.Disposable
+import coil3.request.ImageRequest
+import coil3.request.bitmapConfig
+import coil3.size.Size
+import coil3.toBitmap
+
+/**
+ * Keeps decoded trickplay tile sheets in memory so each sheet is only decoded once while scrubbing. Tiles are drawn
+ * from the sheet and kept as well, as the same tiles are requested repeatedly while seeking back and forth. The bitmaps
+ * of evicted tiles are reused for new tiles, so scrubbing doesn't allocate a bitmap per tile. All functions should be
+ * called from the main thread.
+ */
+class TrickplaySheetCache(
+	private val imageLoader: ImageLoader,
+	private val context: Context,
+) {
+	private companion object {
+		// The current sheet and the sheets before and after it
+		private const val MAX_SHEETS = 3
+		private const val MAX_TILES = 32
+	}
+
+	private data class TileKey(
+		val url: String,
+		val x: Int,
+		val y: Int,
+	)
+
+	private val sheets = LruCache<String, Bitmap>(MAX_SHEETS)
+	private val freeTiles = ArrayDeque<Bitmap>()
+	private val tiles = object : LruCache<TileKey, Bitmap>(MAX_TILES) {
+		override fun entryRemoved(evicted: Boolean, key: TileKey, oldValue: Bitmap, newValue: Bitmap?) {
+			if (evicted) freeTiles.addLast(oldValue)
+		}
+	}
+	private val canvas = Canvas()
+	private val sourceRect = Rect()
+	private val tileRect = Rect()
+	private val requests = mutableMapOf<String, Disposable>()
+	private val pendingCallbacks = mutableMapOf<String, MutableList<(sheet: Bitmap) -> Unit>>()
+
+	/**
+	 * Get the tile at [x], [y] of the sheet at [url]. The sheet is loaded first when it's not in memory.
+	 */
+	fun getTile(
+		url: String,
+		headers: NetworkHeaders,
+		x: Int,
+		y: Int,
+		width: Int,
+		height: Int,
+		onLoaded: (tile: Bitmap) -> Unit,
+	) {
+		val key = TileKey(url, x, y)
+		tiles[key]?.let { tile -> return onLoaded(tile) }
+
+		getSheet(url, headers) { sheet ->
+			// Sheets at the end of a video can be smaller than the tile grid
+			if (x + width > sheet.width || y + height > sheet.height) return@getSheet
+
+			val tile = tiles[key] ?: drawTile(sheet, x, y, width, height).also { tiles.put(key, it) }
+			onLoaded(tile)
+		}
+	}
+
+	private fun drawTile(sheet: Bitmap, x: Int, y: Int, width: Int, height: Int): Bitmap {
+		// Free tiles of another size are left to the garbage collector
+		val tile = generateSequence { freeTiles.removeFirstOrNull() }
+			.firstOrNull { it.width == width && it.height == height }
+			?: Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565)
+
+		sourceRect.set(x, y, x + width, y + height)
+		tileRect.set(0, 0, width, height)
+		canvas.setBitmap(tile)
+		canvas.drawBitmap(sheet, sourceRect, tileRect, null)
+		canvas.setBitmap(null)
+
+		return tile
+	}
+
+	/**
+	 * Load the sheet at [url] in the background if it's not in memory yet.
+	 */
+	fun prefetch(url: String, headers: NetworkHeaders) {
+		if (sheets[url] != null || url in requests) return
+		load(url, headers)
+	}
+
+	/**
+	 * Cancel all requests and release all sheets and tiles.
+	 */
+	fun clear() {
+		for (request in requests.values) {
+			if (!request.isDisposed) request.dispose()
+		}
+		requests.clear()
+		pendingCallbacks.clear()
+		sheets.evictAll()
+		tiles.evictAll()
+		freeTiles.clear()
+	}
+
+	private fun getSheet(url: String, headers: NetworkHeaders, callback: (sheet: Bitmap) -> Unit) {
+		sheets[url]?.let { sheet -> return callback(sheet) }
+
+		pendingCallbacks.getOrPut(url) { mutableListOf() }.add(callback)
+		if (url !in requests) load(url, headers)
+	}
+
+	private fun load(url: String, headers: NetworkHeaders) {
+		requests[url] = imageLoader.enqueue(ImageRequest.Builder(context).apply {
+			data(url)
+			size(Size.ORIGINAL)
+			httpHeaders(headers)
+			// Trickplay images have no transparency, halve the size of the sheet in memory
+			bitmapConfig(Bitmap.Config.RGB_565)
+			// The sheets are kept in this cache instead
+			memoryCachePolicy(CachePolicy.DISABLED)
+
+			listener(
+				onSuccess = { _, result ->
+					requests.remove(url)
+					val sheet = result.image.toBitmap()
+					sheets.put(url, sheet)
+					pendingCallbacks.remove(url)?.forEach { callback -> callback(sheet) }
+				},
+				onError = { _, _ ->
+					requests.remove(url)
+					pendingCallbacks.remove(url)
+				},
+			)
+		}.build())
+	}
+}
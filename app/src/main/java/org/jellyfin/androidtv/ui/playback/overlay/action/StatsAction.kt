@@ -13,12 +13,11 @@ import org.jellyfin.androidtv.R
 import org.jellyfin.androidtv.databinding.OverlayStatsBindingBinding
 import org.jellyfin.androidtv.ui.graph.NetworkGraphView
 import org.jellyfin.androidtv.ui.playback.PlaybackController
-import org.jellyfin.androidtv.ui.playback.getConnectionSpeed
-import org.jellyfin.androidtv.ui.playback.getNetworkStats
-import org.jellyfin.androidtv.ui.playback.model.NetworkStats
 import org.jellyfin.androidtv.ui.playback.overlay.CustomPlaybackTransportControlGlue
 import org.jellyfin.androidtv.ui.playback.overlay.VideoPlayerAdapter
 import org.jellyfin.androidtv.util.dp
+import org.jellyfin.playback.media3.exoplayer.buffer.BufferProfile
+import org.jellyfin.playback.media3.exoplayer.diagnostics.PlaybackSample
 import org.jellyfin.sdk.model.api.MediaStream
 import org.jellyfin.sdk.model.api.MediaStreamType
 import org.jellyfin.sdk.model.api.VideoRangeType
@@ -97,6 +96,16 @@ class StatsAction(
 
         // Update stats
         updateStats(playbackController, videoPlayerAdapter, context)
+        updateBufferProfile(playbackController)
+
+        binding?.bufferProfile?.setOnClickListener {
+            val loadControl = playbackController.loadControl ?: return@setOnClickListener
+
+            // Cycle from automatic selection through each preset
+            val options = listOf(null) + BufferProfile.PRESETS
+            loadControl.profileOverride = options[(options.indexOf(loadControl.profileOverride) + 1) % options.size]
+            updateBufferProfile(playbackController)
+        }
 
         // Show the overlay
         statsOverlay?.visibility = View.VISIBLE
@@ -127,72 +136,21 @@ class StatsAction(
         if (isMonitoringNetwork) return
         isMonitoringNetwork = true
 
-        // Get initial stats to avoid spikes
-        playbackController.getNetworkStats()
-
-        // Reset the graph when starting monitoring
-        networkGraph?.post {
-            networkGraph?.reset()
-        }
-
         networkMonitor = object : Runnable {
-            private var lastTime = System.currentTimeMillis()
-            private var lastDownloadSpeed = 0f
-            private var lastUploadSpeed = 0f
-            private val smoothingFactor = 0.7f // Higher = smoother but more lag
-
             override fun run() {
                 if (!isMonitoringNetwork) return
 
-                try {
-                    val currentTime = System.currentTimeMillis()
-                    val timeDelta = (currentTime - lastTime).coerceAtLeast(1)
-
-                    // Get current network stats (already in bytes per second)
-                    val stats = playbackController.getNetworkStats()
-
-                    // Convert to kbps (kilobits per second)
-                    val downloadKbps = (stats.bytesRead * 8) / 1000f
-                    val uploadKbps = (stats.bytesWritten * 8) / 1000f
-
-                    // Apply exponential moving average for smoothing
-                    val smoothedDownload = when {
-                        lastDownloadSpeed == 0f -> downloadKbps.coerceAtLeast(0f)
-                        else -> (downloadKbps * (1 - smoothingFactor)) + (lastDownloadSpeed * smoothingFactor)
-                    }.coerceAtLeast(0f)
-
-                    val smoothedUpload = when {
-                        lastUploadSpeed == 0f -> uploadKbps.coerceAtLeast(0f)
-                        else -> (uploadKbps * (1 - smoothingFactor)) + (lastUploadSpeed * smoothingFactor)
-                    }.coerceAtLeast(0f)
-
-                    // Update last values
-                    lastDownloadSpeed = smoothedDownload
-                    lastUploadSpeed = smoothedUpload
-                    lastTime = currentTime
-
-                    // Update graph on UI thread
-                    networkGraph?.post {
-                        try {
-                            networkGraph?.addData(smoothedDownload, smoothedUpload)
-                        } catch (e: Exception) {
-                            // Silently handle errors
-                        }
-                    }
+                // The diagnostics sample once per second, render the samples collected so far
+                val diagnostics = playbackController.diagnostics
+                val samples = diagnostics?.samples?.snapshot().orEmpty()
+                networkGraph?.setSamples(samples)
+                binding?.diagnosticsStats?.text = formatDiagnostics(samples.lastOrNull())
 
-                } catch (e: Exception) {
-                    // Silently handle errors but continue monitoring
-                } finally {
-                    // Always schedule the next update
-                    if (isMonitoringNetwork) {
-                        networkHandler.postDelayed(this, 500)
-                    }
-                }
+                networkHandler.postDelayed(this, 1000)
             }
         }
 
-        // Start monitoring with a small delay to allow UI to update
-        networkMonitor?.let { networkHandler.postDelayed(it, 100) }
+        networkMonitor?.let { networkHandler.post(it) }
     }
 
     private fun stopNetworkMonitoring() {
@@ -203,8 +161,19 @@ class StatsAction(
         networkMonitor = null
 
         // Reset the graph when stopping monitoring
-        networkGraph?.post {
-            networkGraph?.reset()
+        networkGraph?.reset()
+    }
+
+    private fun formatDiagnostics(sample: PlaybackSample?): String {
+        if (sample == null) return ""
+
+        return buildString {
+            sample.videoDecoder?.let { append("• Video decoder: $it\n") }
+            sample.audioDecoder?.let { append("• Audio decoder: $it\n") }
+            append("• Buffered: ${String.format(Locale.US, "%.1f", sample.bufferedDurationMs / 1000.0)}s\n")
+            append("• Frames: ${sample.renderedFrames} rendered, ${sample.droppedFrames} dropped per second\n")
+            append("• Rebuffers: ${sample.rebuffers}")
+            sample.timeToFirstFrameMs?.let { append("\n• First frame after: ${it}ms") }
         }
     }
 
@@ -407,12 +376,29 @@ class StatsAction(
                 } else {
                     append("Direct Play")
                 }
+
+                val avoidedRestarts = playbackController.avoidedTranscodeRestarts
+                if (avoidedRestarts > 0) {
+                    append("\nSeeking: $avoidedRestarts transcode restarts avoided")
+                }
             }
 
             playbackState.text = transcodingDetails
         }
     }
 
+    private fun updateBufferProfile(playbackController: PlaybackController) {
+        val loadControl = playbackController.loadControl
+        binding?.bufferProfile?.apply {
+            isVisible = loadControl != null
+            if (loadControl == null) return@apply
+
+            val profile = loadControl.profile
+            val mode = if (loadControl.profileOverride == null) "Auto" else "Manual"
+            text = "Buffer: ${profile.name} ($mode) • ${profile.minBuffer.inWholeSeconds}-${profile.maxBuffer.inWholeSeconds}s"
+        }
+    }
+
     fun dismissPopup() {
         hideStatsOverlay()
     }
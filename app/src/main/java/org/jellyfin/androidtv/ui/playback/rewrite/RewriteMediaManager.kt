@@ -4,8 +4,9 @@ import android.content.Context
 import androidx.lifecycle.ProcessLifecycleOwner
 import androidx.lifecycle.lifecycleScope
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.coroutineScope
-import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.launch
@@ -19,11 +20,15 @@ import org.jellyfin.androidtv.ui.playback.MediaManager
 import org.jellyfin.androidtv.ui.playback.PlaybackController
 import org.jellyfin.androidtv.ui.presentation.CardPresenter
 import org.jellyfin.playback.core.PlaybackManager
+import org.jellyfin.playback.core.clock.PositionClockService
+import org.jellyfin.playback.core.clock.positionClock
 import org.jellyfin.playback.core.model.PlayState
 import org.jellyfin.playback.core.model.PlaybackOrder
 import org.jellyfin.playback.core.model.RepeatMode
 import org.jellyfin.playback.core.queue.QueueEntry
+import org.jellyfin.playback.core.queue.QueueSnapshot
 import org.jellyfin.playback.core.queue.queue
+import org.jellyfin.playback.core.queue.queueSnapshotFlow
 import org.jellyfin.playback.core.queue.supplier.QueueSupplier
 import org.jellyfin.playback.jellyfin.queue.baseItem
 import org.jellyfin.playback.jellyfin.queue.createBaseItemQueueEntry
@@ -90,6 +95,18 @@ class RewriteMediaManager(
 	private val audioListeners = mutableListOf<AudioEventListener>()
 	private var audioListenersJob: Job? = null
 
+	private val queueRefresh = MutableSharedFlow<Unit>(
+		extraBufferCapacity = 1,
+		onBufferOverflow = BufferOverflow.DROP_OLDEST,
+	)
+
+	init {
+		// The upcoming items are retrieved without blocking, a new snapshot replaces any pending one
+		playbackManager.queueSnapshotFlow(@Suppress("MagicNumber") 100, queueRefresh)
+			.onEach(::updateAdapter)
+			.launchIn(ProcessLifecycleOwner.get().lifecycleScope)
+	}
+
 	override fun addAudioEventListener(listener: AudioEventListener) {
 		audioListeners.add(listener)
 
@@ -117,14 +134,11 @@ class RewriteMediaManager(
 			}
 		}.launchIn(this)
 
-		launch {
-			while (true) {
-				notifyListeners {
-					onProgress(playbackManager.state.positionInfo.active.inWholeMilliseconds)
-				}
-				delay(@Suppress("MagicNumber") 100)
+		playbackManager.positionClock.positionFlow(PositionClockService.UI_INTERVAL).onEach { positionInfo ->
+			notifyListeners {
+				onProgress(positionInfo.active.inWholeMilliseconds)
 			}
-		}
+		}.launchIn(this)
 
 		playbackManager.queue.entry.onEach { entry ->
 			val baseItem = entry?.baseItem
@@ -132,18 +146,20 @@ class RewriteMediaManager(
 				onQueueStatusChanged(baseItem?.mediaType == MediaType.AUDIO)
 			}
 		}.launchIn(this)
-
-		playbackManager.queue.entry.onEach { updateAdapter() }.launchIn(this)
-		playbackManager.state.playbackOrder.onEach { updateAdapter() }.launchIn(this)
 	}
 
+	/**
+	 * Refresh the audio queue row after changing the items of the [queueSupplier].
+	 */
 	private fun updateAdapter() {
-		val currentItem = playbackManager.queue.entry.value?.baseItem?.let(::AudioQueueBaseRowItem)?.apply {
+		queueRefresh.tryEmit(Unit)
+	}
+
+	private fun updateAdapter(snapshot: QueueSnapshot) {
+		val currentItem = snapshot.entry?.baseItem?.let(::AudioQueueBaseRowItem)?.apply {
 			playing = true
 		}
-		// It's safe to run this blocking as all items are prefetched via the [BaseItemQueueSupplier]
-		val upcomingItems = runBlocking { playbackManager.queue.peekNext(100) }
-			.mapIndexedNotNull { index, item -> item.baseItem?.let(::AudioQueueBaseRowItem) }
+		val upcomingItems = snapshot.upcoming.mapNotNull { item -> item.baseItem?.let(::AudioQueueBaseRowItem) }
 
 		val items = listOfNotNull(currentItem) + upcomingItems
 
@@ -109,6 +109,12 @@ class PlaybackAdvancedPreferencesScreen : OptionsFragment() {
 					bind(userPreferences, UserPreferences.liveTvDirectPlayEnabled)
 					setContent(R.string.pref_direct_stream_live_on, R.string.pref_direct_stream_live_off)
 				}
+
+				checkbox {
+					setTitle(R.string.lbl_pretune_live_channels)
+					bind(userPreferences, UserPreferences.liveTvPreTuneChannels)
+					setContent(R.string.pref_pretune_live_channels_on, R.string.pref_pretune_live_channels_off)
+				}
 			}
 		}
 
@@ -23,6 +23,7 @@ import org.jellyfin.androidtv.ui.card.LegacyImageCardView;
 import org.jellyfin.androidtv.ui.itemhandling.AudioQueueBaseRowItem;
 import org.jellyfin.androidtv.ui.itemhandling.BaseItemDtoBaseRowItem;
 import org.jellyfin.androidtv.ui.itemhandling.BaseRowItem;
+import org.jellyfin.androidtv.ui.itemhandling.PlaceholderBaseRowItem;
 import org.jellyfin.androidtv.util.ImageHelper;
 import org.jellyfin.androidtv.util.Utils;
 import org.jellyfin.androidtv.util.apiclient.JellyfinImage;
@@ -358,6 +359,8 @@ public class CardPresenter extends Presenter {
             return;
         }
         BaseRowItem rowItem = (BaseRowItem) item;
+        // Evicted items only keep what is needed to show a basic card
+        if (rowItem instanceof PlaceholderBaseRowItem) rowItem = ((PlaceholderBaseRowItem) rowItem).toRowItem();
 
         ViewHolder holder = (ViewHolder) viewHolder;
         
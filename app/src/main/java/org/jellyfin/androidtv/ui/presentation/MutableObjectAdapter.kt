@@ -36,11 +36,27 @@ open class MutableObjectAdapter<T : Any> : ObjectAdapter, Iterable<T> {
 		notifyItemRangeInserted(index, 1)
 	}
 
+	fun addAll(elements: Collection<T>) = addAll(data.size, elements)
+
+	fun addAll(index: Int, elements: Collection<T>) {
+		if (elements.isEmpty()) return
+
+		data.addAll(index, elements)
+		notifyItemRangeInserted(index, elements.size)
+	}
+
 	fun set(index: Int, element: T) {
 		data.set(index, element)
 		notifyItemRangeChanged(index, 1)
 	}
 
+	fun setAll(index: Int, elements: List<T>) {
+		if (elements.isEmpty()) return
+
+		elements.forEachIndexed { offset, element -> data[index + offset] = element }
+		notifyItemRangeChanged(index, elements.size)
+	}
+
 	fun replaceAll(
 		items: List<T>,
 		areItemsTheSame: (old: T, new: T) -> Boolean = { old, new -> old == new },
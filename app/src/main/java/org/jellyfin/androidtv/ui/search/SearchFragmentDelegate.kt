@@ -22,22 +22,43 @@ class SearchFragmentDelegate(
 ) {
 	val rowsAdapter = MutableObjectAdapter<Row>(CustomListRowPresenter())
 
+	// Rows currently shown with the group they were created for
+	private val rows = mutableMapOf<Int, Pair<SearchResultGroup, ListRow>>()
+
 	fun showResults(searchResultGroups: Collection<SearchResultGroup>) {
-		rowsAdapter.clear()
-		val adapters = mutableListOf<ItemRowAdapter>()
-		for ((labelRes, baseItems) in searchResultGroups) {
-			val adapter = ItemRowAdapter(
-				context,
-				baseItems.toList(),
-				CardPresenter(),
-				rowsAdapter,
-				QueryType.Search
-			).apply {
-				setRow(ListRow(HeaderItem(context.getString(labelRes)), this))
+		// Groups are streamed in while searching, keep the rows of groups that didn't change
+		val previousRows = rows.toMap()
+		rows.clear()
+
+		val newRows = searchResultGroups
+			.filter { it.items.isNotEmpty() }
+			.map { group ->
+				val row = previousRows[group.labelRes]
+					?.takeIf { (previousGroup, _) -> previousGroup == group }
+					?.second
+					?: createRow(group)
+
+				rows[group.labelRes] = group to row
+				row
 			}
-			adapters.add(adapter)
-		}
-		for (adapter in adapters) adapter.Retrieve()
+
+		rowsAdapter.replaceAll(newRows)
+	}
+
+	private fun createRow(group: SearchResultGroup): ListRow {
+		// The adapter is added to the rows by showResults instead of adding itself
+		val adapter = ItemRowAdapter(
+			context,
+			group.items.toList(),
+			CardPresenter(),
+			null,
+			QueryType.Search
+		)
+		val row = ListRow(HeaderItem(context.getString(group.labelRes)), adapter)
+		adapter.setRow(row)
+		adapter.Retrieve()
+
+		return row
 	}
 
 	val onItemViewClickedListener = OnItemViewClickedListener { _, item, _, row ->
@@ -1,7 +1,12 @@
 package org.jellyfin.androidtv.ui.search
 
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.withContext
+import android.os.SystemClock
+import android.util.LruCache
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import org.jellyfin.androidtv.data.querying.ApiRequestQueue
+import org.jellyfin.androidtv.data.querying.RequestPriority
 import org.jellyfin.androidtv.data.repository.ItemRepository
 import org.jellyfin.sdk.api.client.ApiClient
 import org.jellyfin.sdk.api.client.exception.ApiClientException
@@ -11,8 +16,12 @@ import org.jellyfin.sdk.model.api.BaseItemKind
 import org.jellyfin.sdk.model.api.MediaType
 import org.jellyfin.sdk.model.api.request.GetItemsRequest
 import timber.log.Timber
+import java.text.Normalizer
 
 interface SearchRepository {
+	/**
+	 * Search for items of all [itemTypes] at once. At most 25 items are returned per item type.
+	 */
 	suspend fun search(
 		searchTerm: String,
 		itemTypes: Collection<BaseItemKind>,
@@ -20,22 +29,58 @@ interface SearchRepository {
 }
 
 class SearchRepositoryImpl(
-	private val apiClient: ApiClient
+	private val apiClient: ApiClient,
+	private val apiRequestQueue: ApiRequestQueue,
 ) : SearchRepository {
 	companion object {
 		private const val QUERY_LIMIT = 25
+
+		private const val CACHE_SIZE = 16
+		private const val CACHE_MAX_AGE_MS = 60_000L
+
+		private val diacriticsRegex = Regex("\\p{Mn}+")
 	}
 
+	/**
+	 * @property complete Whether all items matching the search term were returned.
+	 */
+	private data class CachedResult(
+		val items: List<BaseItemDto>,
+		val complete: Boolean,
+		val retrievedAt: Long,
+	)
+
+	private val cache = LruCache<Pair<String, Set<BaseItemKind>>, CachedResult>(CACHE_SIZE)
+	private var session: String? = null
+
 	override suspend fun search(
 		searchTerm: String,
 		itemTypes: Collection<BaseItemKind>,
 	): Result<List<BaseItemDto>> = try {
+		checkSession()
+		val term = normalize(searchTerm)
+		val items = getCachedResult(term, itemTypes.toSet()) ?: retrieve(searchTerm, term, itemTypes)
+
+		Result.success(items)
+	} catch (e: ApiClientException) {
+		Timber.e(e, "Failed to search for items")
+		Result.failure(e)
+	}
+
+	private suspend fun retrieve(
+		searchTerm: String,
+		term: String,
+		itemTypes: Collection<BaseItemKind>,
+	): List<BaseItemDto> {
+		val currentSession = session
+		// Request enough items to fill every type, the server returns them ordered by relevance
+		val limit = QUERY_LIMIT * itemTypes.size
 		var request = GetItemsRequest(
 			searchTerm = searchTerm,
-			limit = QUERY_LIMIT,
+			limit = limit,
 			imageTypeLimit = 1,
 			includeItemTypes = itemTypes,
-			fields = ItemRepository.itemFields,
+			fields = ItemRepository.cardFields,
 			recursive = true,
 			enableTotalRecordCount = false,
 		)
@@ -49,13 +94,79 @@ class SearchRepositoryImpl(
 			)
 		}
 
-		val result = withContext(Dispatchers.IO) {
-			apiClient.itemsApi.getItems(request).content
+		val result = getItems(request)
+		val groups = result.items.groupByTo(LinkedHashMap()) { it.type }
+		val isFull = result.items.size >= limit
+
+		// A type with many matches can fill the whole response, query the other types separately so they still get
+		// their share of results
+		if (isFull && itemTypes.size > 1) {
+			val starvedTypes = itemTypes.filter { type -> groups[type].orEmpty().size < QUERY_LIMIT }
+			if (starvedTypes.isNotEmpty()) Timber.d("Searching ${starvedTypes.size} types separately for \"$searchTerm\"")
+
+			coroutineScope {
+				starvedTypes.map { type ->
+					async { type to getItems(request.copy(limit = QUERY_LIMIT, includeItemTypes = setOf(type))).items }
+				}.awaitAll()
+			}.forEach { (type, items) -> groups[type] = items }
 		}
 
-		Result.success(result.items)
-	} catch (e: ApiClientException) {
-		Timber.e(e, "Failed to search for items")
-		Result.failure(e)
+		val items = groups.values.flatMap { it.take(QUERY_LIMIT) }
+		// Results can only be filtered for longer terms when no type was cut off
+		val complete = !isFull && groups.values.none { it.size >= QUERY_LIMIT }
+
+		synchronized(cache) {
+			// Don't keep the results of a previous user
+			if (session == currentSession) {
+				cache.put(term to itemTypes.toSet(), CachedResult(items, complete, SystemClock.elapsedRealtime()))
+			}
+		}
+		return items
+	}
+
+	private suspend fun getItems(request: GetItemsRequest) = apiRequestQueue.request(request, RequestPriority.HIGH) {
+		apiClient.itemsApi.getItems(request).content
+	}
+
+	/**
+	 * Get the results from a previous search for the same term, or filter the complete results of a search for the
+	 * start of the term. The server matches search terms anywhere in the name so the results for a longer term are
+	 * always part of the results for a shorter one.
+	 */
+	private fun getCachedResult(term: String, itemTypes: Set<BaseItemKind>): List<BaseItemDto>? {
+		val now = SystemClock.elapsedRealtime()
+
+		for (length in term.length downTo 1) {
+			val result = cache[term.take(length) to itemTypes] ?: continue
+			if (now - result.retrievedAt > CACHE_MAX_AGE_MS) continue
+
+			if (length == term.length) return result.items
+			if (!result.complete) continue
+
+			Timber.d("Filtering cached search results for \"${term.take(length)}\" for \"$term\"")
+			return result.items.filter { item ->
+				listOfNotNull(item.name, item.originalTitle).any { name -> normalize(name).contains(term) }
+			}
+		}
+
+		return null
+	}
+
+	/**
+	 * Forget all results when the user or server changes, results differ per user.
+	 */
+	private fun checkSession() {
+		synchronized(cache) {
+			val currentSession = "${apiClient.baseUrl}|${apiClient.accessToken}"
+			if (currentSession == session) return
+
+			cache.evictAll()
+			session = currentSession
+		}
 	}
+
+	private fun normalize(value: String) = Normalizer.normalize(value, Normalizer.Form.NFD)
+		.replace(diacriticsRegex, "")
+		.lowercase()
+		.trim()
 }
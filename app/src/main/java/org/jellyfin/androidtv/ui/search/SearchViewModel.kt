@@ -3,13 +3,12 @@ package org.jellyfin.androidtv.ui.search
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import kotlinx.coroutines.Job
-import kotlinx.coroutines.async
-import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.launch
 import org.jellyfin.androidtv.R
+import org.jellyfin.sdk.model.api.BaseItemDto
 import org.jellyfin.sdk.model.api.BaseItemKind
 import kotlin.time.Duration
 import kotlin.time.Duration.Companion.milliseconds
@@ -36,6 +35,28 @@ class SearchViewModel(
 			R.string.lbl_collections to setOf(BaseItemKind.BOX_SET),
 			R.string.lbl_people to setOf(BaseItemKind.PERSON),
 		)
+
+		// Item types that are searched for with a single query, the results are split into the groups afterwards
+		private val queries = listOf(
+			setOf(
+				BaseItemKind.MOVIE,
+				BaseItemKind.SERIES,
+				BaseItemKind.EPISODE,
+				BaseItemKind.BOX_SET,
+				BaseItemKind.PLAYLIST,
+				BaseItemKind.PERSON,
+			),
+			setOf(
+				BaseItemKind.MUSIC_ARTIST,
+				BaseItemKind.MUSIC_ALBUM,
+				BaseItemKind.AUDIO,
+				BaseItemKind.PHOTO_ALBUM,
+				BaseItemKind.PHOTO,
+			),
+			setOf(BaseItemKind.LIVE_TV_PROGRAM, BaseItemKind.LIVE_TV_CHANNEL),
+			// Searched separately as it matches all videos that aren't movies or episodes
+			setOf(BaseItemKind.VIDEO),
+		)
 	}
 
 	private var searchJob: Job? = null
@@ -61,16 +82,31 @@ class SearchViewModel(
 		searchJob = viewModelScope.launch {
 			delay(debounce)
 
-			_searchResultsFlow.value = groups.map { (stringRes, itemKinds) ->
-				async {
-					val result = searchRepository.search(query, itemKinds)
-					val items = result.getOrNull().orEmpty()
+			// Show the groups of each query as soon as it finishes
+			val results = mutableMapOf<Int, SearchResultGroup>()
+			for (itemKinds in queries) {
+				launch {
+					val items = searchRepository.search(query, itemKinds).getOrNull().orEmpty()
+					results += getGroups(itemKinds, items)
 
-					SearchResultGroup(stringRes, items)
+					_searchResultsFlow.value = groups.keys.mapNotNull(results::get)
 				}
-			}.awaitAll()
+			}
 		}
 
 		return true
 	}
+
+	private fun getGroups(
+		itemKinds: Set<BaseItemKind>,
+		items: List<BaseItemDto>,
+	) = groups
+		.filterValues { groupItemKinds -> itemKinds.containsAll(groupItemKinds) }
+		.mapValues { (stringRes, groupItemKinds) ->
+			// The video query returns all kinds of videos
+			val groupItems = if (itemKinds == setOf(BaseItemKind.VIDEO)) items
+			else items.filter { it.type in groupItemKinds }
+
+			SearchResultGroup(stringRes, groupItems)
+		}
 }
@@ -0,0 +1,20 @@
+package org.jellyfin.androidtv.util
+
+import java.io.File
+import java.io.IOException
+
+/**
+ * Write [text] to a temporary file first and then replace this file with it, so a partially written file is never read.
+ *
+ * @throws IOException when writing or replacing the file failed
+ */
+fun File.writeTextAtomically(text: String) {
+	val tempFile = File(parentFile, "$name.tmp")
+	tempFile.writeText(text)
+
+	// Renaming fails on some file systems when the target exists
+	if (!tempFile.renameTo(this) && !(delete() && tempFile.renameTo(this))) {
+		tempFile.delete()
+		throw IOException("Unable to replace $this")
+	}
+}
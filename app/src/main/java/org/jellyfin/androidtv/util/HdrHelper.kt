@@ -30,27 +30,30 @@ object HdrHelper {
     private const val COLOR_TRANSFER_ST2084 = 6 // MediaCodecInfo.CodecCapabilities.COLOR_TRANSFER_ST2084
     private const val COLOR_TRANSFER_LINEAR = 1 // MediaCodecInfo.COLOR_TRANSFER_LINEAR
 
+    // Decoders don't change while the app is running, only walk the codec list once per check
+    private val hdr10Support by lazy { checkHdrSupport(MIME_VIDEO_HEVC, COLOR_TRANSFER_ST2084) }
+    private val hlgSupport by lazy { checkHdrSupport(MIME_VIDEO_HEVC, COLOR_TRANSFER_HLG) }
+    private val dolbyVisionSupport by lazy { checkDolbyVisionSupport() }
+
     /**
      * Check if the device supports HDR10
      */
     @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
-    fun supportsHdr10(): Boolean {
-        return checkHdrSupport(MIME_VIDEO_HEVC, COLOR_TRANSFER_ST2084)
-    }
+    fun supportsHdr10(): Boolean = hdr10Support
 
     /**
      * Check if the device supports HLG (Hybrid Log-Gamma)
      */
     @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
-    fun supportsHlg(): Boolean {
-        return checkHdrSupport(MIME_VIDEO_HEVC, COLOR_TRANSFER_HLG)
-    }
+    fun supportsHlg(): Boolean = hlgSupport
 
     /**
      * Check if the device supports Dolby Vision
      */
     @RequiresApi(Build.VERSION_CODES.LOLLIPOP)
-    fun supportsDolbyVision(): Boolean {
+    fun supportsDolbyVision(): Boolean = dolbyVisionSupport
+
+    private fun checkDolbyVisionSupport(): Boolean {
         val codecList = MediaCodecList(MediaCodecList.ALL_CODECS)
         for (codec in codecList.codecInfos) {
             if (codec.isEncoder) continue
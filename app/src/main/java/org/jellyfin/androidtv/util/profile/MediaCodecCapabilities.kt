@@ -0,0 +1,29 @@
+package org.jellyfin.androidtv.util.profile
+
+import kotlinx.serialization.Serializable
+
+/**
+ * Snapshot of the decoder capabilities used to create the device profile, probed with [MediaCodecCapabilitiesTest].
+ */
+@Serializable
+data class MediaCodecCapabilities(
+	val supportsHevc: Boolean,
+	val supportsHevcMain10: Boolean,
+	val hevcMainLevel: Int,
+	val hevcMain10Level: Int,
+	val supportsAVC: Boolean,
+	val supportsAVCHigh10: Boolean,
+	val avcMainLevel: Int,
+	val avcHigh10Level: Int,
+	val supportsAV1: Boolean,
+	val supportsAV1Main10: Boolean,
+	val maxResolutionAVC: Resolution,
+	val maxResolutionHevc: Resolution,
+	val maxResolutionAV1: Resolution,
+) {
+	@Serializable
+	data class Resolution(
+		val width: Int,
+		val height: Int,
+	)
+}
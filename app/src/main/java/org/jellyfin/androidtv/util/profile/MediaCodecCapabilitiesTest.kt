@@ -5,10 +5,14 @@ import android.media.MediaCodecList
 import android.media.MediaFormat
 import android.os.Build
 import android.util.Size
+import androidx.media3.common.MimeTypes
 import timber.log.Timber
 
 class MediaCodecCapabilitiesTest {
-	private val mediaCodecList by lazy { MediaCodecList(MediaCodecList.REGULAR_CODECS) }
+	// Creating the codec list is slow, only create it once and skip encoders up front
+	private val decoderInfos by lazy {
+		MediaCodecList(MediaCodecList.REGULAR_CODECS).codecInfos.filterNot { it.isEncoder }
+	}
 
 	// AVC levels as reported by ffprobe are multiplied by 10, e.g. level 4.1 is 41. Level 1b is set to 9
 	private val avcLevels = listOf(
@@ -109,9 +113,7 @@ class MediaCodecCapabilitiesTest {
 	private fun getDecoderLevel(mime: String, profile: Int): Int {
 		var maxLevel = 0
 
-		for (info in mediaCodecList.codecInfos) {
-			if (info.isEncoder) continue
-
+		for (info in decoderInfos) {
 			try {
 				val capabilities = info.getCapabilitiesForType(mime)
 				for (profileLevel in capabilities.profileLevels) {
@@ -128,9 +130,7 @@ class MediaCodecCapabilitiesTest {
 	}
 
 	private fun hasDecoder(mime: String, profile: Int, level: Int): Boolean {
-		for (info in mediaCodecList.codecInfos) {
-			if (info.isEncoder) continue
-
+		for (info in decoderInfos) {
 			try {
 				val capabilities = info.getCapabilitiesForType(mime)
 				for (profileLevel in capabilities.profileLevels) {
@@ -155,9 +155,7 @@ class MediaCodecCapabilitiesTest {
 	}
 
 	private fun hasCodecForMime(mime: String): Boolean {
-		for (info in mediaCodecList.codecInfos) {
-			if (info.isEncoder) continue
-
+		for (info in decoderInfos) {
 			if (info.supportedTypes.any { it.equals(mime, ignoreCase = true) }) {
 				Timber.i("found codec %s for mime %s", info.name, mime)
 				return true
@@ -167,13 +165,32 @@ class MediaCodecCapabilitiesTest {
 		return false
 	}
 
+	/**
+	 * Probe all capabilities used to create the device profile.
+	 */
+	fun getCapabilities() = MediaCodecCapabilities(
+		supportsHevc = supportsHevc(),
+		supportsHevcMain10 = supportsHevcMain10(),
+		hevcMainLevel = getHevcMainLevel(),
+		hevcMain10Level = getHevcMain10Level(),
+		supportsAVC = supportsAVC(),
+		supportsAVCHigh10 = supportsAVCHigh10(),
+		avcMainLevel = getAVCMainLevel(),
+		avcHigh10Level = getAVCHigh10Level(),
+		supportsAV1 = supportsAV1(),
+		supportsAV1Main10 = supportsAV1Main10(),
+		maxResolutionAVC = getMaxResolution(MimeTypes.VIDEO_H264).toResolution(),
+		maxResolutionHevc = getMaxResolution(MimeTypes.VIDEO_H265).toResolution(),
+		maxResolutionAV1 = getMaxResolution(MimeTypes.VIDEO_AV1).toResolution(),
+	)
+
+	private fun Size.toResolution() = MediaCodecCapabilities.Resolution(width, height)
+
 	fun getMaxResolution(mime: String): Size {
 		var maxWidth = 0
 		var maxHeight = 0
 
-		for (info in mediaCodecList.codecInfos) {
-			if (info.isEncoder) continue
-
+		for (info in decoderInfos) {
 			try {
 				val capabilities = info.getCapabilitiesForType(mime)
 				val videoCapabilities = capabilities.videoCapabilities ?: continue
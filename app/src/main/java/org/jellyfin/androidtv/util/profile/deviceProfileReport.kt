@@ -58,7 +58,8 @@ fun createDeviceProfileReport(
 	appendDetails("Generated device profile") {
 		appendCodeBlock(
 			language = "json",
-			code = createDeviceProfile(userPreferences, disableDirectPlay = false)
+			// Probe again instead of using the stored capabilities so the report shows the current state
+			code = createDeviceProfile(userPreferences, MediaCodecCapabilitiesTest().getCapabilities(), disableDirectPlay = false)
 				.let(ApiSerializer::encodeRequestBody)
 				?.let(::formatJson)
 		)
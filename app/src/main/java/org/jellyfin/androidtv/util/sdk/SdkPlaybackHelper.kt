@@ -80,12 +80,12 @@ class SdkPlaybackHelper(
 						startItemId = mainItem.id,
 						isMissing = false,
 						limit = ITEM_QUERY_LIMIT,
-						fields = ItemRepository.itemFields
+						fields = ItemRepository.playbackFields
 					)
 
 					response.items
 				} else {
-					listOf(mainItem)
+					listOf(getPlayableItem(mainItem))
 				}
 			}
 
@@ -101,7 +101,7 @@ class SdkPlaybackHelper(
 					sortBy = if (shuffle) listOf(ItemSortBy.RANDOM) else listOf(ItemSortBy.SORT_NAME),
 					recursive = true,
 					limit = ITEM_QUERY_LIMIT,
-					fields = ItemRepository.itemFields
+					fields = ItemRepository.playbackFields
 				)
 
 				response.items
@@ -117,7 +117,7 @@ class SdkPlaybackHelper(
 					),
 					recursive = true,
 					limit = ITEM_QUERY_LIMIT,
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.playbackFields,
 					albumIds = listOf(mainItem.id)
 				)
 
@@ -131,7 +131,7 @@ class SdkPlaybackHelper(
 					sortBy = listOf(ItemSortBy.SORT_NAME),
 					recursive = true,
 					limit = ITEM_QUERY_LIMIT,
-					fields = ItemRepository.itemFields,
+					fields = ItemRepository.playbackFields,
 					artistIds = listOf(mainItem.id)
 				)
 
@@ -145,7 +145,7 @@ class SdkPlaybackHelper(
 					sortBy = if (shuffle) listOf(ItemSortBy.RANDOM) else null,
 					recursive = true,
 					limit = ITEM_QUERY_LIMIT,
-					fields = ItemRepository.itemFields
+					fields = ItemRepository.playbackFields
 				)
 
 				response.items
@@ -181,7 +181,7 @@ class SdkPlaybackHelper(
 			}
 
 			else -> {
-				val parts = getParts(mainItem)
+				val parts = getParts(getPlayableItem(mainItem))
 				val addIntros = allowIntros && userPreferences[UserPreferences.cinemaModeEnabled]
 
 				if (addIntros) {
@@ -198,6 +198,13 @@ class SdkPlaybackHelper(
 		}
 	}
 
+	/**
+	 * Items from browsing screens only contain the fields needed to show them, retrieve the full item for playback.
+	 */
+	private suspend fun getPlayableItem(item: BaseItemDto): BaseItemDto =
+		if (item.mediaSources != null) item
+		else api.userLibraryApi.getItem(item.id).content
+
 	private suspend fun getParts(item: BaseItemDto): List<BaseItemDto> = buildList {
 		add(item)
 
@@ -240,7 +247,7 @@ class SdkPlaybackHelper(
 			val response = withContext(Dispatchers.IO) {
 				api.instantMixApi.getInstantMixFromItem(
 					itemId = item.id,
-					fields = ItemRepository.itemFields
+					fields = ItemRepository.playbackFields
 				).content
 			}
 
@@ -0,0 +1,91 @@
+package org.jellyfin.androidtv.ui.itemhandling
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.doubles.plusOrMinus
+import io.kotest.matchers.shouldBe
+
+class PageReadAheadTests : FunSpec({
+	var time = 0L
+	beforeTest { time = 0L }
+
+	/**
+	 * Move the selection [steps] times by [distance] items, every [interval] milliseconds.
+	 */
+	fun PageReadAhead.scroll(steps: Int, distance: Int, interval: Long) {
+		var position = 0
+		onPositionSelected(position)
+		repeat(steps) {
+			time += interval
+			position += distance
+			onPositionSelected(position)
+		}
+	}
+
+	test("PageReadAhead uses a single page without movement") {
+		val readAhead = PageReadAhead { time }
+
+		readAhead.getPageSize(50) shouldBe 50
+		readAhead.getItemsAhead(50) shouldBe 50
+	}
+
+	test("PageReadAhead.velocity follows the selection speed") {
+		val readAhead = PageReadAhead { time }
+
+		// 10 items per 100ms
+		readAhead.scroll(steps = 30, distance = 10, interval = 100)
+		readAhead.velocity shouldBe (100.0 plusOrMinus 0.1)
+	}
+
+	test("PageReadAhead grows the read ahead distance before the page size") {
+		val readAhead = PageReadAhead { time }
+
+		// 30 items per second with the default page load time of 500ms is 15 items per page load
+		readAhead.scroll(steps = 30, distance = 3, interval = 100)
+
+		readAhead.getItemsAhead(20) shouldBe 30
+		readAhead.getPageSize(20) shouldBe 40
+		readAhead.getItemsAhead(100) shouldBe 100
+		readAhead.getPageSize(100) shouldBe 100
+	}
+
+	test("PageReadAhead caps the read ahead at MAX_PAGES_AHEAD pages") {
+		val readAhead = PageReadAhead { time }
+
+		readAhead.scroll(steps = 30, distance = 100, interval = 100)
+
+		readAhead.getPageSize(50) shouldBe 100
+		readAhead.getItemsAhead(50) shouldBe 100
+	}
+
+	test("PageReadAhead resets the velocity after being idle") {
+		val readAhead = PageReadAhead { time }
+
+		readAhead.scroll(steps = 30, distance = 100, interval = 100)
+		time += 5_000
+		readAhead.onPositionSelected(0)
+
+		readAhead.velocity shouldBe 0.0
+		readAhead.getPageSize(50) shouldBe 50
+	}
+
+	test("PageReadAhead measures the page load time") {
+		val readAhead = PageReadAhead { time }
+
+		time = 1_000
+		readAhead.onPageRequested()
+		time += 1_500
+		readAhead.onPageLoaded()
+
+		readAhead.pageLoadTime shouldBe (800.0 plusOrMinus 0.1)
+	}
+
+	test("PageReadAhead doesn't read ahead without a base page size") {
+		val readAhead = PageReadAhead { time }
+
+		readAhead.scroll(steps = 30, distance = 100, interval = 100)
+
+		readAhead.getPageSize(0) shouldBe 0
+		readAhead.getItemsAhead(0) shouldBe 0
+		readAhead.getItemsAhead(-1) shouldBe 0
+	}
+})
@@ -0,0 +1,82 @@
+package org.jellyfin.androidtv.ui.playback
+
+import android.os.Handler
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.shouldBe
+import io.mockk.every
+import io.mockk.mockk
+
+class TranscodeSeekSchedulerTests : FunSpec({
+	/**
+	 * Create a handler that keeps the latest posted runnable until [runPosted] is called.
+	 */
+	fun createHandler(): Pair<Handler, () -> Unit> {
+		var posted: Runnable? = null
+		val handler = mockk<Handler> {
+			every { postDelayed(any(), any()) } answers {
+				posted = firstArg()
+				true
+			}
+			every { removeCallbacks(any()) } answers { posted = null }
+		}
+
+		return handler to {
+			val runnable = posted
+			posted = null
+			runnable?.run()
+		}
+	}
+
+	test("TranscodeSeekScheduler coalesces seeks into a restart at the last position") {
+		val (handler, runPosted) = createHandler()
+		val restarts = mutableListOf<Long>()
+		val scheduler = TranscodeSeekScheduler(handler) { restarts += it }
+
+		scheduler.request(1_000)
+		scheduler.request(2_000)
+		scheduler.request(3_000)
+		restarts shouldBe emptyList()
+		scheduler.isSeeking shouldBe true
+
+		runPosted()
+		restarts shouldBe listOf(3_000L)
+		scheduler.avoidedRestarts shouldBe 2
+	}
+
+	test("TranscodeSeekScheduler waits for a running restart") {
+		val (handler, runPosted) = createHandler()
+		val restarts = mutableListOf<Long>()
+		val scheduler = TranscodeSeekScheduler(handler) { restarts += it }
+
+		scheduler.request(1_000)
+		runPosted()
+		scheduler.request(2_000)
+		scheduler.request(3_000)
+
+		// Nothing is scheduled while restarting
+		runPosted()
+		restarts shouldBe listOf(1_000L)
+
+		// The pending seek is applied right away instead of starting the restarted stream
+		scheduler.onRestartFinished() shouldBe false
+		restarts shouldBe listOf(1_000L, 3_000L)
+
+		scheduler.onRestartFinished() shouldBe true
+		scheduler.isSeeking shouldBe false
+		scheduler.avoidedRestarts shouldBe 1
+	}
+
+	test("TranscodeSeekScheduler.cancel() drops the pending seek") {
+		val (handler, runPosted) = createHandler()
+		val restarts = mutableListOf<Long>()
+		val scheduler = TranscodeSeekScheduler(handler) { restarts += it }
+
+		scheduler.request(1_000)
+		scheduler.cancel()
+		runPosted()
+
+		restarts shouldBe emptyList()
+		scheduler.isSeeking shouldBe false
+		scheduler.avoidedRestarts shouldBe 0
+	}
+})
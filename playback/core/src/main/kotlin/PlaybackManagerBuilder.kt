@@ -4,6 +4,7 @@ import android.content.Context
 import android.os.Build
 import androidx.core.content.getSystemService
 import org.jellyfin.playback.core.backend.PlayerBackend
+import org.jellyfin.playback.core.clock.PositionClockService
 import org.jellyfin.playback.core.mediastream.MediaStreamResolver
 import org.jellyfin.playback.core.mediastream.MediaStreamService
 import org.jellyfin.playback.core.plugin.PlaybackPlugin
@@ -50,6 +51,7 @@ class PlaybackManagerBuilder(context: Context) {
 		// Add default services
 		services.add(QueueService())
 		services.add(MediaStreamService(mediaStreamResolvers))
+		services.add(PositionClockService())
 
 		// Only support a single backend right now
 		require(backends.size == 1)
@@ -95,6 +95,8 @@ class MutablePlayerState(
 					backendService.backend?.play()
 				}
 			}
+
+			override fun onPositionDiscontinuity() = Unit
 		})
 
 		volume = options.playerVolumeState
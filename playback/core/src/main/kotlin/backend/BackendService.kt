@@ -22,6 +22,7 @@ class BackendService {
 		_backend?.setListener(null)
 		_backend?.setSurfaceView(null)
 		_backend?.setSubtitleView(null)
+		_backend?.takeIf { it != backend }?.release()
 
 		_backend = backend.apply {
 			_surfaceView?.let(::setSurfaceView)
@@ -94,5 +95,9 @@ class BackendService {
 		override fun onMediaStreamEnd(mediaStream: PlayableMediaStream) {
 			callListeners { onMediaStreamEnd(mediaStream) }
 		}
+
+		override fun onPositionDiscontinuity() {
+			callListeners { onPositionDiscontinuity() }
+		}
 	}
 }
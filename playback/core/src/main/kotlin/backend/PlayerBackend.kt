@@ -27,7 +27,16 @@ interface PlayerBackend {
 
 	// Mutation
 
+	/**
+	 * Prepare [item] to play after the current item, replacing a previously prepared item.
+	 */
 	fun prepareItem(item: QueueEntry)
+
+	/**
+	 * Remove the prepared item when it shouldn't play after the current item anymore.
+	 */
+	fun clearPreparedItems()
+
 	fun playItem(item: QueueEntry)
 
 	fun play()
@@ -37,5 +46,10 @@ interface PlayerBackend {
 	fun seekTo(position: Duration)
 
 	fun setSpeed(speed: Float)
+
+	/**
+	 * Release all resources of the backend, it can't be used afterwards.
+	 */
+	fun release()
 }
 
@@ -7,4 +7,9 @@ interface PlayerBackendEventListener {
 	fun onPlayStateChange(state: PlayState)
 	fun onVideoSizeChange(width: Int, height: Int)
 	fun onMediaStreamEnd(mediaStream: PlayableMediaStream)
+
+	/**
+	 * The position jumped instead of advancing with playback, for example because of a seek.
+	 */
+	fun onPositionDiscontinuity()
 }
@@ -0,0 +1,107 @@
+package org.jellyfin.playback.core.clock
+
+import android.os.SystemClock
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.onCompletion
+import kotlinx.coroutines.flow.onSubscription
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import org.jellyfin.playback.core.PlaybackManager
+import org.jellyfin.playback.core.backend.PlayerBackendEventListener
+import org.jellyfin.playback.core.mediastream.PlayableMediaStream
+import org.jellyfin.playback.core.model.PlayState
+import org.jellyfin.playback.core.model.PositionInfo
+import org.jellyfin.playback.core.plugin.PlayerService
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * Shared clock for the playback position. A single ticker runs at the shortest interval requested by the collectors of
+ * [positionFlow] and only while playing. Nothing runs when there are no collectors.
+ */
+class PositionClockService internal constructor() : PlayerService() {
+	companion object {
+		/**
+		 * Interval for progress shown in the UI.
+		 */
+		val UI_INTERVAL = 100.milliseconds
+	}
+
+	/**
+	 * @property forced Whether the tick is caused by a play state change or seek and should reach all collectors.
+	 */
+	private class Tick(
+		val positionInfo: PositionInfo,
+		val time: Long,
+		val forced: Boolean,
+	)
+
+	private val intervals = MutableStateFlow<List<Duration>>(emptyList())
+	private val ticks = MutableSharedFlow<Tick>(
+		extraBufferCapacity = 1,
+		onBufferOverflow = BufferOverflow.DROP_OLDEST,
+	)
+
+	override suspend fun onInitialize() {
+		// Seeking while paused changes the position without a play state change
+		manager.backendService.addListener(object : PlayerBackendEventListener {
+			override fun onPlayStateChange(state: PlayState) = Unit
+			override fun onVideoSizeChange(width: Int, height: Int) = Unit
+			override fun onMediaStreamEnd(mediaStream: PlayableMediaStream) = Unit
+			override fun onPositionDiscontinuity() = emitTick(forced = true)
+		})
+
+		coroutineScope.launch(Dispatchers.Main) {
+			val interval = intervals.map { it.minOrNull() }.distinctUntilChanged()
+
+			combine(state.playState, interval, ::Pair).collectLatest { (playState, interval) ->
+				if (interval == null) return@collectLatest
+
+				emitTick(forced = true)
+				while (playState == PlayState.PLAYING) {
+					delay(interval)
+					emitTick(forced = false)
+				}
+			}
+		}
+	}
+
+	private fun emitTick(forced: Boolean) {
+		ticks.tryEmit(Tick(state.positionInfo, SystemClock.elapsedRealtime(), forced))
+	}
+
+	/**
+	 * Get the position every [interval] while playing. The position is also emitted when collecting starts, when the
+	 * play state changes and after seeking.
+	 */
+	fun positionFlow(interval: Duration): Flow<PositionInfo> = flow {
+		var lastTime = SystemClock.elapsedRealtime()
+		emit(withContext(Dispatchers.Main) { state.positionInfo })
+
+		// Ticks for collectors with a shorter interval may arrive slightly early
+		val minElapsed = (interval * 0.9).inWholeMilliseconds
+
+		ticks
+			.onSubscription { intervals.update { it + interval } }
+			.onCompletion { intervals.update { it - interval } }
+			.collect { tick ->
+				if (tick.forced || tick.time - lastTime >= minElapsed) {
+					lastTime = tick.time
+					emit(tick.positionInfo)
+				}
+			}
+	}
+}
+
+val PlaybackManager.positionClock: PositionClockService get() = requireNotNull(getService<PositionClockService>())
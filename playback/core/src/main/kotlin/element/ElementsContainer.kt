@@ -1,44 +1,36 @@
 package org.jellyfin.playback.core.element
 
-import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.MutableSharedFlow
-import kotlinx.coroutines.flow.distinctUntilChanged
-import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.asStateFlow
 import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Container to hold elements identified with an [ElementKey].
  */
 open class ElementsContainer {
-	private val elements = ConcurrentHashMap<ElementKey<*>, Any?>()
-	private val updateFlow = MutableSharedFlow<ElementKey<*>>(
-		replay = 1,
-		extraBufferCapacity = 1,
-		onBufferOverflow = BufferOverflow.DROP_OLDEST,
-	)
+	// Each key has its own state so updates only reach the collectors of that key
+	private val elements = ConcurrentHashMap<ElementKey<*>, MutableStateFlow<Any?>>()
+
+	private fun getState(key: ElementKey<*>) = elements.getOrPut(key) { MutableStateFlow(null) }
 
 	fun <T : Any> get(key: ElementKey<T>): T = getOrNull(key)
 		?: error("No element found for key $key.")
 
 	@Suppress("UNCHECKED_CAST")
-	fun <T : Any> getOrNull(key: ElementKey<T>): T? = elements[key] as T?
+	fun <T : Any> getOrNull(key: ElementKey<T>): T? = elements[key]?.value as T?
 
-	operator fun <T : Any> contains(key: ElementKey<T>): Boolean = elements.containsKey(key)
+	operator fun <T : Any> contains(key: ElementKey<T>): Boolean = elements[key]?.value != null
 
 	fun <T : Any> put(key: ElementKey<T>, value: T) {
-		elements[key] = value
-		updateFlow.tryEmit(key)
+		getState(key).value = value
 	}
 
 	fun <T : Any> remove(key: ElementKey<T>) {
-		elements.remove(key)
-		updateFlow.tryEmit(key)
+		// Keep the state so existing collectors receive later updates
+		elements[key]?.value = null
 	}
 
-	fun <T : Any> getFlow(key: ElementKey<T>): Flow<T?> {
-		return updateFlow
-			.map { getOrNull(key) }
-			.distinctUntilChanged()
-	}
+	@Suppress("UNCHECKED_CAST")
+	fun <T : Any> getFlow(key: ElementKey<T>): Flow<T?> = (getState(key) as MutableStateFlow<T?>).asStateFlow()
 }
@@ -35,6 +35,15 @@ data class PlayableMediaStream(
 	override val tracks: Collection<MediaStreamTrack>,
 	val queueEntry: QueueEntry,
 	val url: String,
+	/**
+	 * The total bitrate of the stream in bits per second, or null when unknown.
+	 */
+	val bitrate: Int? = null,
+	/**
+	 * Identifies the content of the stream independent of its url, or null when the content can't be identified. Used
+	 * to cache the stream on disk.
+	 */
+	val cacheKey: String? = null,
 ) : MediaStream
 
 data class MediaStreamContainer(
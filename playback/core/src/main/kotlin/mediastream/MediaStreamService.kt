@@ -1,22 +1,44 @@
 package org.jellyfin.playback.core.mediastream
 
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.drop
 import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.plus
+import org.jellyfin.playback.core.PlaybackManager
 import org.jellyfin.playback.core.backend.PlayerBackend
 import org.jellyfin.playback.core.plugin.PlayerService
 import org.jellyfin.playback.core.queue.QueueEntry
 import org.jellyfin.playback.core.queue.queue
 import timber.log.Timber
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
 
 internal class MediaStreamService(
 	private val mediaStreamResolvers: Collection<MediaStreamResolver>,
 ) : PlayerService() {
+	private companion object {
+		// Resolve and prepare the next entry when the current entry has this much time remaining
+		private val LOOK_AHEAD_TIME = 30.seconds
+
+		private val LOOK_AHEAD_MIN_INTERVAL = 1.seconds
+		private val LOOK_AHEAD_MAX_INTERVAL = 5.seconds
+	}
+
+	private var lookAheadJob: Job? = null
+	private var preparedEntry: QueueEntry? = null
+
 	override suspend fun onInitialize() {
 		manager.queue.entry.onEach { entry ->
 			Timber.d("Queue entry changed to $entry")
 			val backend = requireNotNull(manager.backend)
+			// The prepared entry is either playing now or replaced when playing another entry
+			lookAheadJob?.cancel()
+			preparedEntry = null
 
 			if (entry == null) {
 				backend.setCurrent(null)
@@ -36,8 +58,59 @@ internal class MediaStreamService(
 					}
 				}
 			}
+
+			lookAhead(entry)
+		}.launchIn(coroutineScope + Dispatchers.Main)
+
+		// The prepared entry might not be the next entry anymore
+		merge(state.playbackOrder.drop(1), state.repeatMode.drop(1)).onEach {
+			lookAhead(manager.queue.entry.value)
 		}.launchIn(coroutineScope + Dispatchers.Main)
-		// TODO Register some kind of event when $current item is at -30 seconds to setNext()
+	}
+
+	/**
+	 * Resolve the stream of the entry after [current] shortly before [current] ends and let the backend prepare it, so
+	 * it can start without waiting for the server.
+	 */
+	private fun lookAhead(current: QueueEntry?) {
+		lookAheadJob?.cancel()
+		lookAheadJob = coroutineScope.launch(Dispatchers.Main) {
+			val backend = requireNotNull(manager.backend)
+			if (current == null) return@launch
+
+			awaitLookAheadTime()
+
+			val next = manager.queue.peekNext(usePlaybackOrder = true, useRepeatMode = true)
+			if (next != null && next == preparedEntry) return@launch
+
+			// Repeating the current entry doesn't need another stream
+			if (next == null || next == current || !next.ensureMediaStream(backend)) {
+				if (preparedEntry != null) backend.clearPreparedItems()
+				preparedEntry = null
+				return@launch
+			}
+
+			Timber.d("Preparing next entry $next")
+			backend.prepareItem(next)
+			preparedEntry = next
+		}
+	}
+
+	/**
+	 * Resolve the stream of [entry] ahead of time. Returns whether the entry has a stream.
+	 */
+	suspend fun resolve(entry: QueueEntry): Boolean = entry.ensureMediaStream(requireNotNull(manager.backend))
+
+	private suspend fun awaitLookAheadTime() {
+		while (true) {
+			val positionInfo = state.positionInfo
+			val remaining = positionInfo.duration - positionInfo.active
+
+			// The duration is unknown until the stream is loaded
+			if (positionInfo.duration > Duration.ZERO && remaining <= LOOK_AHEAD_TIME) return
+
+			delay((remaining - LOOK_AHEAD_TIME).coerceIn(LOOK_AHEAD_MIN_INTERVAL, LOOK_AHEAD_MAX_INTERVAL))
+		}
 	}
 
 	private suspend fun QueueEntry.ensureMediaStream(
@@ -61,3 +134,9 @@ internal class MediaStreamService(
 		else playItem(item)
 	}
 }
+
+/**
+ * Resolve the stream of [entry] before it plays, for services that work with upcoming entries.
+ */
+suspend fun PlaybackManager.resolveMediaStream(entry: QueueEntry): Boolean =
+	requireNotNull(getService<MediaStreamService>()).resolve(entry)
@@ -29,7 +29,7 @@ interface Queue {
 	fun addSupplier(supplier: QueueSupplier)
 
 	/**
-	 * Clear all queue state, including suppliers, entries and currently playing entry.
+	 * Clear all queue state, including suppliers, entries and currently playing entry. The removed suppliers are released.
 	 */
 	fun clear()
 
@@ -3,8 +3,6 @@ package org.jellyfin.playback.core.queue
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
-import kotlinx.coroutines.flow.launchIn
-import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.launch
 import org.jellyfin.playback.core.PlaybackManager
 import org.jellyfin.playback.core.backend.PlayerBackendEventListener
@@ -18,19 +16,36 @@ import org.jellyfin.playback.core.queue.order.OrderIndexProvider
 import org.jellyfin.playback.core.queue.order.RandomOrderIndexProvider
 import org.jellyfin.playback.core.queue.order.ShuffleOrderIndexProvider
 import org.jellyfin.playback.core.queue.supplier.QueueSupplier
+import java.util.BitSet
 import kotlin.math.max
 
 class QueueService internal constructor() : PlayerService(), Queue {
 	private val suppliers = mutableListOf<QueueSupplier>()
-	private var currentSupplierIndex = 0
-	private var currentSupplierItemIndex = 0
-	private val fetchedItems: MutableList<QueueEntry> = mutableListOf()
+	private val fetchedItems = mutableMapOf<Int, QueueEntry>()
+	private var fetchedSize = 0
 
 	private var defaultOrderIndexProvider = DefaultOrderIndexProvider()
+	private var orderIndexProviderOrder = PlaybackOrder.DEFAULT
 	private var orderIndexProvider: OrderIndexProvider = defaultOrderIndexProvider
+		get() {
+			// Reset calculated next-up indices when playback order changes, checked on use so peeking right after
+			// changing the order already uses the new order
+			val playbackOrder = state.playbackOrder.value
+			if (playbackOrder != orderIndexProviderOrder) {
+				field = when (playbackOrder) {
+					PlaybackOrder.DEFAULT -> defaultOrderIndexProvider
+					PlaybackOrder.RANDOM -> RandomOrderIndexProvider()
+					PlaybackOrder.SHUFFLE -> ShuffleOrderIndexProvider()
+				}
+				orderIndexProviderOrder = playbackOrder
+			}
+
+			return field
+		}
 	private var currentQueueIndicesPlayed = mutableListOf<Int>()
+	private val playedIndices = BitSet()
 
-	override val estimatedSize get() = max(fetchedItems.size, suppliers.sumOf { it.size })
+	override val estimatedSize get() = max(fetchedSize, suppliers.sumOf { it.size })
 
 	private val _entryIndex = MutableStateFlow(Queue.INDEX_NONE)
 	override val entryIndex: StateFlow<Int> get() = _entryIndex.asStateFlow()
@@ -39,15 +54,6 @@ class QueueService internal constructor() : PlayerService(), Queue {
 	override val entry: StateFlow<QueueEntry?> get() = _entry.asStateFlow()
 
 	override suspend fun onInitialize() {
-		// Reset calculated next-up indices when playback order changes
-		state.playbackOrder.onEach { playbackOrder ->
-			orderIndexProvider = when (playbackOrder) {
-				PlaybackOrder.DEFAULT -> defaultOrderIndexProvider
-				PlaybackOrder.RANDOM -> RandomOrderIndexProvider()
-				PlaybackOrder.SHUFFLE -> ShuffleOrderIndexProvider()
-			}
-		}.launchIn(coroutineScope)
-
 		// Automatically advance when current stream ends
 		manager.backendService.addListener(object : PlayerBackendEventListener {
 			override fun onPlayStateChange(state: PlayState) = Unit
@@ -58,6 +64,8 @@ class QueueService internal constructor() : PlayerService(), Queue {
 					if (nextItem == null && _entryIndex.value != Queue.INDEX_NONE) setIndex(Queue.INDEX_NONE, true)
 				}
 			}
+
+			override fun onPositionDiscontinuity() = Unit
 		})
 	}
 
@@ -72,38 +80,40 @@ class QueueService internal constructor() : PlayerService(), Queue {
 	}
 
 	private suspend fun getOrSupplyItem(index: Int): QueueEntry? {
-		// Fetch additional items from suppliers until we reach the desired index
-		while (index >= fetchedItems.size) {
-			// No more suppliers to try
-			if (currentSupplierIndex >= suppliers.size) break
-
-			val supplier = suppliers[currentSupplierIndex]
-			val nextItem = supplier.getItem(currentSupplierItemIndex)
-
-			if (nextItem != null) {
-				// Add item to cache and icnrease item index
-				fetchedItems.add(nextItem)
-				currentSupplierItemIndex++
-			} else {
-				// Move to the next supplier if current one is exhausted
-				currentSupplierIndex++
-				currentSupplierItemIndex = 0
+		if (index < 0) return null
+		fetchedItems[index]?.let { return it }
+
+		// Find the supplier containing the index, only that supplier needs to retrieve the item
+		var supplierOffset = 0
+		for (supplier in suppliers) {
+			val supplierIndex = index - supplierOffset
+
+			// Paged suppliers don't know their size until they loaded a page
+			if (supplier.size == 0 || supplierIndex < supplier.size) {
+				val item = supplier.getItem(supplierIndex)
+				if (item != null) {
+					fetchedItems[index] = item
+					fetchedSize = max(fetchedSize, index + 1)
+					return item
+				}
 			}
+
+			supplierOffset += supplier.size
 		}
 
-		// Return item or null if not found
-		return if (index >= 0 && index < fetchedItems.size) fetchedItems[index]
-		else null
+		return null
 	}
 
 	override fun clear() {
+		suppliers.forEach { it.release() }
 		suppliers.clear()
-		currentSupplierIndex = 0
-		currentSupplierItemIndex = 0
 		fetchedItems.clear()
+		fetchedSize = 0
 		_entry.value = null
 		_entryIndex.value = Queue.INDEX_NONE
 		currentQueueIndicesPlayed.clear()
+		playedIndices.clear()
+		orderIndexProvider.reset()
 	}
 
 	// Preloading
@@ -113,11 +123,11 @@ class QueueService internal constructor() : PlayerService(), Queue {
 		val repeatMode = if (useRepeatMode) state.repeatMode.value else RepeatMode.NONE
 
 		return when (repeatMode) {
-			RepeatMode.NONE -> provider.provideIndices(amount, estimatedSize, currentQueueIndicesPlayed, _entryIndex.value)
+			RepeatMode.NONE -> provider.provideIndices(amount, estimatedSize, playedIndices, _entryIndex.value)
 
 			RepeatMode.REPEAT_ENTRY_ONCE -> buildList(amount) {
 				add(_entryIndex.value)
-				addAll(provider.provideIndices(amount - 1, estimatedSize, currentQueueIndicesPlayed, _entryIndex.value))
+				addAll(provider.provideIndices(amount - 1, estimatedSize, playedIndices, _entryIndex.value))
 			}.take(amount)
 
 			RepeatMode.REPEAT_ENTRY_INFINITE -> List(amount) { _entryIndex.value }
@@ -127,6 +137,7 @@ class QueueService internal constructor() : PlayerService(), Queue {
 	// Jumping
 
 	override suspend fun previous(): QueueEntry? = currentQueueIndicesPlayed.removeLastOrNull()?.let {
+		if (it !in currentQueueIndicesPlayed) playedIndices.clear(it)
 		setIndex(it)
 	}
 
@@ -152,6 +163,7 @@ class QueueService internal constructor() : PlayerService(), Queue {
 		// Save previous index
 		if (saveHistory && _entryIndex.value != Queue.INDEX_NONE) {
 			currentQueueIndicesPlayed.add(_entryIndex.value)
+			playedIndices.set(_entryIndex.value)
 		}
 
 		// Set new index
@@ -0,0 +1,33 @@
+package org.jellyfin.playback.core.queue
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.merge
+import org.jellyfin.playback.core.PlaybackManager
+
+/**
+ * The current entry of the queue followed by the entries that play next.
+ */
+data class QueueSnapshot(
+	val entry: QueueEntry?,
+	val upcoming: List<QueueEntry>,
+)
+
+/**
+ * Get a [QueueSnapshot] with up to [amount] upcoming entries. A new snapshot is created when the current entry,
+ * playback order or repeat mode changes and when [refresh] emits, for changes made to the suppliers. Entries are
+ * retrieved by suspending so collecting on the main thread doesn't block it.
+ */
+fun PlaybackManager.queueSnapshotFlow(
+	amount: Int,
+	refresh: Flow<Unit> = emptyFlow(),
+): Flow<QueueSnapshot> = merge(
+	queue.entry.map { },
+	state.playbackOrder.map { },
+	state.repeatMode.map { },
+	refresh,
+).conflate().map {
+	QueueSnapshot(queue.entry.value, queue.peekNext(amount).toList())
+}
@@ -1,12 +1,13 @@
 package org.jellyfin.playback.core.queue.order
 
+import java.util.BitSet
 import kotlin.math.min
 
 internal class DefaultOrderIndexProvider : OrderIndexProvider {
 	override fun provideIndices(
 		amount: Int,
 		size: Int,
-		playedIndices: Collection<Int>,
+		playedIndices: BitSet,
 		currentIndex: Int,
 	): Collection<Int> {
 		// No need to use currentQueueNextIndices because we can efficiently calculate the next items
@@ -1,6 +1,7 @@
 package org.jellyfin.playback.core.queue.order
 
 import org.jellyfin.playback.core.queue.QueueService
+import java.util.BitSet
 
 internal interface OrderIndexProvider {
 	/**
@@ -21,7 +22,7 @@ internal interface OrderIndexProvider {
 	fun provideIndices(
 		amount: Int,
 		size: Int,
-		playedIndices: Collection<Int>,
+		playedIndices: BitSet,
 		currentIndex: Int,
 	): Collection<Int>
 
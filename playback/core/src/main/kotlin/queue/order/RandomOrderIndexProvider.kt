@@ -1,5 +1,6 @@
 package org.jellyfin.playback.core.queue.order
 
+import java.util.BitSet
 import kotlin.random.Random
 
 internal class RandomOrderIndexProvider : OrderIndexProvider {
@@ -10,7 +11,7 @@ internal class RandomOrderIndexProvider : OrderIndexProvider {
 	override fun provideIndices(
 		amount: Int,
 		size: Int,
-		playedIndices: Collection<Int>,
+		playedIndices: BitSet,
 		currentIndex: Int,
 	) = List(amount) { i ->
 		if (i <= nextIndices.lastIndex) {
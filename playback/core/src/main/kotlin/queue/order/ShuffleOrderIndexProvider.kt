@@ -1,39 +1,60 @@
 package org.jellyfin.playback.core.queue.order
 
-import kotlin.math.min
+import java.util.BitSet
+import kotlin.random.Random
 
-internal class ShuffleOrderIndexProvider : OrderIndexProvider {
+/**
+ * Plays all indices in a random order without repeating them. The order is a Fisher-Yates shuffle that is only
+ * generated as far as needed, so large queues don't need to create a permutation of all indices.
+ */
+internal class ShuffleOrderIndexProvider(
+	private val random: Random = Random.Default,
+) : OrderIndexProvider {
 	private val nextIndices = mutableListOf<Int>()
 
-	override fun reset() = nextIndices.clear()
+	// Positions of the permutation that are swapped, all other positions contain their own index
+	private val permutation = mutableMapOf<Int, Int>()
+	private var permutationSize = 0
+	private var drawn = 0
+
+	override fun reset() {
+		nextIndices.clear()
+		permutation.clear()
+		permutationSize = 0
+		drawn = 0
+	}
 
 	override fun provideIndices(
 		amount: Int,
 		size: Int,
-		playedIndices: Collection<Int>,
+		playedIndices: BitSet,
 		currentIndex: Int,
 	): Collection<Int> {
-		val remainingItemsSize = size - playedIndices.size
-		return if (remainingItemsSize <= 0) {
-			emptyList()
-		} else {
-			val remainingIndices = (0..size).filterNot {
-				it in playedIndices || it in nextIndices
-			}
-
-			List(min(amount, remainingItemsSize)) { i ->
-				if (i < nextIndices.lastIndex) {
-					nextIndices[i]
-				} else {
-					val index = remainingIndices.random()
-					nextIndices.add(index)
-					index
-				}
-			}
+		// The undrawn part of the permutation is still shuffled when the queue grows, start over when it shrinks
+		if (size < permutationSize) reset()
+		permutationSize = size
+
+		// Indices may have been played by jumping to them after they were provided
+		nextIndices.removeAll { it >= size || playedIndices[it] || it == currentIndex }
+
+		while (nextIndices.size < amount && drawn < permutationSize) {
+			val index = draw()
+			if (!playedIndices[index] && index != currentIndex) nextIndices.add(index)
 		}
+
+		return nextIndices.take(amount)
+	}
+
+	private fun draw(): Int {
+		val swapPosition = random.nextInt(drawn, permutationSize)
+		val index = permutation[swapPosition] ?: swapPosition
+		if (swapPosition != drawn) permutation[swapPosition] = permutation[drawn] ?: drawn
+		permutation.remove(drawn)
+		drawn++
+		return index
 	}
 
 	override fun useNextIndex() {
-		nextIndices.removeAt(0)
+		nextIndices.removeFirstOrNull()
 	}
 }
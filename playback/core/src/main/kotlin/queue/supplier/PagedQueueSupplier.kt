@@ -1,31 +1,85 @@
 package org.jellyfin.playback.core.queue.supplier
 
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
 import org.jellyfin.playback.core.queue.QueueEntry
+import timber.log.Timber
+import kotlin.math.abs
 
+/**
+ * A [QueueSupplier] that loads its items in pages of [pageSize]. Only the pages containing requested items are loaded,
+ * so jumping to an item far into a large queue doesn't load all items before it. Once a requested item is within
+ * [prefetchDistance] of the end of its page the next page is loaded in the background. Only the pages around the
+ * last requested item are kept, the queue keeps the items it already retrieved.
+ */
 abstract class PagedQueueSupplier(
 	private val pageSize: Int = 10,
+	private val prefetchDistance: Int = pageSize / 2,
 ) : QueueSupplier {
-	companion object {
-		const val MAX_SIZE = 100
+	private companion object {
+		// The requested page, the prefetched page and the pages before them
+		private const val MAX_PAGES = 4
 	}
 
-	private val buffer: MutableList<QueueEntry> = mutableListOf()
+	private val coroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val lock = Any()
+	private val pages = mutableMapOf<Int, Deferred<List<QueueEntry>>>()
 
 	override suspend fun getItem(index: Int): QueueEntry? {
-		require(index in 0 until MAX_SIZE)
+		if (index < 0) return null
 
-		var page: Collection<QueueEntry>
-		var pageOffset = buffer.size
-		do {
-			if (buffer.size > index) return buffer[index]
-			page = loadPage(pageOffset, pageSize)
-			pageOffset += page.size
+		val pageIndex = index / pageSize
+		val pageItemIndex = index - pageIndex * pageSize
+		val page = getPage(pageIndex).await()
 
-			for (item in page) buffer.add(item)
-		} while (page.isNotEmpty())
+		// The size is known after loading the first page
+		val nextPageOffset = (pageIndex + 1) * pageSize
+		if (pageItemIndex >= pageSize - prefetchDistance && page.size == pageSize && nextPageOffset < size) {
+			getPage(pageIndex + 1)
+		}
 
-		return null
+		return page.getOrNull(pageItemIndex)
 	}
 
+	/**
+	 * Get the page at [pageIndex], requests for a page that is already loading wait for the same response.
+	 */
+	private fun getPage(pageIndex: Int): Deferred<List<QueueEntry>> = synchronized(lock) {
+		val page = pages.getOrPut(pageIndex) {
+			coroutineScope.async {
+				runCatching {
+					loadPage(pageIndex * pageSize, pageSize).toList()
+				}.onFailure { error ->
+					Timber.w(error, "Failed to load page $pageIndex")
+					// Allow the page to be loaded again
+					synchronized(lock) { pages.remove(pageIndex) }
+				}.getOrThrow()
+			}
+		}
+
+		// Forget the pages furthest away from the requested page
+		while (pages.size > MAX_PAGES) {
+			pages.remove(pages.keys.maxBy { abs(it - pageIndex) })
+		}
+
+		page
+	}
+
+	/**
+	 * Stop loading pages and forget all loaded pages.
+	 */
+	override fun release() {
+		coroutineScope.cancel()
+		synchronized(lock) { pages.clear() }
+	}
+
+	/**
+	 * Load [size] items starting at [offset]. Implementations should update [size] when the response contains the total
+	 * amount of items.
+	 */
 	abstract suspend fun loadPage(offset: Int, size: Int): Collection<QueueEntry>
 }
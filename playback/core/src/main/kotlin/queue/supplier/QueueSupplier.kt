@@ -13,4 +13,9 @@ interface QueueSupplier {
 	val size: Int
 
 	suspend fun getItem(index: Int): QueueEntry?
+
+	/**
+	 * Release the resources of the supplier, called when the supplier is removed from the queue.
+	 */
+	fun release() = Unit
 }
@@ -3,16 +3,12 @@ package org.jellyfin.playback.core.queue.supplier
 import org.jellyfin.playback.core.queue.QueueEntry
 
 abstract class SequenceQueueSupplier : QueueSupplier {
-	companion object {
-		const val MAX_SIZE = 100
-	}
-
 	protected abstract val items: Sequence<QueueEntry>
 	private val itemIterator by lazy { items.iterator() }
 	private val buffer = mutableListOf<QueueEntry>()
 
 	override suspend fun getItem(index: Int): QueueEntry? {
-		require(index in 0 until MAX_SIZE)
+		if (index < 0) return null
 
 		do {
 			// Buffer contains the requested item
@@ -0,0 +1,82 @@
+package org.jellyfin.playback.core.queue.order
+
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.collections.shouldBeEmpty
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.collections.shouldContainExactlyInAnyOrder
+import io.kotest.matchers.collections.shouldNotContainDuplicates
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.shouldNotBe
+import java.util.BitSet
+import kotlin.random.Random
+
+/**
+ * Play all items of a queue of [size] using [provider], starting at [startIndex]. Returns the played indices in order.
+ */
+private fun play(provider: OrderIndexProvider, size: Int, startIndex: Int = 0): List<Int> {
+	val played = BitSet()
+	var current = startIndex
+
+	return buildList {
+		while (true) {
+			add(current)
+			played.set(current)
+
+			val next = provider.provideIndices(1, size, played, current).firstOrNull() ?: break
+			provider.useNextIndex()
+			current = next
+		}
+	}
+}
+
+class ShuffleOrderIndexProviderTests : FunSpec({
+	test("ShuffleOrderIndexProvider plays every index exactly once") {
+		val order = play(ShuffleOrderIndexProvider(Random(1)), 100)
+
+		order.shouldNotContainDuplicates()
+		order shouldContainExactlyInAnyOrder (0 until 100).toList()
+	}
+
+	test("ShuffleOrderIndexProvider provides indices within bounds without repeating") {
+		val indices = ShuffleOrderIndexProvider(Random(2)).provideIndices(1_000, 1_000, BitSet(), -1)
+
+		indices.shouldNotContainDuplicates()
+		indices shouldContainExactlyInAnyOrder (0 until 1_000).toList()
+	}
+
+	test("ShuffleOrderIndexProvider is reproducible with the same seed") {
+		val first = play(ShuffleOrderIndexProvider(Random(3)), 50)
+		val second = play(ShuffleOrderIndexProvider(Random(3)), 50)
+
+		first shouldContainExactly second
+		first shouldNotBe (0 until 50).toList()
+	}
+
+	test("ShuffleOrderIndexProvider skips played and current indices") {
+		val played = BitSet().apply { set(2); set(5) }
+		val indices = ShuffleOrderIndexProvider(Random(4)).provideIndices(10, 10, played, 7)
+
+		indices shouldContainExactlyInAnyOrder listOf(0, 1, 3, 4, 6, 8, 9)
+	}
+
+	test("ShuffleOrderIndexProvider keeps drawing when the queue grows") {
+		val provider = ShuffleOrderIndexProvider(Random(5))
+		val played = BitSet()
+
+		val first = provider.provideIndices(5, 10, played, -1).toList()
+		first.forEach { index ->
+			provider.useNextIndex()
+			played.set(index)
+		}
+		val second = provider.provideIndices(20, 20, played, -1)
+
+		(first + second) shouldContainExactlyInAnyOrder (0 until 20).toList()
+	}
+
+	test("ShuffleOrderIndexProvider handles empty and single item queues") {
+		ShuffleOrderIndexProvider(Random(6)).provideIndices(5, 0, BitSet(), -1).shouldBeEmpty()
+		ShuffleOrderIndexProvider(Random(6)).provideIndices(5, 1, BitSet(), -1) shouldContainExactly listOf(0)
+		ShuffleOrderIndexProvider(Random(6)).provideIndices(5, 1, BitSet(), 0).shouldBeEmpty()
+		play(ShuffleOrderIndexProvider(Random(6)), 1) shouldBe listOf(0)
+	}
+})
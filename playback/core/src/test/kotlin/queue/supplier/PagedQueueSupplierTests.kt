@@ -0,0 +1,105 @@
+package org.jellyfin.playback.core.queue.supplier
+
+import io.kotest.assertions.throwables.shouldThrow
+import io.kotest.core.spec.style.FunSpec
+import io.kotest.matchers.collections.shouldContainExactly
+import io.kotest.matchers.shouldBe
+import io.kotest.matchers.types.shouldBeSameInstanceAs
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.delay
+import org.jellyfin.playback.core.queue.QueueEntry
+import java.util.Collections
+
+private class TestPagedQueueSupplier(
+	private val entries: List<QueueEntry>,
+	pageSize: Int,
+	prefetchDistance: Int = 0,
+) : PagedQueueSupplier(pageSize, prefetchDistance) {
+	val loadedOffsets: MutableList<Int> = Collections.synchronizedList(mutableListOf())
+
+	override var size: Int = 0
+
+	override suspend fun loadPage(offset: Int, size: Int): Collection<QueueEntry> {
+		loadedOffsets.add(offset)
+		this.size = entries.size
+		return entries.drop(offset).take(size)
+	}
+}
+
+class PagedQueueSupplierTests : FunSpec({
+	val entries = List(25) { QueueEntry() }
+
+	test("PagedQueueSupplier only loads the page of the requested item") {
+		val supplier = TestPagedQueueSupplier(entries, pageSize = 10)
+
+		supplier.getItem(15) shouldBeSameInstanceAs entries[15]
+		supplier.loadedOffsets shouldContainExactly listOf(10)
+	}
+
+	test("PagedQueueSupplier maps indices at page boundaries to the right page") {
+		val supplier = TestPagedQueueSupplier(entries, pageSize = 10)
+
+		supplier.getItem(9) shouldBeSameInstanceAs entries[9]
+		supplier.getItem(10) shouldBeSameInstanceAs entries[10]
+		supplier.getItem(0) shouldBeSameInstanceAs entries[0]
+		supplier.getItem(19) shouldBeSameInstanceAs entries[19]
+		supplier.getItem(20) shouldBeSameInstanceAs entries[20]
+		supplier.loadedOffsets shouldContainExactly listOf(0, 10, 20)
+	}
+
+	test("PagedQueueSupplier returns null outside of the items") {
+		val supplier = TestPagedQueueSupplier(entries, pageSize = 10)
+
+		supplier.getItem(-1) shouldBe null
+		supplier.getItem(24) shouldBeSameInstanceAs entries[24]
+		supplier.getItem(25) shouldBe null
+		supplier.getItem(100) shouldBe null
+	}
+
+	test("PagedQueueSupplier handles empty and single item queues") {
+		TestPagedQueueSupplier(emptyList(), pageSize = 10).getItem(0) shouldBe null
+
+		val single = listOf(QueueEntry())
+		val supplier = TestPagedQueueSupplier(single, pageSize = 1)
+		supplier.getItem(0) shouldBeSameInstanceAs single[0]
+		supplier.getItem(1) shouldBe null
+	}
+
+	test("PagedQueueSupplier prefetches the next page near the end of a page") {
+		val supplier = TestPagedQueueSupplier(entries, pageSize = 10, prefetchDistance = 2)
+
+		supplier.getItem(5)
+		supplier.loadedOffsets shouldContainExactly listOf(0)
+
+		supplier.getItem(8)
+		// The next page is loaded in the background
+		while (supplier.loadedOffsets.size < 2) delay(10)
+		supplier.loadedOffsets shouldContainExactly listOf(0, 10)
+
+		supplier.getItem(10) shouldBeSameInstanceAs entries[10]
+		supplier.loadedOffsets shouldContainExactly listOf(0, 10)
+	}
+
+	test("PagedQueueSupplier forgets the pages furthest away from the requested page") {
+		val manyEntries = List(100) { QueueEntry() }
+		val supplier = TestPagedQueueSupplier(manyEntries, pageSize = 10)
+
+		for (index in 0 until 100 step 10) supplier.getItem(index)
+		supplier.loadedOffsets shouldContainExactly (0 until 100 step 10).toList()
+
+		// Recent pages are kept, the first page is loaded again
+		supplier.getItem(95) shouldBeSameInstanceAs manyEntries[95]
+		supplier.getItem(5) shouldBeSameInstanceAs manyEntries[5]
+		supplier.loadedOffsets shouldContainExactly (0 until 100 step 10).toList() + 0
+	}
+
+	test("PagedQueueSupplier.release() stops loading pages") {
+		val supplier = TestPagedQueueSupplier(entries, pageSize = 10)
+
+		supplier.getItem(0)
+		supplier.release()
+
+		shouldThrow<CancellationException> { supplier.getItem(10) }
+		supplier.loadedOffsets shouldContainExactly listOf(0)
+	}
+})
@@ -20,6 +20,7 @@ import org.jellyfin.sdk.model.api.PlaybackInfoDto
 class JellyfinMediaStreamResolver(
 	private val api: ApiClient,
 	private val deviceProfileBuilder: () -> DeviceProfile,
+	private val playbackInfoCache: PlaybackInfoCache,
 ) : MediaStreamResolver {
 	companion object {
 		private val supportedMediaTypes = arrayOf(MediaType.VIDEO, MediaType.AUDIO)
@@ -68,7 +69,7 @@ class JellyfinMediaStreamResolver(
 		mediaSourceId: String? = null,
 	): MediaInfo {
 		val profile = deviceProfileBuilder()
-		val response by api.mediaInfoApi.getPostedPlaybackInfo(
+		val response = playbackInfoCache.take(item.id, mediaSourceId, profile) ?: api.mediaInfoApi.getPostedPlaybackInfo(
 			itemId = item.id,
 			data = PlaybackInfoDto(
 				mediaSourceId = mediaSourceId,
@@ -80,7 +81,7 @@ class JellyfinMediaStreamResolver(
 				allowAudioStreamCopy = true,
 				autoOpenLiveStream = false,
 			)
-		)
+		).content
 
 		if (response.errorCode != null) {
 			error("Failed to get media info for item ${item.id} source ${mediaSourceId}: ${response.errorCode}")
@@ -113,5 +114,8 @@ class JellyfinMediaStreamResolver(
 		tracks = getTracks(),
 		queueEntry = queueEntry,
 		url = url,
+		bitrate = mediaSource.bitrate,
+		// The url contains the server address and play session, the tag changes when the file changes
+		cacheKey = mediaSource.eTag?.let { eTag -> "${queueEntry.baseItem?.id}_${mediaSource.id}_$eTag" },
 	)
 }
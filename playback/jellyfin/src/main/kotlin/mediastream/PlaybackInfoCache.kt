@@ -0,0 +1,110 @@
+package org.jellyfin.playback.jellyfin.mediastream
+
+import android.os.SystemClock
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import org.jellyfin.sdk.api.client.ApiClient
+import org.jellyfin.sdk.api.client.extensions.mediaInfoApi
+import org.jellyfin.sdk.model.api.DeviceProfile
+import org.jellyfin.sdk.model.api.PlaybackInfoDto
+import org.jellyfin.sdk.model.api.PlaybackInfoResponse
+import timber.log.Timber
+import java.util.UUID
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Retrieves playback info for items that are likely to be played soon, like the item of a focused play button, so
+ * starting playback doesn't need to wait for the server to negotiate the stream. Each response is used at most once
+ * and only for a short time, as it contains a play session.
+ */
+class PlaybackInfoCache(
+	private val api: ApiClient,
+	private val deviceProfileBuilder: () -> DeviceProfile,
+) {
+	private companion object {
+		private val MAX_AGE = 30.seconds
+		private const val MAX_ENTRIES = 4
+	}
+
+	private data class Key(
+		val session: String,
+		val itemId: UUID,
+		val profileHash: Int,
+	)
+
+	private class Entry(
+		val response: Deferred<PlaybackInfoResponse>,
+		val createdAt: Long = SystemClock.elapsedRealtime(),
+	) {
+		val isExpired get() = SystemClock.elapsedRealtime() - createdAt >= MAX_AGE.inWholeMilliseconds
+	}
+
+	private val coroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+	private val entries = LinkedHashMap<Key, Entry>()
+
+	/**
+	 * Retrieve the playback info for all media sources of [itemId] in the background.
+	 */
+	fun prefetch(itemId: UUID) {
+		val profile = deviceProfileBuilder()
+		val key = Key(getSession(), itemId, profile.hashCode())
+
+		synchronized(entries) {
+			entries[key]?.let { entry -> if (!entry.isExpired) return }
+			entries.remove(key)?.response?.cancel()
+
+			Timber.d("Prefetching playback info for $itemId")
+			entries[key] = Entry(coroutineScope.async {
+				api.mediaInfoApi.getPostedPlaybackInfo(
+					itemId = itemId,
+					data = PlaybackInfoDto(
+						deviceProfile = profile,
+						enableDirectPlay = true,
+						enableDirectStream = true,
+						enableTranscoding = true,
+						allowVideoStreamCopy = true,
+						allowAudioStreamCopy = true,
+						autoOpenLiveStream = false,
+					)
+				).content
+			})
+
+			if (entries.size > MAX_ENTRIES) entries.remove(entries.keys.first())?.response?.cancel()
+		}
+	}
+
+	/**
+	 * Take the prefetched playback info of [itemId] when it was retrieved with [profile] and contains [mediaSourceId],
+	 * or any media source when null. Returns null when there is none, the caller should then retrieve it instead.
+	 */
+	suspend fun take(
+		itemId: UUID,
+		mediaSourceId: String?,
+		profile: DeviceProfile,
+	): PlaybackInfoResponse? {
+		val entry = synchronized(entries) {
+			entries.remove(Key(getSession(), itemId, profile.hashCode()))
+		} ?: return null
+		if (entry.isExpired) {
+			entry.response.cancel()
+			return null
+		}
+
+		val response = runCatching {
+			entry.response.await()
+		}.onFailure {
+			Timber.w(it, "Prefetching playback info for $itemId failed")
+		}.getOrNull() ?: return null
+
+		if (response.errorCode != null) return null
+		if (mediaSourceId != null && response.mediaSources.none { it.id == mediaSourceId }) return null
+
+		Timber.d("Using prefetched playback info for $itemId")
+		return response
+	}
+
+	private fun getSession() = "${api.baseUrl}|${api.accessToken}"
+}
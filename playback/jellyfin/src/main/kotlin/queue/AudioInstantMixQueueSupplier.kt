@@ -40,7 +40,8 @@ class AudioInstantMixQueueSupplier(
 			// Pagination
 			limit = size,
 		)
-		this.size = result.totalRecordCount
+		// Only the first page is returned so the total count would hide the items of following suppliers
+		this.size = result.items.size
 		return result.items.map { createBaseItemQueueEntry(api, it) }
 	}
 }
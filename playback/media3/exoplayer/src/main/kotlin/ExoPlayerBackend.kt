@@ -14,11 +14,12 @@ import androidx.media3.common.TrackSelectionParameters
 import androidx.media3.common.VideoSize
 import androidx.media3.common.text.CueGroup
 import androidx.media3.common.util.UnstableApi
-import androidx.media3.datasource.DefaultDataSource
+import androidx.media3.datasource.DataSource
 import androidx.media3.exoplayer.DefaultRenderersFactory
 import androidx.media3.exoplayer.ExoPlayer
 import androidx.media3.exoplayer.source.DefaultMediaSourceFactory
 import androidx.media3.exoplayer.trackselection.DefaultTrackSelector
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter
 import androidx.media3.exoplayer.util.EventLogger
 import androidx.media3.extractor.DefaultExtractorsFactory
 import androidx.media3.extractor.ts.TsExtractor
@@ -40,6 +41,11 @@ import org.jellyfin.playback.core.queue.QueueEntry
 import org.jellyfin.playback.core.support.PlaySupportReport
 import org.jellyfin.playback.core.ui.PlayerSubtitleView
 import org.jellyfin.playback.core.ui.PlayerSurfaceView
+import org.jellyfin.playback.media3.exoplayer.buffer.AdaptiveLoadControl
+import org.jellyfin.playback.media3.exoplayer.buffer.BufferPolicy
+import org.jellyfin.playback.media3.exoplayer.cache.isCacheable
+import org.jellyfin.playback.media3.exoplayer.diagnostics.PlaybackDiagnostics
+import org.jellyfin.playback.media3.exoplayer.mapping.estimatedBitrate
 import org.jellyfin.playback.media3.exoplayer.support.getPlaySupportReport
 import org.jellyfin.playback.media3.exoplayer.support.toFormats
 import timber.log.Timber
@@ -50,6 +56,7 @@ import kotlin.time.Duration.Companion.milliseconds
 class ExoPlayerBackend(
 	private val context: Context,
 	private val exoPlayerOptions: ExoPlayerOptions,
+	private val dataSourceFactory: DataSource.Factory,
 ) : BasePlayerBackend() {
 	companion object {
 		const val TS_SEARCH_BYTES_LM = TsExtractor.TS_PACKET_SIZE * 1800
@@ -60,15 +67,25 @@ class ExoPlayerBackend(
 	private var subtitleView: SubtitleView? = null
 	private var audioPipeline = ExoPlayerAudioPipeline()
 
+	/**
+	 * Diagnostics of the playback sessions of this backend.
+	 */
+	val diagnostics = PlaybackDiagnostics()
+
 	private val assHandler by lazy {
 		AssHandler(AssRenderType.OVERLAY)
 	}
 
-	private val exoPlayer by lazy {
-		val dataSourceFactory = DefaultDataSource.Factory(
-			context,
-			exoPlayerOptions.baseDataSourceFactory,
-		)
+	private val loadControl by lazy {
+		AdaptiveLoadControl(
+			policy = BufferPolicy.create(context),
+			bandwidthMeter = DefaultBandwidthMeter.getSingletonInstance(context),
+		).apply {
+			profileOverride = exoPlayerOptions.bufferProfile
+		}
+	}
+
+	private val exoPlayerDelegate = lazy {
 		val extractorsFactory = DefaultExtractorsFactory().apply {
 			val isLowRamDevice = context.getSystemService<ActivityManager>()?.isLowRamDevice == true
 			setTsExtractorTimestampSearchBytes(
@@ -84,10 +101,10 @@ class ExoPlayerBackend(
 		val mediaSourceFactory = if (exoPlayerOptions.enableLibass) {
 			val assSubtitleParserFactory = AssSubtitleParserFactory(assHandler)
 			val assExtractorsFactory = extractorsFactory.withAssMkvSupport(assSubtitleParserFactory, assHandler)
-			DefaultMediaSourceFactory(dataSourceFactory, assExtractorsFactory).apply {
+			DefaultMediaSourceFactory(diagnostics.wrap(dataSourceFactory), assExtractorsFactory).apply {
 				setSubtitleParserFactory(assSubtitleParserFactory)
 			}
-		} else DefaultMediaSourceFactory(dataSourceFactory, extractorsFactory)
+		} else DefaultMediaSourceFactory(diagnostics.wrap(dataSourceFactory), extractorsFactory)
 
 		val renderersFactory = DefaultRenderersFactory(context).apply {
 			setEnableDecoderFallback(true)
@@ -115,6 +132,7 @@ class ExoPlayerBackend(
 				})
 			})
 			.setMediaSourceFactory(mediaSourceFactory)
+			.setLoadControl(loadControl)
 			.setAudioAttributes(AudioAttributes.Builder().apply {
 				setUsage(C.USAGE_MEDIA)
 			}.build(), true)
@@ -122,6 +140,7 @@ class ExoPlayerBackend(
 			.build()
 			.also { player ->
 				player.addListener(PlayerListener())
+				diagnostics.attach(player)
 
 				if (exoPlayerOptions.enableDebugLogging) {
 					player.addAnalyticsListener(EventLogger())
@@ -133,6 +152,8 @@ class ExoPlayerBackend(
 			}
 	}
 
+	private val exoPlayer by exoPlayerDelegate
+
 	inner class PlayerListener : Player.Listener {
 		override fun onIsPlayingChanged(isPlaying: Boolean) {
 			val state = when {
@@ -165,6 +186,16 @@ class ExoPlayerBackend(
 			}
 		}
 
+		override fun onPositionDiscontinuity(
+			oldPosition: Player.PositionInfo,
+			newPosition: Player.PositionInfo,
+			reason: Int,
+		) {
+			if (reason == Player.DISCONTINUITY_REASON_SEEK || reason == Player.DISCONTINUITY_REASON_SEEK_ADJUSTMENT) {
+				listener?.onPositionDiscontinuity()
+			}
+		}
+
 		override fun onAudioSessionIdChanged(audioSessionId: Int) {
 			audioPipeline.setAudioSessionId(audioSessionId)
 		}
@@ -172,6 +203,17 @@ class ExoPlayerBackend(
 		override fun onMediaItemTransition(mediaItem: MediaItem?, reason: Int) {
 			val queueEntry = mediaItem?.localConfiguration?.tag as? QueueEntry
 			audioPipeline.normalizationGain = queueEntry?.normalizationGain
+
+			// Continued into the prepared item, let the queue catch up
+			if (reason == Player.MEDIA_ITEM_TRANSITION_REASON_AUTO) {
+				val endedStream = currentStream
+				currentStream = queueEntry?.mediaStream
+				// Select the buffer profile for the stream that continued without playItem
+				loadControl.setStreamBitrate(currentStream?.estimatedBitrate)
+				updatePauseAtEndOfMediaItems()
+
+				if (endedStream != null) listener?.onMediaStreamEnd(endedStream)
+			}
 		}
 	}
 
@@ -206,35 +248,57 @@ class ExoPlayerBackend(
 			setTag(item)
 			setMediaId(stream.hashCode().toString())
 			setUri(stream.url)
+			// Only media items with a cache key use the media cache
+			if (stream.isCacheable) setCustomCacheKey(stream.cacheKey)
 		}.build()
 
-		// Remove any old preloaded items (skips the first which is the playing item)
-		while (exoPlayer.mediaItemCount > 1) exoPlayer.removeMediaItem(0)
+		// Remove any old items, except for the playing item
+		removeMediaItemsAroundCurrent()
 		// Add new item
 		exoPlayer.addMediaItem(mediaItem)
+		updatePauseAtEndOfMediaItems()
 
 		exoPlayer.prepare()
 	}
 
+	override fun clearPreparedItems() {
+		val nextIndex = exoPlayer.currentMediaItemIndex + 1
+		if (nextIndex < exoPlayer.mediaItemCount) exoPlayer.removeMediaItems(nextIndex, exoPlayer.mediaItemCount)
+		updatePauseAtEndOfMediaItems()
+	}
+
 	override fun playItem(item: QueueEntry) {
 		val stream = requireNotNull(item.mediaStream)
 		if (currentStream == stream) return
 
 		currentStream = stream
+		loadControl.setStreamBitrate(stream.estimatedBitrate)
 
-		var streamIsPrepared = false
-		repeat(exoPlayer.mediaItemCount) { index ->
-			streamIsPrepared =
-				streamIsPrepared || exoPlayer.getMediaItemAt(index).mediaId == stream.hashCode()
-					.toString()
-		}
+		val nextIndex = exoPlayer.currentMediaItemIndex + 1
+		val streamIsPrepared = nextIndex < exoPlayer.mediaItemCount &&
+			exoPlayer.getMediaItemAt(nextIndex).mediaId == stream.hashCode().toString()
 
 		if (!streamIsPrepared) prepareItem(item)
 
 		exoPlayer.seekToNextMediaItem()
+		updatePauseAtEndOfMediaItems()
 		exoPlayer.play()
 	}
 
+	private fun removeMediaItemsAroundCurrent() {
+		val currentIndex = exoPlayer.currentMediaItemIndex
+		if (currentIndex + 1 < exoPlayer.mediaItemCount) exoPlayer.removeMediaItems(currentIndex + 1, exoPlayer.mediaItemCount)
+		if (currentIndex > 0) exoPlayer.removeMediaItems(0, currentIndex)
+	}
+
+	/**
+	 * Continue into the prepared item without pausing so there's no gap between them. Without a prepared item pause at
+	 * the end so the queue can decide what plays next.
+	 */
+	private fun updatePauseAtEndOfMediaItems() {
+		exoPlayer.pauseAtEndOfMediaItems = !exoPlayer.hasNextMediaItem()
+	}
+
 	override fun play() {
 		// If the item has ended, revert first so the item will start over again
 		if (exoPlayer.playbackState == Player.STATE_ENDED) exoPlayer.seekTo(0)
@@ -266,6 +330,14 @@ class ExoPlayerBackend(
 		exoPlayer.setPlaybackSpeed(speed)
 	}
 
+	override fun release() {
+		if (!exoPlayerDelegate.isInitialized()) return
+
+		// Stops sampling and logs the summary of the current session
+		diagnostics.detach()
+		exoPlayer.release()
+	}
+
 	override fun getPositionInfo(): PositionInfo = PositionInfo(
 		active = exoPlayer.currentPosition.milliseconds,
 		buffer = exoPlayer.bufferedPosition.milliseconds,
@@ -2,10 +2,16 @@ package org.jellyfin.playback.media3.exoplayer
 
 import androidx.media3.datasource.DataSource
 import androidx.media3.datasource.DefaultHttpDataSource
+import org.jellyfin.playback.media3.exoplayer.buffer.BufferProfile
+import org.jellyfin.playback.media3.exoplayer.cache.MediaCacheOptions
 
 data class ExoPlayerOptions(
 	val preferFfmpeg: Boolean = false,
 	val enableDebugLogging: Boolean = false,
 	val enableLibass: Boolean = false,
 	val baseDataSourceFactory: DataSource.Factory = DefaultHttpDataSource.Factory(),
+	// Select a profile for each stream when null
+	val bufferProfile: BufferProfile? = null,
+	// Audio is streamed without caching when null
+	val mediaCache: MediaCacheOptions? = null,
 )
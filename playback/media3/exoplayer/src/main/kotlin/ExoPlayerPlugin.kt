@@ -1,11 +1,23 @@
 package org.jellyfin.playback.media3.exoplayer
 
 import android.content.Context
+import androidx.annotation.OptIn
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.DefaultDataSource
 import org.jellyfin.playback.core.plugin.playbackPlugin
+import org.jellyfin.playback.media3.exoplayer.cache.MediaCache
+import org.jellyfin.playback.media3.exoplayer.cache.MediaCacheService
 
+@OptIn(UnstableApi::class)
 fun exoPlayerPlugin(
 	androidContext: Context,
 	exoPlayerOptions: ExoPlayerOptions = ExoPlayerOptions(),
 ) = playbackPlugin {
-	provide(ExoPlayerBackend(androidContext, exoPlayerOptions))
+	val dataSourceFactory = DefaultDataSource.Factory(androidContext, exoPlayerOptions.baseDataSourceFactory)
+	val mediaCache = exoPlayerOptions.mediaCache?.let { options ->
+		MediaCache(androidContext, options, dataSourceFactory)
+	}
+
+	provide(ExoPlayerBackend(androidContext, exoPlayerOptions, mediaCache?.dataSourceFactory ?: dataSourceFactory))
+	if (mediaCache != null) provide(MediaCacheService(mediaCache))
 }
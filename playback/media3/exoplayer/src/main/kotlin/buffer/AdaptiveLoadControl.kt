@@ -0,0 +1,134 @@
+package org.jellyfin.playback.media3.exoplayer.buffer
+
+import androidx.annotation.OptIn
+import androidx.media3.common.C
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.common.util.Util
+import androidx.media3.exoplayer.LoadControl
+import androidx.media3.exoplayer.analytics.PlayerId
+import androidx.media3.exoplayer.source.TrackGroupArray
+import androidx.media3.exoplayer.trackselection.ExoTrackSelection
+import androidx.media3.exoplayer.upstream.Allocator
+import androidx.media3.exoplayer.upstream.BandwidthMeter
+import androidx.media3.exoplayer.upstream.DefaultAllocator
+import timber.log.Timber
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.time.Duration.Companion.milliseconds
+
+/**
+ * [LoadControl] using the thresholds of a [BufferProfile] selected by [policy] for the current stream. The profile can
+ * be changed at any time and applies to the next load decision.
+ */
+@OptIn(UnstableApi::class)
+class AdaptiveLoadControl(
+	private val policy: BufferPolicy,
+	private val bandwidthMeter: BandwidthMeter,
+) : LoadControl {
+	private companion object {
+		// Always keep loading below this, same as the DefaultLoadControl
+		private val MIN_BUFFER_FLOOR = 500.milliseconds
+	}
+
+	private val allocator = DefaultAllocator(true, C.DEFAULT_BUFFER_SEGMENT_SIZE)
+	private var isLoading = false
+
+	@Volatile
+	private var streamBitrate: Int? = null
+
+	/**
+	 * The profile selected for the current stream.
+	 */
+	@Volatile
+	var selectedProfile = policy.select(null, null)
+		private set
+
+	/**
+	 * Profile to use instead of the selected profile, or null to select automatically.
+	 */
+	@Volatile
+	var profileOverride: BufferProfile? = null
+
+	val profile get() = profileOverride ?: selectedProfile
+
+	/**
+	 * Set the bitrate of the stream that is about to play in bits per second, or null when unknown.
+	 */
+	fun setStreamBitrate(bitrate: Int?) {
+		streamBitrate = bitrate
+		selectProfile()
+	}
+
+	private fun selectProfile() {
+		val throughput = bandwidthMeter.bitrateEstimate.takeIf { it > 0 }
+		val profile = policy.select(streamBitrate, throughput)
+		if (profile != selectedProfile) Timber.i("Selected buffer profile $profile for bitrate $streamBitrate and throughput $throughput")
+		selectedProfile = profile
+	}
+
+	private fun reset(resetAllocator: Boolean) {
+		isLoading = false
+		if (resetAllocator) allocator.reset()
+	}
+
+	override fun getAllocator(): Allocator = allocator
+
+	override fun onPrepared(playerId: PlayerId) {
+		selectProfile()
+		reset(false)
+		allocator.setTargetBufferSize(policy.maxBufferBytes)
+	}
+
+	override fun onTracksSelected(
+		parameters: LoadControl.Parameters,
+		trackGroups: TrackGroupArray,
+		trackSelections: Array<out ExoTrackSelection?>,
+	) = Unit
+
+	override fun onStopped(playerId: PlayerId) = reset(true)
+
+	override fun onReleased(playerId: PlayerId) = reset(true)
+
+	override fun getBackBufferDurationUs(playerId: PlayerId) = profile.backBuffer.inWholeMicroseconds
+
+	override fun retainBackBufferFromKeyframe(playerId: PlayerId) = false
+
+	override fun shouldContinueLoading(parameters: LoadControl.Parameters): Boolean {
+		val profile = profile
+		val maxBufferUs = profile.maxBuffer.inWholeMicroseconds
+		val targetBufferSizeReached = allocator.totalBytesAllocated >= policy.maxBufferBytes
+
+		var minBufferUs = profile.minBuffer.inWholeMicroseconds
+		// Keep the same playout duration buffered when playing faster
+		if (parameters.playbackSpeed > 1) {
+			minBufferUs = min(Util.getMediaDurationForPlayoutDuration(minBufferUs, parameters.playbackSpeed), maxBufferUs)
+		}
+		minBufferUs = max(minBufferUs, MIN_BUFFER_FLOOR.inWholeMicroseconds)
+
+		if (parameters.bufferedDurationUs < minBufferUs) {
+			isLoading = !targetBufferSizeReached
+		} else if (parameters.bufferedDurationUs >= maxBufferUs || targetBufferSizeReached) {
+			isLoading = false
+		}
+
+		return isLoading
+	}
+
+	override fun shouldStartPlayback(parameters: LoadControl.Parameters): Boolean {
+		val profile = profile
+		val bufferedDurationUs = Util.getPlayoutDurationForMediaDuration(parameters.bufferedDurationUs, parameters.playbackSpeed)
+
+		var minBufferDurationUs = when (parameters.rebuffering) {
+			true -> profile.bufferForPlaybackAfterRebuffer.inWholeMicroseconds
+			false -> profile.bufferForPlayback.inWholeMicroseconds
+		}
+		if (parameters.targetLiveOffsetUs != C.TIME_UNSET) {
+			minBufferDurationUs = min(parameters.targetLiveOffsetUs / 2, minBufferDurationUs)
+		}
+
+		// Start when the memory is full, more media can't be buffered anyway
+		return minBufferDurationUs <= 0 ||
+			bufferedDurationUs >= minBufferDurationUs ||
+			allocator.totalBytesAllocated >= policy.maxBufferBytes
+	}
+}
@@ -0,0 +1,68 @@
+package org.jellyfin.playback.media3.exoplayer.buffer
+
+import android.app.ActivityManager
+import android.content.Context
+import androidx.annotation.OptIn
+import androidx.core.content.getSystemService
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.exoplayer.DefaultLoadControl
+
+/**
+ * Selects a [BufferProfile] for a stream based on its bitrate, the measured network throughput and the memory of the
+ * device.
+ *
+ * @property maxBufferBytes The maximum amount of memory used for buffered media.
+ */
+class BufferPolicy(
+	val isLowRamDevice: Boolean,
+	val maxBufferBytes: Int,
+) {
+	companion object {
+		// Streams like 4K remuxes need more time buffered to survive dips in throughput
+		private const val HIGH_BITRATE_THRESHOLD = 40_000_000
+
+		// The network should be this much faster than the stream to not be constrained
+		private const val THROUGHPUT_MARGIN = 1.5
+
+		private const val DEFAULT_MEMORY_CLASS = 128
+
+		// Same target buffer size as the DefaultLoadControl for a stream with video and audio
+		@OptIn(UnstableApi::class)
+		private const val DEFAULT_TARGET_BUFFER_BYTES =
+			DefaultLoadControl.DEFAULT_VIDEO_BUFFER_SIZE + DefaultLoadControl.DEFAULT_AUDIO_BUFFER_SIZE
+
+		// Part of the heap used for buffered media, leaving enough for the rest of the app
+		private const val HEAP_FRACTION = 4
+		private const val LOW_RAM_HEAP_FRACTION = 8
+
+		@JvmStatic
+		fun create(context: Context): BufferPolicy {
+			val activityManager = context.getSystemService<ActivityManager>()
+			val isLowRamDevice = activityManager?.isLowRamDevice == true
+			val memoryClass = activityManager?.largeMemoryClass ?: DEFAULT_MEMORY_CLASS
+
+			// Buffered media is kept on the Java heap, only buffer less than the DefaultLoadControl on low memory devices
+			val maxBufferBytes = if (isLowRamDevice) {
+				minOf(DEFAULT_TARGET_BUFFER_BYTES, memoryClass * 1024 * 1024 / LOW_RAM_HEAP_FRACTION)
+			} else {
+				maxOf(DEFAULT_TARGET_BUFFER_BYTES, memoryClass * 1024 * 1024 / HEAP_FRACTION)
+			}
+			return BufferPolicy(isLowRamDevice, maxBufferBytes)
+		}
+	}
+
+	/**
+	 * @param bitrate The bitrate of the stream in bits per second, or null when unknown.
+	 * @param throughput The estimated network throughput in bits per second, or null when unknown.
+	 */
+	fun select(bitrate: Int?, throughput: Long?): BufferProfile {
+		val profile = when {
+			isLowRamDevice -> BufferProfile.LOW_MEMORY
+			bitrate != null && bitrate >= HIGH_BITRATE_THRESHOLD -> BufferProfile.HIGH_BITRATE
+			else -> BufferProfile.DEFAULT
+		}
+
+		val isConstrained = bitrate != null && throughput != null && throughput < bitrate * THROUGHPUT_MARGIN
+		return if (isConstrained) profile.constrained() else profile
+	}
+}
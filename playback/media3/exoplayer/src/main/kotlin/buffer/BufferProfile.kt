@@ -0,0 +1,56 @@
+package org.jellyfin.playback.media3.exoplayer.buffer
+
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Thresholds used by [AdaptiveLoadControl] to decide when to load more media and when to start playback.
+ */
+data class BufferProfile(
+	val name: String,
+	val minBuffer: Duration,
+	val maxBuffer: Duration,
+	val backBuffer: Duration,
+	val bufferForPlayback: Duration,
+	val bufferForPlaybackAfterRebuffer: Duration,
+) {
+	companion object {
+		val LOW_MEMORY = BufferProfile(
+			name = "Low memory",
+			minBuffer = 15.seconds,
+			maxBuffer = 30.seconds,
+			backBuffer = Duration.ZERO,
+			bufferForPlayback = 2.5.seconds,
+			bufferForPlaybackAfterRebuffer = 5.seconds,
+		)
+
+		val DEFAULT = BufferProfile(
+			name = "Default",
+			minBuffer = 50.seconds,
+			maxBuffer = 50.seconds,
+			backBuffer = 10.seconds,
+			bufferForPlayback = 1.seconds,
+			bufferForPlaybackAfterRebuffer = 2.seconds,
+		)
+
+		val HIGH_BITRATE = BufferProfile(
+			name = "High bitrate",
+			minBuffer = 30.seconds,
+			maxBuffer = 120.seconds,
+			backBuffer = Duration.ZERO,
+			bufferForPlayback = 2.5.seconds,
+			bufferForPlaybackAfterRebuffer = 5.seconds,
+		)
+
+		val PRESETS = listOf(LOW_MEMORY, DEFAULT, HIGH_BITRATE)
+	}
+
+	/**
+	 * Wait for more media before (re)starting playback, for networks that are barely faster than the stream.
+	 */
+	fun constrained() = copy(
+		name = "$name (constrained)",
+		bufferForPlayback = bufferForPlayback * 2,
+		bufferForPlaybackAfterRebuffer = bufferForPlaybackAfterRebuffer * 2,
+	)
+}
@@ -0,0 +1,158 @@
+package org.jellyfin.playback.media3.exoplayer.cache
+
+import android.content.Context
+import androidx.annotation.OptIn
+import androidx.media3.common.C
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.database.StandaloneDatabaseProvider
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.DataSpec
+import androidx.media3.datasource.TransferListener
+import androidx.media3.datasource.cache.CacheDataSource
+import androidx.media3.datasource.cache.CacheWriter
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor
+import androidx.media3.datasource.cache.SimpleCache
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+import org.jellyfin.playback.core.mediastream.MediaConversionMethod
+import org.jellyfin.playback.core.mediastream.MediaStreamVideoTrack
+import org.jellyfin.playback.core.mediastream.PlayableMediaStream
+import org.jellyfin.playback.media3.exoplayer.mapping.estimatedBitrate
+import timber.log.Timber
+import java.io.InterruptedIOException
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Disk cache for audio streams. Only streams that are played directly are cached, as a converted stream is different
+ * for each play session. Streams are stored by their cache key instead of their url, which contains the server address
+ * and play session.
+ */
+@OptIn(UnstableApi::class)
+class MediaCache(
+	context: Context,
+	internal val options: MediaCacheOptions,
+	upstreamDataSourceFactory: DataSource.Factory,
+) {
+	private companion object {
+		// Used to estimate the size of the pre-cached duration when the bitrate is unknown
+		private const val DEFAULT_BITRATE = 1_411_200
+	}
+
+	private val cache = SimpleCache(
+		options.directory,
+		LeastRecentlyUsedCacheEvictor(options.maxBytes),
+		StandaloneDatabaseProvider(context),
+	)
+
+	private val hits = AtomicLong()
+	private val misses = AtomicLong()
+	private val cachedBytesRead = AtomicLong()
+
+	private val cacheDataSourceFactory = CacheDataSource.Factory()
+		.setCache(cache)
+		.setUpstreamDataSourceFactory(upstreamDataSourceFactory)
+		.setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+		.setEventListener(object : CacheDataSource.EventListener {
+			override fun onCachedBytesRead(cacheSizeBytes: Long, cachedBytesRead: Long) {
+				this@MediaCache.cachedBytesRead.addAndGet(cachedBytesRead)
+			}
+
+			override fun onCacheIgnored(reason: Int) = Unit
+		})
+
+	// Separate factory so pre-caching is not counted in the stats
+	private val preCacheDataSourceFactory = CacheDataSource.Factory()
+		.setCache(cache)
+		.setUpstreamDataSourceFactory(upstreamDataSourceFactory)
+
+	/**
+	 * Data source factory for the player. Reads use the cache when a cache key is set for the media item.
+	 */
+	val dataSourceFactory = DataSource.Factory {
+		CacheSelectingDataSource(
+			cacheDataSource = cacheDataSourceFactory.createDataSource(),
+			upstreamDataSource = upstreamDataSourceFactory.createDataSource(),
+		)
+	}
+
+	val stats
+		get() = MediaCacheStats(
+			hits = hits.get(),
+			misses = misses.get(),
+			cachedBytesRead = cachedBytesRead.get(),
+			cacheSize = cache.cacheSpace,
+		)
+
+	/**
+	 * Write the start of [stream] to the cache, or all of it when no pre-cache duration is set.
+	 */
+	suspend fun preCache(stream: PlayableMediaStream) = withContext(Dispatchers.IO) {
+		val length = options.preCacheDuration?.let { duration ->
+			(stream.estimatedBitrate ?: DEFAULT_BITRATE) / 8 * duration.inWholeSeconds
+		}
+		val dataSpec = DataSpec.Builder()
+			.setUri(stream.url)
+			.setKey(stream.cacheKey)
+			.setLength(length ?: C.LENGTH_UNSET.toLong())
+			.build()
+
+		// Already cached parts are skipped by the writer
+		val writer = CacheWriter(preCacheDataSourceFactory.createDataSource(), dataSpec, null, null)
+		// The writer blocks until done, cancel it together with the coroutine
+		val handle = coroutineContext.job.invokeOnCompletion { writer.cancel() }
+		runCatching {
+			writer.cache()
+		}.onFailure {
+			if (it !is InterruptedIOException) Timber.w(it, "Unable to pre-cache ${stream.url}")
+		}
+		handle.dispose()
+	}
+
+	private inner class CacheSelectingDataSource(
+		private val cacheDataSource: DataSource,
+		private val upstreamDataSource: DataSource,
+	) : DataSource {
+		private var current: DataSource? = null
+
+		override fun addTransferListener(transferListener: TransferListener) {
+			cacheDataSource.addTransferListener(transferListener)
+			upstreamDataSource.addTransferListener(transferListener)
+		}
+
+		override fun open(dataSpec: DataSpec): Long {
+			val key = dataSpec.key
+			val dataSource = if (key != null) {
+				if (cache.isCached(key, dataSpec.position, 1)) hits.incrementAndGet()
+				else misses.incrementAndGet()
+
+				cacheDataSource
+			} else {
+				upstreamDataSource
+			}
+
+			current = dataSource
+			return dataSource.open(dataSpec)
+		}
+
+		override fun read(buffer: ByteArray, offset: Int, length: Int): Int =
+			requireNotNull(current).read(buffer, offset, length)
+
+		override fun getUri() = current?.uri
+
+		override fun getResponseHeaders() = current?.responseHeaders.orEmpty()
+
+		override fun close() {
+			current?.close()
+			current = null
+		}
+	}
+}
+
+/**
+ * Whether the stream is played directly, only contains audio and has a cache key.
+ */
+internal val PlayableMediaStream.isCacheable
+	get() = conversionMethod == MediaConversionMethod.None &&
+		tracks.none { it is MediaStreamVideoTrack } &&
+		cacheKey != null
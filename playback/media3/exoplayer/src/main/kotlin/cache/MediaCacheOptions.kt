@@ -0,0 +1,17 @@
+package org.jellyfin.playback.media3.exoplayer.cache
+
+import java.io.File
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * @property maxBytes The size of the cache, least recently used media is removed when it's full.
+ * @property preCacheEntries The amount of upcoming queue entries to pre-cache.
+ * @property preCacheDuration The duration to pre-cache from the start of each entry, or null for the entire entry.
+ */
+data class MediaCacheOptions(
+	val directory: File,
+	val maxBytes: Long,
+	val preCacheEntries: Int = 2,
+	val preCacheDuration: Duration? = 30.seconds,
+)
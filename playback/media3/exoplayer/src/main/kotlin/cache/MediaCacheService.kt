@@ -0,0 +1,43 @@
+package org.jellyfin.playback.media3.exoplayer.cache
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.collectLatest
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.withContext
+import org.jellyfin.playback.core.PlaybackManager
+import org.jellyfin.playback.core.mediastream.mediaStream
+import org.jellyfin.playback.core.mediastream.resolveMediaStream
+import org.jellyfin.playback.core.model.PlayState
+import org.jellyfin.playback.core.plugin.PlayerService
+import org.jellyfin.playback.core.queue.queueSnapshotFlow
+import timber.log.Timber
+
+/**
+ * Pre-caches the upcoming queue entries while the current entry plays, so they start without waiting for the network
+ * and keep playing through short network drops.
+ */
+class MediaCacheService internal constructor(
+	private val mediaCache: MediaCache,
+) : PlayerService() {
+	val stats get() = mediaCache.stats
+
+	override suspend fun onInitialize() = withContext(Dispatchers.Main) {
+		manager.queueSnapshotFlow(mediaCache.options.preCacheEntries).collectLatest { snapshot ->
+			Timber.d("Media cache stats: $stats")
+
+			// Don't compete with the current entry while it's loading
+			state.playState.first { it == PlayState.PLAYING }
+
+			for (entry in snapshot.upcoming) {
+				if (!manager.resolveMediaStream(entry)) continue
+				val stream = entry.mediaStream ?: continue
+				if (!stream.isCacheable) continue
+
+				Timber.d("Pre-caching $entry")
+				mediaCache.preCache(stream)
+			}
+		}
+	}
+}
+
+val PlaybackManager.mediaCache: MediaCacheService? get() = getService<MediaCacheService>()
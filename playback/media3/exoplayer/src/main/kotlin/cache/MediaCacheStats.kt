@@ -0,0 +1,15 @@
+package org.jellyfin.playback.media3.exoplayer.cache
+
+/**
+ * @property hits The amount of reads that started with cached media.
+ * @property misses The amount of reads that started with media from the network.
+ */
+data class MediaCacheStats(
+	val hits: Long,
+	val misses: Long,
+	val cachedBytesRead: Long,
+	val cacheSize: Long,
+) {
+	val hitRatio: Float
+		get() = if (hits + misses == 0L) 0f else hits.toFloat() / (hits + misses)
+}
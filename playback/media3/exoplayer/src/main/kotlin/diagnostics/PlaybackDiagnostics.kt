@@ -0,0 +1,262 @@
+package org.jellyfin.playback.media3.exoplayer.diagnostics
+
+import android.os.Handler
+import android.os.SystemClock
+import androidx.annotation.OptIn
+import androidx.media3.common.Player
+import androidx.media3.common.util.UnstableApi
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.DataSpec
+import androidx.media3.datasource.TransferListener
+import androidx.media3.exoplayer.DecoderCounters
+import androidx.media3.exoplayer.ExoPlayer
+import androidx.media3.exoplayer.analytics.AnalyticsListener
+import timber.log.Timber
+import java.util.Locale
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.time.Duration.Companion.milliseconds
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Collects diagnostics of the playback sessions of an [ExoPlayer]. Every second of a session is stored as a
+ * [PlaybackSample] and a summary is logged when the session ends. Stream bytes are only counted for data sources
+ * created by [wrap], so other traffic of the app doesn't show up as stream traffic.
+ */
+@OptIn(UnstableApi::class)
+class PlaybackDiagnostics : AnalyticsListener, TransferListener {
+	companion object {
+		private val SAMPLE_INTERVAL = 1.seconds
+
+		// Two minutes of samples
+		private const val SAMPLE_CAPACITY = 120
+	}
+
+	private class Session(
+		val startedAt: Long,
+	) {
+		var firstFrameAt: Long? = null
+		var rebuffers = 0
+		var rebufferStartedAt: Long? = null
+		var rebufferTimeMs = 0L
+		var streamBytes = 0L
+		var droppedFrames = 0
+		var renderedFrames = 0
+		var minBandwidthEstimate = Long.MAX_VALUE
+		var maxBandwidthEstimate = 0L
+	}
+
+	/**
+	 * The samples of the current and previous sessions.
+	 */
+	val samples = SampleBuffer<PlaybackSample>(SAMPLE_CAPACITY)
+
+	// Written on loader threads
+	private val pendingStreamBytes = AtomicLong(0)
+
+	private var player: ExoPlayer? = null
+	private var handler: Handler? = null
+	private var session: Session? = null
+	private var isSeeking = false
+	private var bandwidthEstimate = 0L
+	private var videoCounters: DecoderCounters? = null
+	private var lastDroppedFrames = 0
+	private var lastRenderedFrames = 0
+	private var videoDecoder: String? = null
+	private var audioDecoder: String? = null
+
+	private val sampleRunnable = object : Runnable {
+		override fun run() {
+			sample()
+			if (session != null) handler?.postDelayed(this, SAMPLE_INTERVAL.inWholeMilliseconds)
+		}
+	}
+
+	/**
+	 * Start collecting diagnostics of [player], must be called on its application thread.
+	 */
+	fun attach(player: ExoPlayer) {
+		detach()
+
+		this.player = player
+		player.addAnalyticsListener(this)
+		handler = Handler(player.applicationLooper)
+	}
+
+	/**
+	 * Stop collecting diagnostics and log the summary of the current session.
+	 */
+	fun detach() {
+		endSession(SystemClock.elapsedRealtime())
+		handler?.removeCallbacks(sampleRunnable)
+		handler = null
+		player?.removeAnalyticsListener(this)
+		player = null
+	}
+
+	/**
+	 * Wrap [factory] so the bytes its data sources receive from the network count as stream bytes.
+	 */
+	fun wrap(factory: DataSource.Factory) = DataSource.Factory {
+		factory.createDataSource().apply { addTransferListener(this@PlaybackDiagnostics) }
+	}
+
+	private fun sample() {
+		val player = player ?: return
+		val session = session
+		val streamBytes = pendingStreamBytes.getAndSet(0)
+		if (session == null) return
+
+		val counters = videoCounters?.apply { ensureUpdated() }
+		val droppedFrames = counters?.droppedBufferCount ?: 0
+		val renderedFrames = counters?.renderedOutputBufferCount ?: 0
+		val sample = PlaybackSample(
+			timestamp = SystemClock.elapsedRealtime(),
+			streamBytes = streamBytes,
+			bandwidthEstimate = bandwidthEstimate,
+			bufferedDurationMs = player.totalBufferedDuration,
+			droppedFrames = (droppedFrames - lastDroppedFrames).coerceAtLeast(0),
+			renderedFrames = (renderedFrames - lastRenderedFrames).coerceAtLeast(0),
+			videoDecoder = videoDecoder,
+			audioDecoder = audioDecoder,
+			rebuffers = session.rebuffers,
+			timeToFirstFrameMs = session.firstFrameAt?.let { it - session.startedAt },
+		)
+		lastDroppedFrames = droppedFrames
+		lastRenderedFrames = renderedFrames
+
+		session.streamBytes += sample.streamBytes
+		session.droppedFrames += sample.droppedFrames
+		session.renderedFrames += sample.renderedFrames
+		if (bandwidthEstimate > 0) {
+			session.minBandwidthEstimate = minOf(session.minBandwidthEstimate, bandwidthEstimate)
+			session.maxBandwidthEstimate = maxOf(session.maxBandwidthEstimate, bandwidthEstimate)
+		}
+
+		samples.add(sample)
+	}
+
+	private fun startSession(time: Long) {
+		endSession(time)
+		session = Session(time)
+		isSeeking = false
+		pendingStreamBytes.set(0)
+
+		// Only sample while a session is running
+		handler?.postDelayed(sampleRunnable, SAMPLE_INTERVAL.inWholeMilliseconds)
+	}
+
+	private fun endSession(time: Long) {
+		val session = session ?: return
+		this.session = null
+		handler?.removeCallbacks(sampleRunnable)
+
+		val duration = (time - session.startedAt).milliseconds
+		val seconds = duration.inWholeSeconds.coerceAtLeast(1)
+		val rebufferTimeMs = session.rebufferTimeMs + (session.rebufferStartedAt?.let { time - it } ?: 0)
+		val bandwidth = if (session.maxBandwidthEstimate > 0) {
+			"${session.minBandwidthEstimate / 1000}-${session.maxBandwidthEstimate / 1000} kbps"
+		} else "unknown"
+
+		Timber.i(buildString {
+			append("Playback session summary: ")
+			append("duration=$duration, ")
+			append("timeToFirstFrame=${session.firstFrameAt?.let { "${it - session.startedAt}ms" } ?: "none"}, ")
+			append("streamBytes=${session.streamBytes}, ")
+			append("averageStreamBitrate=${session.streamBytes * 8 / seconds / 1000} kbps, ")
+			append("bandwidthEstimate=$bandwidth, ")
+			append("rebuffers=${session.rebuffers} (${rebufferTimeMs}ms), ")
+			append("droppedFrames=${session.droppedFrames}/${session.droppedFrames + session.renderedFrames}")
+			if (session.renderedFrames > 0) {
+				append(String.format(Locale.US, " (%.2f%%)", session.droppedFrames * 100f / (session.droppedFrames + session.renderedFrames)))
+			}
+			append(", videoDecoder=$videoDecoder, audioDecoder=$audioDecoder")
+		})
+	}
+
+	override fun onPlaybackStateChanged(eventTime: AnalyticsListener.EventTime, state: Int) {
+		val session = session
+		val time = eventTime.realtimeMs
+
+		when (state) {
+			Player.STATE_BUFFERING -> when {
+				session == null -> startSession(time)
+				// Buffering after a seek is expected, only count stalls during playback
+				session.firstFrameAt != null && !isSeeking && session.rebufferStartedAt == null -> {
+					session.rebuffers++
+					session.rebufferStartedAt = time
+				}
+			}
+
+			Player.STATE_READY -> {
+				isSeeking = false
+				if (session == null) {
+					startSession(time)
+				} else {
+					session.rebufferStartedAt?.let { session.rebufferTimeMs += time - it }
+					session.rebufferStartedAt = null
+				}
+			}
+
+			Player.STATE_IDLE, Player.STATE_ENDED -> endSession(time)
+		}
+	}
+
+	override fun onPositionDiscontinuity(
+		eventTime: AnalyticsListener.EventTime,
+		oldPosition: Player.PositionInfo,
+		newPosition: Player.PositionInfo,
+		reason: Int,
+	) {
+		if (reason == Player.DISCONTINUITY_REASON_SEEK) isSeeking = true
+	}
+
+	override fun onRenderedFirstFrame(eventTime: AnalyticsListener.EventTime, output: Any, renderTimeMs: Long) {
+		val session = session ?: return
+		if (session.firstFrameAt == null) session.firstFrameAt = eventTime.realtimeMs
+	}
+
+	override fun onBandwidthEstimate(
+		eventTime: AnalyticsListener.EventTime,
+		totalLoadTimeMs: Int,
+		totalBytesLoaded: Long,
+		bitrateEstimate: Long,
+	) {
+		bandwidthEstimate = bitrateEstimate
+	}
+
+	override fun onVideoEnabled(eventTime: AnalyticsListener.EventTime, decoderCounters: DecoderCounters) {
+		videoCounters = decoderCounters
+		lastDroppedFrames = 0
+		lastRenderedFrames = 0
+	}
+
+	override fun onVideoDisabled(eventTime: AnalyticsListener.EventTime, decoderCounters: DecoderCounters) {
+		videoCounters = null
+	}
+
+	override fun onVideoDecoderInitialized(
+		eventTime: AnalyticsListener.EventTime,
+		decoderName: String,
+		initializedTimestampMs: Long,
+		initializationDurationMs: Long,
+	) {
+		videoDecoder = decoderName
+	}
+
+	override fun onAudioDecoderInitialized(
+		eventTime: AnalyticsListener.EventTime,
+		decoderName: String,
+		initializedTimestampMs: Long,
+		initializationDurationMs: Long,
+	) {
+		audioDecoder = decoderName
+	}
+
+	override fun onTransferInitializing(source: DataSource, dataSpec: DataSpec, isNetwork: Boolean) = Unit
+	override fun onTransferStart(source: DataSource, dataSpec: DataSpec, isNetwork: Boolean) = Unit
+	override fun onTransferEnd(source: DataSource, dataSpec: DataSpec, isNetwork: Boolean) = Unit
+
+	override fun onBytesTransferred(source: DataSource, dataSpec: DataSpec, isNetwork: Boolean, bytesTransferred: Int) {
+		if (isNetwork) pendingStreamBytes.addAndGet(bytesTransferred.toLong())
+	}
+}
@@ -0,0 +1,30 @@
+package org.jellyfin.playback.media3.exoplayer.diagnostics
+
+/**
+ * Playback state during one second of a playback session.
+ *
+ * @property timestamp Elapsed realtime at the end of the second in milliseconds.
+ * @property streamBytes Bytes of the stream received from the network during the second.
+ * @property bandwidthEstimate The estimated network bandwidth in bits per second, or 0 when unknown.
+ * @property bufferedDurationMs Duration of media buffered ahead of the playback position.
+ * @property droppedFrames Video frames dropped during the second.
+ * @property renderedFrames Video frames rendered during the second.
+ * @property rebuffers Amount of times playback stalled since the session started, not counting seeks.
+ * @property timeToFirstFrameMs Time from preparing the stream to rendering its first frame, or null when no frame was
+ * rendered yet.
+ */
+data class PlaybackSample(
+	val timestamp: Long,
+	val streamBytes: Long,
+	val bandwidthEstimate: Long,
+	val bufferedDurationMs: Long,
+	val droppedFrames: Int,
+	val renderedFrames: Int,
+	val videoDecoder: String?,
+	val audioDecoder: String?,
+	val rebuffers: Int,
+	val timeToFirstFrameMs: Long?,
+) {
+	val streamBitrate: Long
+		get() = streamBytes * 8
+}
@@ -0,0 +1,38 @@
+package org.jellyfin.playback.media3.exoplayer.diagnostics
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Fixed size buffer keeping the latest samples. A single thread adds samples while any thread can read them without
+ * locking, slots that are overwritten while reading are skipped.
+ */
+class SampleBuffer<T : Any>(
+	val capacity: Int,
+) {
+	private class Slot<T>(
+		val sequence: Long,
+		val value: T,
+	)
+
+	private val slots = AtomicReferenceArray<Slot<T>?>(capacity)
+	private val written = AtomicLong(0)
+
+	fun add(value: T) {
+		val sequence = written.get()
+		slots.set((sequence % capacity).toInt(), Slot(sequence, value))
+		written.set(sequence + 1)
+	}
+
+	/**
+	 * Get the stored samples, oldest first.
+	 */
+	fun snapshot(): List<T> {
+		val end = written.get()
+		val start = maxOf(0, end - capacity)
+
+		return (start until end).mapNotNull { sequence ->
+			slots.get((sequence % capacity).toInt())?.takeIf { it.sequence == sequence }?.value
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package org.jellyfin.playback.media3.exoplayer.mapping
+
+import org.jellyfin.playback.core.mediastream.MediaStreamAudioTrack
+import org.jellyfin.playback.core.mediastream.PlayableMediaStream
+
+/**
+ * The bitrate of the stream in bits per second, or null when unknown. Prefers the total bitrate of the media source and
+ * falls back to the audio tracks, which are the only tracks with a known bitrate.
+ */
+internal val PlayableMediaStream.estimatedBitrate: Int?
+	get() = bitrate?.takeIf { it > 0 }
+		?: tracks.filterIsInstance<MediaStreamAudioTrack>().sumOf { it.bitrate }.takeIf { it > 0 }